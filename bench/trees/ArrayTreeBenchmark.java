@@ -0,0 +1,62 @@
+package trees;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the traversals of {@link ArrayBinaryTree} with those of {@link LinkedBinaryTree} on
+ * trees of the same shape.
+ *
+ * @author Juan Manuel Gimeno Illa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ArrayTreeBenchmark {
+
+    @Param({"balanced", "random", "degenerate"})
+    public String shape;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"linked", "array"})
+    public String implementation;
+
+    private BinaryTree<Integer> tree;
+
+    @Setup
+    public void setUp() {
+        LinkedBinaryTree<Integer> linked = TreeShapes.of(shape, size);
+        tree = implementation.equals("linked") ? linked : ArrayBinaryTree.copyOf(linked);
+    }
+
+    @Benchmark
+    public List<Integer> preOrder() {
+        return tree.preOrder();
+    }
+
+    @Benchmark
+    public List<Integer> inOrder() {
+        return tree.inOrder();
+    }
+
+    @Benchmark
+    public List<Integer> levelOrder() {
+        return tree.levelOrder();
+    }
+
+    @Benchmark
+    public long inOrderIteratorSum() {
+        long sum = 0;
+        for (Iterator<Integer> it = tree.inOrderIterator(); it.hasNext(); )
+            sum += it.next();
+        return sum;
+    }
+}
@@ -0,0 +1,57 @@
+package trees;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares building a balanced tree of the integers {@code 0 .. n-1} by nesting calls to
+ * {@code mkLBT} with the bulk factories of {@link LinkedBinaryTree}.
+ *
+ * @author Juan Manuel Gimeno Illa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BulkBuildBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private List<Integer> sorted;
+    private List<Integer> preOrder;
+    private List<Integer> levelOrder;
+
+    @Setup
+    public void setUp() {
+        sorted = IntStream.range(0, size).boxed().toList();
+        LinkedBinaryTree<Integer> tree = TreeShapes.balanced(size);
+        preOrder = tree.preOrder();
+        levelOrder = tree.levelOrder();
+    }
+
+    @Benchmark
+    public LinkedBinaryTree<Integer> nestedMkLBT() {
+        return TreeShapes.balanced(size);
+    }
+
+    @Benchmark
+    public LinkedBinaryTree<Integer> fromSorted() {
+        return LinkedBinaryTree.fromSorted(sorted);
+    }
+
+    @Benchmark
+    public LinkedBinaryTree<Integer> fromPreOrderAndInOrder() {
+        return LinkedBinaryTree.fromPreOrderAndInOrder(preOrder, sorted);
+    }
+
+    @Benchmark
+    public LinkedBinaryTree<Integer> fromLevelOrder() {
+        return LinkedBinaryTree.fromLevelOrder(levelOrder);
+    }
+}
@@ -0,0 +1,98 @@
+package trees;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Measures the read throughput of a tree that a background thread modifies once per millisecond,
+ * comparing {@link ConcurrentBinaryTree}, whose reads do not lock, with a
+ * {@link LinkedBinaryTree} guarded by a {@link ReentrantReadWriteLock}. Each read is an in-order
+ * sum of the whole tree.
+ * <p>
+ * Run it with increasing numbers of reader threads to see how reads scale with the cores, e.g.
+ * {@code java -jar target/benchmarks.jar ConcurrentTreeBenchmark -t 1}, then {@code -t 2},
+ * {@code -t 4}...
+ *
+ * @author Juan Manuel Gimeno Illa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConcurrentTreeBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private ConcurrentBinaryTree<Integer> concurrent;
+    private LinkedBinaryTree<Integer> locked;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread writer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LinkedBinaryTree<Integer> tree = TreeShapes.balanced(size);
+        concurrent = ConcurrentBinaryTree.copyOf(tree);
+        locked = tree;
+        running = true;
+        writer = new Thread(() -> {
+            int next = 0;
+            while (running) {
+                // Replaces the root of a leaf at a different position each time
+                ConcurrentBinaryTree<Integer> subtree = concurrent;
+                LinkedBinaryTree<Integer> lockedSubtree = locked;
+                for (int bits = next++; !subtree.left().isEmpty(); bits >>>= 1) {
+                    subtree = (bits & 1) == 0 ? subtree.left() : subtree.right();
+                    lockedSubtree = (bits & 1) == 0 ? lockedSubtree.left() : lockedSubtree.right();
+                    if (subtree.isEmpty())
+                        break;
+                }
+                if (!subtree.isEmpty()) {
+                    subtree.replaceRoot(next);
+                    lock.writeLock().lock();
+                    try {
+                        lockedSubtree.replaceRoot(next);
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+                LockSupport.parkNanos(1_000_000);
+            }
+        });
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        running = false;
+        writer.join();
+    }
+
+    @Benchmark
+    public long concurrentRead() {
+        long sum = 0;
+        for (var it = concurrent.inOrderIterator(); it.hasNext(); )
+            sum += it.next();
+        return sum;
+    }
+
+    @Benchmark
+    public long readWriteLockedRead() {
+        lock.readLock().lock();
+        try {
+            long sum = 0;
+            for (var it = locked.inOrderIterator(); it.hasNext(); )
+                sum += it.next();
+            return sum;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
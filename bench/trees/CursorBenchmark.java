@@ -0,0 +1,76 @@
+package trees;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares walking from the root down to a leaf of a balanced tree through the subtrees returned
+ * by {@link LinkedBinaryTree#left()} and {@link LinkedBinaryTree#right()}, which allocate one
+ * wrapper per step, with walking it with a reused {@link TreeCursor}. The GC profiler shows the
+ * allocation per walk.
+ *
+ * @author Juan Manuel Gimeno Illa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CursorBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private LinkedBinaryTree<Integer> tree;
+    private TreeCursor<Integer> cursor;
+    private PersistentBinaryTree.Zipper<Integer> zipper;
+    private final int[] paths = new int[1024];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        tree = TreeShapes.balanced(size);
+        cursor = tree.cursor();
+        zipper = PersistentBinaryTree.copyOf(tree).cursor();
+        Random random = new Random(42L);
+        for (int i = 0; i < paths.length; i++)
+            paths[i] = random.nextInt();
+    }
+
+    @Benchmark
+    public int subtrees() {
+        int bits = paths[next++ & (paths.length - 1)];
+        LinkedBinaryTree<Integer> subtree = tree;
+        int sum = 0;
+        while (!subtree.isEmpty()) {
+            sum += subtree.root();
+            subtree = (bits & 1) == 0 ? subtree.left() : subtree.right();
+            bits >>>= 1;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int cursor() {
+        return walk(cursor);
+    }
+
+    @Benchmark
+    public int zipper() {
+        return walk(zipper);
+    }
+
+    private int walk(TreeCursor<Integer> cursor) {
+        int bits = paths[next++ & (paths.length - 1)];
+        cursor.moveToRoot();
+        int sum = cursor.element();
+        while ((bits & 1) == 0 ? cursor.moveLeft() : cursor.moveRight()) {
+            sum += cursor.element();
+            bits >>>= 1;
+        }
+        return sum;
+    }
+}
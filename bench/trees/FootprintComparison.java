@@ -0,0 +1,30 @@
+package trees;
+
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Prints the memory footprint per node of balanced trees of {@code Integer} and {@code Long}
+ * elements held in {@link LinkedBinaryTree}, and of the same trees held in the primitive
+ * {@link LinkedIntBinaryTree} and {@link LinkedLongBinaryTree}.
+ *
+ * @author Juan Manuel Gimeno Illa
+ */
+public class FootprintComparison {
+
+    public static void main(String[] args) {
+        System.out.printf("%10s %24s %24s %24s %24s%n", "n",
+                "LinkedBinaryTree<Integer>", "LinkedIntBinaryTree",
+                "LinkedBinaryTree<Long>", "LinkedLongBinaryTree");
+        for (int n : new int[]{1_000, 100_000, 1_000_000}) {
+            System.out.printf("%,10d %24.1f %24.1f %24.1f %24.1f%n", n,
+                    bytesPerNode(TreeShapes.balanced(n), n),
+                    bytesPerNode(TreeShapes.balancedInts(n), n),
+                    bytesPerNode(TreeShapes.balanced(n, Long::valueOf), n),
+                    bytesPerNode(TreeShapes.balancedLongs(n), n));
+        }
+    }
+
+    private static double bytesPerNode(Object tree, int n) {
+        return (double) GraphLayout.parseInstance(tree).totalSize() / n;
+    }
+}
@@ -0,0 +1,40 @@
+package trees;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cached {@link LinkedBinaryTree#height()} with the recursive walk over the nodes that
+ * {@code height()} used to do before the height was stored in each node.
+ *
+ * @author Juan Manuel Gimeno Illa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HeightBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private LinkedBinaryTree<Integer> tree;
+
+    @Setup
+    public void setUp() {
+        tree = TreeShapes.balanced(size);
+    }
+
+    @Benchmark
+    public int cachedHeight() {
+        return tree.height();
+    }
+
+    @Benchmark
+    public int walkedHeight() {
+        return tree.walkedHeight();
+    }
+}
@@ -0,0 +1,34 @@
+package trees;
+
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Prints the memory footprint per node of the nodes of {@link LinkedBinaryTree}, and of the same
+ * trees frozen into a {@link FrozenBinaryTree}, on balanced and random trees. All the nodes hold
+ * the same element, so that only the nodes are measured.
+ *
+ * @author Juan Manuel Gimeno Illa
+ */
+public class NodeFootprint {
+
+    private static final Object ELEMENT = new Object();
+
+    public static void main(String[] args) {
+        System.out.printf("%10s %12s %12s %12s %12s%n", "n", "balanced", "frozen", "random",
+                "frozen");
+        for (int n : new int[]{1_000, 100_000, 1_000_000}) {
+            LinkedBinaryTree<Object> balanced = TreeShapes.balanced(n, i -> ELEMENT);
+            LinkedBinaryTree<Object> random = TreeShapes.random(n, 42L, i -> ELEMENT);
+            System.out.printf("%,10d %12.1f %12.1f %12.1f %12.1f%n", n,
+                    bytesPerNode(balanced, n),
+                    bytesPerNode(FrozenBinaryTree.freeze(balanced), n),
+                    bytesPerNode(random, n),
+                    bytesPerNode(FrozenBinaryTree.freeze(random), n));
+        }
+    }
+
+    private static double bytesPerNode(Object tree, int n) {
+        return (double) (GraphLayout.parseInstance(tree).totalSize()
+                - GraphLayout.parseInstance(ELEMENT).totalSize()) / n;
+    }
+}
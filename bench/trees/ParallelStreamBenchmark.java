@@ -0,0 +1,56 @@
+package trees;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a sum over the elements of a tree computed sequentially from {@code preOrder().stream()}
+ * with the same sum computed from {@link LinkedBinaryTree#parallelStream()}, which splits the tree
+ * by subtrees, and by folding the tree, sequentially and in parallel.
+ *
+ * @author Juan Manuel Gimeno Illa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ParallelStreamBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private LinkedBinaryTree<Integer> tree;
+
+    @Setup
+    public void setUp() {
+        tree = TreeShapes.balanced(size);
+    }
+
+    @Benchmark
+    public long preOrderListStream() {
+        return tree.preOrder().stream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long preOrderStream() {
+        return tree.preOrderStream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long parallelStream() {
+        return tree.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long fold() {
+        return tree.<Long>fold(0L, (l, e, r) -> l + e + r);
+    }
+
+    @Benchmark
+    public long parallelFold() {
+        return tree.<Long>parallelFold(0L, (l, e, r) -> l + e + r);
+    }
+}
@@ -0,0 +1,59 @@
+package trees;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the traversals of a {@code LinkedBinaryTree<Integer>}, which box every element, with
+ * those of a {@link LinkedIntBinaryTree} holding the same elements.
+ *
+ * @author Juan Manuel Gimeno Illa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PrimitiveTreeBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private LinkedBinaryTree<Integer> boxed;
+    private LinkedIntBinaryTree primitive;
+    private int[] destination;
+
+    @Setup
+    public void setUp() {
+        boxed = TreeShapes.balanced(size);
+        primitive = TreeShapes.balancedInts(size);
+        destination = new int[size];
+    }
+
+    @Benchmark
+    public long boxedPreOrderSum() {
+        long sum = 0;
+        for (int element : boxed.preOrder())
+            sum += element;
+        return sum;
+    }
+
+    @Benchmark
+    public long primitivePreOrderSum() {
+        long sum = 0;
+        for (int element : primitive.preOrder())
+            sum += element;
+        return sum;
+    }
+
+    @Benchmark
+    public long primitivePreOrderIntoArraySum() {
+        primitive.preOrder(destination, 0);
+        long sum = 0;
+        for (int element : destination)
+            sum += element;
+        return sum;
+    }
+}
@@ -0,0 +1,73 @@
+package trees;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the basic operations of {@link LinkedBinaryTree} on balanced, random and degenerate
+ * trees from 10^3 to 10^7 nodes.
+ *
+ * @author Juan Manuel Gimeno Illa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TreeBenchmark {
+
+    @Param({"balanced", "random", "degenerate"})
+    public String shape;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private LinkedBinaryTree<Integer> tree;
+
+    // Equal to tree but sharing no nodes with it
+    private LinkedBinaryTree<Integer> copy;
+
+    @Setup
+    public void setUp() {
+        tree = TreeShapes.of(shape, size);
+        copy = TreeShapes.of(shape, size);
+    }
+
+    @Benchmark
+    public LinkedBinaryTree<Integer> construct() {
+        return TreeShapes.of(shape, size);
+    }
+
+    @Benchmark
+    public List<Integer> preOrder() {
+        return tree.preOrder();
+    }
+
+    @Benchmark
+    public int height() {
+        return tree.height();
+    }
+
+    @Benchmark
+    public boolean treeEquals() {
+        return tree.equals(copy);
+    }
+
+    @Benchmark
+    public int treeHashCode() {
+        return tree.hashCode();
+    }
+
+    @Benchmark
+    public LinkedBinaryTree<Integer> treeClone() {
+        return tree.clone();
+    }
+
+    @Benchmark
+    public String treeToString() {
+        return tree.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package trees;
+
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static trees.LinkedBinaryTree.mkLBT;
+import static trees.LinkedIntBinaryTree.mkIntLBT;
+import static trees.LinkedLongBinaryTree.mkLongLBT;
+
+/**
+ * Builders for the tree shapes used in the benchmarks: balanced, random and degenerate (a list
+ * hanging to the right). All of them contain the integers {@code 0 .. n-1} in in-order.
+ *
+ * @author Juan Manuel Gimeno Illa
+ */
+final class TreeShapes {
+
+    private TreeShapes() {
+    }
+
+    /**
+     * Builds the tree of the given shape (as named in the benchmark parameters) and size.
+     */
+    static LinkedBinaryTree<Integer> of(String shape, int n) {
+        return switch (shape) {
+            case "balanced" -> balanced(n);
+            case "random" -> random(n, 42L);
+            case "degenerate" -> degenerate(n);
+            default -> throw new IllegalArgumentException("unknown shape: " + shape);
+        };
+    }
+
+    static LinkedBinaryTree<Integer> balanced(int n) {
+        return balanced(n, Integer::valueOf);
+    }
+
+    static <E> LinkedBinaryTree<E> balanced(int n, IntFunction<E> element) {
+        return balanced(0, n, element);
+    }
+
+    private static <E> LinkedBinaryTree<E> balanced(int from, int to, IntFunction<E> element) {
+        if (from >= to)
+            return mkLBT();
+        int mid = (from + to) >>> 1;
+        return mkLBT(balanced(from, mid, element), element.apply(mid),
+                balanced(mid + 1, to, element));
+    }
+
+    static LinkedIntBinaryTree balancedInts(int n) {
+        return balancedInts(0, n);
+    }
+
+    private static LinkedIntBinaryTree balancedInts(int from, int to) {
+        if (from >= to)
+            return mkIntLBT();
+        int mid = (from + to) >>> 1;
+        return mkIntLBT(balancedInts(from, mid), mid, balancedInts(mid + 1, to));
+    }
+
+    static LinkedLongBinaryTree balancedLongs(int n) {
+        return balancedLongs(0, n);
+    }
+
+    private static LinkedLongBinaryTree balancedLongs(int from, int to) {
+        if (from >= to)
+            return mkLongLBT();
+        int mid = (from + to) >>> 1;
+        return mkLongLBT(balancedLongs(from, mid), mid, balancedLongs(mid + 1, to));
+    }
+
+    static LinkedBinaryTree<Integer> random(int n, long seed) {
+        return random(n, seed, Integer::valueOf);
+    }
+
+    static <E> LinkedBinaryTree<E> random(int n, long seed, IntFunction<E> element) {
+        return random(0, n, new Random(seed), element);
+    }
+
+    private static <E> LinkedBinaryTree<E> random(int from, int to, Random random,
+                                                  IntFunction<E> element) {
+        if (from >= to)
+            return mkLBT();
+        int mid = from + random.nextInt(to - from);
+        return mkLBT(random(from, mid, random, element), element.apply(mid),
+                random(mid + 1, to, random, element));
+    }
+
+    static LinkedBinaryTree<Integer> degenerate(int n) {
+        // Built bottom-up so that no recursion is needed
+        LinkedBinaryTree<Integer> tree = mkLBT();
+        for (int i = n - 1; i >= 0; i--)
+            tree = mkLBT(i, tree);
+        return tree;
+    }
+}
@@ -0,0 +1,236 @@
+package trees;
+
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+
+/**
+ * An AncestorIndex answers lowest common ancestor, ancestor and depth queries on a
+ * {@link LinkedBinaryTree} in O(1), without walking the tree. It is built by
+ * {@link LinkedBinaryTree#ancestorIndex()} in O(n) time and space.
+ * <p>
+ * Nodes are identified by their positions in the pre-order traversal of the tree, from 0 for the
+ * root, so that the subtree of a node is a range of positions starting at it. The lowest common
+ * ancestor of two nodes, neither an ancestor of the other, is the parent of the shallowest node
+ * between them in pre-order, which is found by a range minimum query on the depths: a sparse
+ * table gives the minimum over whole blocks of {@value #BLOCK_SIZE} positions, and a bit mask per
+ * position the minimum within its block.
+ * <p>
+ * Like the iterators of the tree, the index is fail-fast: once the tree has been structurally
+ * modified (i.e. subtrees have been removed), its queries throw a
+ * {@link ConcurrentModificationException}. Replacing elements does not change the positions, so
+ * it does not invalidate the index.
+ *
+ * @author Juan Manuel Gimeno Illa
+ * @see LinkedBinaryTree#ancestorIndex()
+ */
+public final class AncestorIndex {
+
+    private static final int BLOCK_SIZE = Integer.SIZE;
+
+    private final LinkedBinaryTree<?> tree;
+    private final int expectedModCount;
+
+    private final int[] depths;
+    private final int[] parents;
+    private final int[] sizes;
+
+    // Bit j of masks[i] is set if the position j of the block of i is, from j to i, the last one
+    // with the minimum depth: so the lowest bit from l tells the minimum from l to i
+    private final int[] masks;
+
+    // sparse[k][b] is the position with the minimum depth in the blocks from b to b + 2^k - 1
+    private final int[][] sparse;
+
+    /**
+     * Creates the index of a tree with the given depths and parents of its nodes, in pre-order.
+     */
+    AncestorIndex(LinkedBinaryTree<?> tree, int expectedModCount, int[] depths, int[] parents) {
+        this.tree = tree;
+        this.expectedModCount = expectedModCount;
+        this.depths = depths;
+        this.parents = parents;
+        int n = depths.length;
+        // In pre-order children come after their parents
+        this.sizes = new int[n];
+        for (int i = n - 1; i >= 0; i--) {
+            sizes[i]++;
+            if (i > 0)
+                sizes[parents[i]] += sizes[i];
+        }
+        this.masks = new int[n];
+        for (int block = 0; block < n; block += BLOCK_SIZE) {
+            int mask = 0;
+            for (int i = block; i < Math.min(n, block + BLOCK_SIZE); i++) {
+                while (mask != 0 && depths[block + top(mask)] >= depths[i])
+                    mask &= ~(1 << top(mask));
+                mask |= 1 << (i - block);
+                masks[i] = mask;
+            }
+        }
+        int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int levels = blocks == 0 ? 0 : 32 - Integer.numberOfLeadingZeros(blocks);
+        this.sparse = new int[levels][];
+        if (levels > 0) {
+            sparse[0] = new int[blocks];
+            for (int b = 0; b < blocks; b++)
+                sparse[0][b] = minimum(b * BLOCK_SIZE, Math.min(n, (b + 1) * BLOCK_SIZE) - 1);
+        }
+        for (int k = 1; k < levels; k++) {
+            sparse[k] = new int[blocks - (1 << k) + 1];
+            for (int b = 0; b < sparse[k].length; b++)
+                sparse[k][b] = shallower(sparse[k - 1][b], sparse[k - 1][b + (1 << (k - 1))]);
+        }
+    }
+
+    private static int top(int mask) {
+        return 31 - Integer.numberOfLeadingZeros(mask);
+    }
+
+    private int shallower(int i, int j) {
+        return depths[j] < depths[i] ? j : i;
+    }
+
+    /**
+     * Returns a position with the minimum depth from {@code from} to {@code to}, both in the same
+     * block.
+     */
+    private int minimum(int from, int to) {
+        int block = from - from % BLOCK_SIZE;
+        return block + Integer.numberOfTrailingZeros(masks[to] & -1 << (from - block));
+    }
+
+    /**
+     * Returns a position with the minimum depth from {@code from} to {@code to}, both included.
+     */
+    private int rangeMinimum(int from, int to) {
+        int first = from / BLOCK_SIZE;
+        int last = to / BLOCK_SIZE;
+        if (first == last)
+            return minimum(from, to);
+        int result = shallower(minimum(from, (first + 1) * BLOCK_SIZE - 1),
+                minimum(last * BLOCK_SIZE, to));
+        if (first + 1 < last) {
+            int k = top(last - first - 1);
+            result = shallower(result, shallower(sparse[k][first + 1],
+                    sparse[k][last - (1 << k)]));
+        }
+        return result;
+    }
+
+    private void checkForComodification() {
+        if (tree.modCount() != expectedModCount)
+            throw new ConcurrentModificationException(
+                    "the tree has been modified since the index was built");
+    }
+
+    // Queries
+
+    /**
+     * Returns {@code true} if the tree has not been structurally modified since this index was
+     * built, so that its queries can be answered.
+     *
+     * @return {@code true} if this index can still be queried.
+     */
+    public boolean isValid() {
+        return tree.modCount() == expectedModCount;
+    }
+
+    /**
+     * Returns the number of nodes of the indexed tree.
+     *
+     * @return the number of nodes of the indexed tree.
+     */
+    public int size() {
+        return depths.length;
+    }
+
+    /**
+     * Returns the depth of the given node, 0 for the root.
+     *
+     * @param node the position of the node in pre-order
+     * @return the depth of the node
+     * @throws IndexOutOfBoundsException       if there is no such node
+     * @throws ConcurrentModificationException if the tree has been structurally modified
+     */
+    public int depth(int node) {
+        checkForComodification();
+        return depths[Objects.checkIndex(node, depths.length)];
+    }
+
+    /**
+     * Returns the parent of the given node, or -1 for the root.
+     *
+     * @param node the position of the node in pre-order
+     * @return the position of the parent of the node, or -1 for the root
+     * @throws IndexOutOfBoundsException       if there is no such node
+     * @throws ConcurrentModificationException if the tree has been structurally modified
+     */
+    public int parent(int node) {
+        checkForComodification();
+        return Objects.checkIndex(node, parents.length) == 0 ? -1 : parents[node];
+    }
+
+    /**
+     * Returns {@code true} if {@code ancestor} is an ancestor of {@code node}. Every node is an
+     * ancestor of itself.
+     *
+     * @param ancestor the position in pre-order of the possible ancestor
+     * @param node     the position in pre-order of the node
+     * @return {@code true} if {@code ancestor} is an ancestor of {@code node}
+     * @throws IndexOutOfBoundsException       if there is no such node
+     * @throws ConcurrentModificationException if the tree has been structurally modified
+     */
+    public boolean isAncestor(int ancestor, int node) {
+        checkForComodification();
+        Objects.checkIndex(ancestor, sizes.length);
+        Objects.checkIndex(node, sizes.length);
+        return ancestor <= node && node < ancestor + sizes[ancestor];
+    }
+
+    /**
+     * Returns the lowest common ancestor of both nodes, the deepest node that is an ancestor of
+     * both.
+     *
+     * @param node1 the position in pre-order of a node
+     * @param node2 the position in pre-order of another node
+     * @return the position in pre-order of their lowest common ancestor
+     * @throws IndexOutOfBoundsException       if there is no such node
+     * @throws ConcurrentModificationException if the tree has been structurally modified
+     */
+    public int lca(int node1, int node2) {
+        checkForComodification();
+        Objects.checkIndex(node1, depths.length);
+        Objects.checkIndex(node2, depths.length);
+        return unchecked(node1, node2);
+    }
+
+    /**
+     * Returns the lowest common ancestors of the pairs of nodes at the same index of both arrays,
+     * checking the validity of the index once for all of them.
+     *
+     * @param nodes1 the positions in pre-order of the first nodes of the pairs
+     * @param nodes2 the positions in pre-order of the second nodes of the pairs
+     * @return the positions in pre-order of the lowest common ancestors of the pairs
+     * @throws IllegalArgumentException        if the arrays have different lengths
+     * @throws IndexOutOfBoundsException       if there is no such node
+     * @throws ConcurrentModificationException if the tree has been structurally modified
+     */
+    public int[] lca(int[] nodes1, int[] nodes2) {
+        if (nodes1.length != nodes2.length)
+            throw new IllegalArgumentException("arrays of different lengths");
+        checkForComodification();
+        int[] result = new int[nodes1.length];
+        for (int i = 0; i < result.length; i++)
+            result[i] = unchecked(Objects.checkIndex(nodes1[i], depths.length),
+                    Objects.checkIndex(nodes2[i], depths.length));
+        return result;
+    }
+
+    private int unchecked(int node1, int node2) {
+        int first = Math.min(node1, node2);
+        int last = Math.max(node1, node2);
+        if (last < first + sizes[first])
+            return first;
+        return parents[rangeMinimum(first + 1, last)];
+    }
+}
@@ -0,0 +1,815 @@
+package trees;
+
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An ArrayBinaryTree is an implementation of {@link BinaryTree} that stores its nodes in parallel
+ * arrays (the element, the indices of the left and right children, the size and the height of each
+ * node) instead of in linked node objects.
+ * <p>
+ * Nodes are laid out in pre-order, so traversals mostly scan the arrays sequentially. While no
+ * subtree has been removed, the pre-order traversal of any subtree is a contiguous range of the
+ * element array and is just copied.
+ * <p>
+ * As in {@link LinkedBinaryTree}, the subtrees returned by {@link #left()} and {@link #right()}
+ * share the storage of the tree they come from, and remember it so that removals through them
+ * keep the sizes and heights of the nodes above up to date. Removing a subtree only unlinks it:
+ * its slots are not reclaimed until the tree is copied (e.g. by {@link #clone()}).
+ * <p>
+ * The smart constructors copy their subtrees, so building a big tree by nesting them costs time
+ * proportional to its size times its height. Big trees are better built with
+ * {@link #copyOf(BinaryTree)}.
+ *
+ * @param <E> the type of elements in the binary tree
+ * @author Juan Manuel Gimeno Illa
+ * @see BinaryTree
+ */
+public class ArrayBinaryTree<E> implements BinaryTree<E>, Cloneable {
+
+    private static final int NIL = -1;
+
+    private static final class Storage {
+        final Object[] elements;
+        final int[] left;
+        final int[] right;
+        final int[] size;
+        final int[] height;
+        /**
+         * {@code true} while no subtree has been removed, so that every subtree with root
+         * {@code i} occupies exactly the positions {@code i .. i + size[i] - 1}.
+         */
+        boolean compact = true;
+        int modCount;
+
+        Storage(int capacity) {
+            elements = new Object[capacity];
+            left = new int[capacity];
+            right = new int[capacity];
+            size = new int[capacity];
+            height = new int[capacity];
+        }
+
+        int size(int node) {
+            return node == NIL ? 0 : size[node];
+        }
+
+        int height(int node) {
+            return node == NIL ? -1 : height[node];
+        }
+
+        /**
+         * Computes the sizes and heights of the nodes in positions {@code 0 .. count - 1}. As
+         * they are laid out in pre-order, children always come after their parent.
+         */
+        void computeSizesAndHeights(int count) {
+            for (int i = count - 1; i >= 0; i--)
+                update(i);
+        }
+
+        /**
+         * Recomputes the size and height of the given node from those of its children.
+         */
+        void update(int node) {
+            size[node] = 1 + size(left[node]) + size(right[node]);
+            height[node] = 1 + Math.max(height(left[node]), height(right[node]));
+        }
+    }
+
+    private static final Storage EMPTY_STORAGE = new Storage(0);
+
+    /**
+     * The storage shared by this tree and the trees it is a subtree of.
+     */
+    private final Storage storage;
+
+    /**
+     * The position of the root of this tree in the storage, or {@code NIL} if it is empty.
+     */
+    private final int root;
+
+    /**
+     * The tree this one was obtained from by {@link #left()} or {@link #right()}, or {@code null}
+     * if it is a tree of its own. Modifiers follow this chain to update the nodes above.
+     */
+    private final ArrayBinaryTree<E> parent;
+
+    /**
+     * Whether this tree is the left subtree of {@code parent}.
+     */
+    private final boolean isLeft;
+
+    // Constructors
+
+    /**
+     * Creates an empty binary tree.
+     */
+    public ArrayBinaryTree() {
+        this(EMPTY_STORAGE, NIL);
+    }
+
+    /**
+     * Creates a binary tree with the given element as root and copies of the given trees as left
+     * and right subtrees.
+     *
+     * @param elem  the element to be used as root
+     * @param left  the left subtree of the new tree. It can be {@code null} if an empty left
+     *              subtree is desired.
+     * @param right the right subtree of the new tree. It can {@code null} if an empty right
+     *              subtree is desired.
+     */
+    public ArrayBinaryTree(ArrayBinaryTree<E> left, E elem, ArrayBinaryTree<E> right) {
+        int leftSize = left == null ? 0 : left.size();
+        int rightSize = right == null ? 0 : right.size();
+        storage = new Storage(1 + leftSize + rightSize);
+        root = 0;
+        parent = null;
+        isLeft = false;
+        storage.elements[0] = elem;
+        int next = 1;
+        storage.left[0] = leftSize == 0 ? NIL : next;
+        if (leftSize != 0)
+            next = copy(left.storage, left.root, storage, next);
+        storage.right[0] = rightSize == 0 ? NIL : next;
+        if (rightSize != 0)
+            next = copy(right.storage, right.root, storage, next);
+        storage.computeSizesAndHeights(next);
+    }
+
+    private ArrayBinaryTree(Storage storage, int root) {
+        this(storage, root, null, false);
+    }
+
+    private ArrayBinaryTree(Storage storage, int root, ArrayBinaryTree<E> parent, boolean isLeft) {
+        this.storage = storage;
+        this.root = root;
+        this.parent = parent;
+        this.isLeft = isLeft;
+    }
+
+    /**
+     * Returns an ArrayBinaryTree with the same elements and shape as the given tree.
+     *
+     * @param tree the tree to copy
+     * @param <E>  the type of elements in the binary tree
+     * @return an ArrayBinaryTree with the same elements and shape as the given tree
+     */
+    public static <E> ArrayBinaryTree<E> copyOf(BinaryTree<? extends E> tree) {
+        if (tree.isEmpty())
+            return mkABT();
+        if (tree instanceof ArrayBinaryTree<? extends E> abt) {
+            Storage storage = new Storage(abt.size());
+            int count = copy(abt.storage, abt.root, storage, 0);
+            storage.computeSizesAndHeights(count);
+            return new ArrayBinaryTree<>(storage, 0);
+        }
+        Storage storage = new Storage(tree.size());
+        // Pending subtrees with the position of their parent (NIL for the root); a negative
+        // parent -p - 2 means that the subtree is the left child of p
+        Deque<BinaryTree<? extends E>> pending = new ArrayDeque<>();
+        int[] parents = new int[tree.height() + 2];
+        int top = 0;
+        pending.push(tree);
+        parents[0] = NIL;
+        int next = 0;
+        while (!pending.isEmpty()) {
+            BinaryTree<? extends E> subtree = pending.pop();
+            int parent = parents[top--];
+            int node = next++;
+            storage.elements[node] = subtree.root();
+            storage.left[node] = NIL;
+            storage.right[node] = NIL;
+            if (parent < NIL)
+                storage.left[-parent - 2] = node;
+            else if (parent != NIL)
+                storage.right[parent] = node;
+            BinaryTree<? extends E> right = subtree.right();
+            if (!right.isEmpty()) {
+                pending.push(right);
+                parents[++top] = node;
+            }
+            BinaryTree<? extends E> left = subtree.left();
+            if (!left.isEmpty()) {
+                pending.push(left);
+                parents[++top] = -node - 2;
+            }
+        }
+        storage.computeSizesAndHeights(next);
+        return new ArrayBinaryTree<>(storage, 0);
+    }
+
+    /**
+     * Copies in pre-order the subtree rooted at {@code fromRoot} to consecutive positions of
+     * {@code to} starting at {@code next}, and returns the position after the last one used.
+     * Sizes and heights are not copied.
+     */
+    private static int copy(Storage from, int fromRoot, Storage to, int next) {
+        // Pending source nodes with the position of their parent in the copy, encoded as in
+        // copyOf
+        int[] nodes = new int[from.height(fromRoot) + 2];
+        int[] parents = new int[nodes.length];
+        int top = 0;
+        nodes[0] = fromRoot;
+        parents[0] = NIL;
+        while (top >= 0) {
+            int node = nodes[top];
+            int parent = parents[top--];
+            int copy = next++;
+            to.elements[copy] = from.elements[node];
+            to.left[copy] = NIL;
+            to.right[copy] = NIL;
+            if (parent < NIL)
+                to.left[-parent - 2] = copy;
+            else if (parent != NIL)
+                to.right[parent] = copy;
+            if (from.right[node] != NIL) {
+                nodes[++top] = from.right[node];
+                parents[top] = copy;
+            }
+            if (from.left[node] != NIL) {
+                nodes[++top] = from.left[node];
+                parents[top] = -copy - 2;
+            }
+        }
+        return next;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E element(int node) {
+        return (E) storage.elements[node];
+    }
+
+    // Accessors
+
+    /**
+     * Returns the root element of this binary tree.
+     *
+     * @return the root element of this binary tree.
+     * @throws NoSuchElementException if this binary tree is empty.
+     */
+    @Override
+    public E root() {
+        if (root == NIL)
+            throw new NoSuchElementException("root of empty tree");
+
+        return element(root);
+    }
+
+    /**
+     * Returns the left subtree of this binary tree.
+     *
+     * @return the left subtree of this binary tree.
+     */
+    @Override
+    public ArrayBinaryTree<E> left() {
+        if (root == NIL)
+            throw new NoSuchElementException("left child of empty tree");
+
+        return new ArrayBinaryTree<>(storage, storage.left[root], this, true);
+    }
+
+    /**
+     * Returns the right subtree of this binary tree.
+     *
+     * @return the right subtree of this binary tree.
+     */
+    @Override
+    public ArrayBinaryTree<E> right() {
+        if (root == NIL)
+            throw new NoSuchElementException("right child of empty tree");
+
+        return new ArrayBinaryTree<>(storage, storage.right[root], this, false);
+    }
+
+    // Properties
+
+    /**
+     * Returns {@code true} if this binary tree is empty.
+     *
+     * @return {@code true} if this binary tree is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return root == NIL;
+    }
+
+    /**
+     * Returns the number of elements in this binary tree.
+     *
+     * @return the number of elements in this binary tree.
+     */
+    @Override
+    public int size() {
+        return storage.size(root);
+    }
+
+    /**
+     * Return the height of this binary tree.
+     *
+     * @return the height of this binary tree.
+     */
+    @Override
+    public int height() {
+        return storage.height(root);
+    }
+
+    // Modifiers
+
+    @Override
+    public E replaceRoot(E newElement) {
+        if (root == NIL)
+            throw new NoSuchElementException("the empty tree has no root to replace");
+        E oldElement = element(root);
+        storage.elements[root] = newElement;
+        return oldElement;
+    }
+
+    /**
+     * Removes the left subtree of this binary tree.
+     */
+    @Override
+    public void removeLeft() {
+        if (root == NIL)
+            throw new NoSuchElementException("Empty tree");
+        if (storage.left[root] != NIL) {
+            storage.left[root] = NIL;
+            storage.update(root);
+            updateAncestors();
+            storage.compact = false;
+        }
+        storage.modCount++;
+    }
+
+    /**
+     * Removes the right subtree of this binary tree.
+     */
+    @Override
+    public void removeRight() {
+        if (root == NIL)
+            throw new NoSuchElementException("Empty tree");
+        if (storage.right[root] != NIL) {
+            storage.right[root] = NIL;
+            storage.update(root);
+            updateAncestors();
+            storage.compact = false;
+        }
+        storage.modCount++;
+    }
+
+    /**
+     * Updates the sizes and heights of the nodes above the root of this tree after a subtree has
+     * been removed from it. It stops at a subtree that has been removed from its parent, as the
+     * nodes above are no longer its ancestors.
+     */
+    private void updateAncestors() {
+        for (ArrayBinaryTree<E> tree = this; tree.parent != null; tree = tree.parent) {
+            int above = tree.parent.root;
+            if ((tree.isLeft ? storage.left[above] : storage.right[above]) != tree.root)
+                break;
+            storage.update(above);
+        }
+    }
+
+    // Traversals
+
+    /**
+     * Returns the elements of this binary tree in pre-order.
+     *
+     * @return the elements of this binary tree in pre-order.
+     */
+    @Override
+    public List<E> preOrder() {
+        if (root != NIL && storage.compact) {
+            @SuppressWarnings("unchecked")
+            List<E> elements = (List<E>) Arrays.asList(storage.elements);
+            return new ArrayList<>(elements.subList(root, root + storage.size[root]));
+        }
+        List<E> result = new ArrayList<>(size());
+        preOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns the elements of this binary tree in in-order.
+     *
+     * @return the elements of this binary tree in in-order.
+     */
+    @Override
+    public List<E> inOrder() {
+        List<E> result = new ArrayList<>(size());
+        inOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns the elements of this binary tree in post-order.
+     *
+     * @return the elements of this binary tree in post-order.
+     */
+    @Override
+    public List<E> postOrder() {
+        List<E> result = new ArrayList<>(size());
+        postOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns the elements of this binary tree in level-order.
+     *
+     * @return the elements of this binary tree in level-order.
+     */
+    @Override
+    public List<E> levelOrder() {
+        List<E> result = new ArrayList<>(size());
+        levelOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in pre-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in pre-order.
+     */
+    @Override
+    public Iterator<E> preOrderIterator() {
+        return new PreOrderIterator();
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in in-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in in-order.
+     */
+    @Override
+    public Iterator<E> inOrderIterator() {
+        return new InOrderIterator();
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in post-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in post-order.
+     */
+    @Override
+    public Iterator<E> postOrderIterator() {
+        return new PostOrderIterator();
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in level-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in level-order.
+     */
+    @Override
+    public Iterator<E> levelOrderIterator() {
+        return new LevelOrderIterator();
+    }
+
+    /**
+     * Returns a spliterator over the elements of this binary tree in pre-order. While no subtree
+     * has been removed, it splits the range of the element array that holds this tree.
+     *
+     * @return a spliterator over the elements of this binary tree in pre-order.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        if (root != NIL && storage.compact)
+            return Spliterators.spliterator(storage.elements, root, root + storage.size[root],
+                    Spliterator.ORDERED);
+        return BinaryTree.super.spliterator();
+    }
+
+    /**
+     * Returns a sequential stream of the elements of this binary tree in pre-order.
+     *
+     * @return a sequential stream of the elements of this binary tree in pre-order.
+     */
+    @Override
+    public Stream<E> preOrderStream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    // The iterators keep a stack (or queue) of node positions in an int array, so that they
+    // allocate nothing per step. They are fail-fast, as those of LinkedBinaryTree.
+
+    private abstract class TraversalIterator implements Iterator<E> {
+        final int[] pending;
+        int top = -1;
+        private final int expectedModCount = storage.modCount;
+
+        TraversalIterator(int capacity) {
+            pending = new int[capacity];
+        }
+
+        final void checkForComodification() {
+            if (storage.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return top >= 0;
+        }
+    }
+
+    private class PreOrderIterator extends TraversalIterator {
+        PreOrderIterator() {
+            super(height() + 1);
+            if (root != NIL)
+                pending[++top] = root;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (top < 0)
+                throw new NoSuchElementException();
+            int node = pending[top--];
+            if (storage.right[node] != NIL)
+                pending[++top] = storage.right[node];
+            if (storage.left[node] != NIL)
+                pending[++top] = storage.left[node];
+            return element(node);
+        }
+    }
+
+    private class InOrderIterator extends TraversalIterator {
+        InOrderIterator() {
+            super(height() + 1);
+            pushLeftSpine(root);
+        }
+
+        private void pushLeftSpine(int node) {
+            for (; node != NIL; node = storage.left[node])
+                pending[++top] = node;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (top < 0)
+                throw new NoSuchElementException();
+            int node = pending[top--];
+            pushLeftSpine(storage.right[node]);
+            return element(node);
+        }
+    }
+
+    private class PostOrderIterator extends TraversalIterator {
+        private int next = root;
+        private int lastVisited = NIL;
+
+        PostOrderIterator() {
+            super(height() + 1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != NIL || top >= 0;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (!hasNext())
+                throw new NoSuchElementException();
+            while (true) {
+                if (next != NIL) {
+                    pending[++top] = next;
+                    next = storage.left[next];
+                } else {
+                    int node = pending[top];
+                    int right = storage.right[node];
+                    if (right != NIL && right != lastVisited) {
+                        next = right;
+                    } else {
+                        lastVisited = pending[top--];
+                        return element(node);
+                    }
+                }
+            }
+        }
+    }
+
+    private class LevelOrderIterator extends TraversalIterator {
+        // The queue is pending[head .. top]; every node is enqueued once, so it never wraps
+        private int head = 0;
+
+        LevelOrderIterator() {
+            super(size());
+            if (root != NIL)
+                pending[++top] = root;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return head <= top;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (head > top)
+                throw new NoSuchElementException();
+            int node = pending[head++];
+            if (storage.left[node] != NIL)
+                pending[++top] = storage.left[node];
+            if (storage.right[node] != NIL)
+                pending[++top] = storage.right[node];
+            return element(node);
+        }
+    }
+
+    // Methods overridden from Object
+
+    /**
+     * Returns {@code true} if both trees have the same elements and shape.
+     *
+     * @param o object to be compared for equality with this {@code ArrayBinaryTree}
+     * @return {@code true} if the specified object is equal to this {@code ArrayBinaryTree}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof ArrayBinaryTree<?> bt))
+            return false;
+        if (size() != bt.size())
+            return false;
+        if (root == NIL)
+            return true;
+
+        // Both trees are traversed in pre-order at the same time
+        Storage other = bt.storage;
+        int[] nodes1 = new int[height() + 1];
+        int[] nodes2 = new int[nodes1.length];
+        int top = 0;
+        nodes1[0] = root;
+        nodes2[0] = bt.root;
+        while (top >= 0) {
+            int node1 = nodes1[top];
+            int node2 = nodes2[top--];
+            if (storage.size[node1] != other.size[node2]
+                    || !Objects.equals(storage.elements[node1], other.elements[node2])
+                    || (storage.left[node1] == NIL) != (other.left[node2] == NIL)
+                    || (storage.right[node1] == NIL) != (other.right[node2] == NIL))
+                return false;
+            if (storage.right[node1] != NIL) {
+                nodes1[++top] = storage.right[node1];
+                nodes2[top] = other.right[node2];
+            }
+            if (storage.left[node1] != NIL) {
+                nodes1[++top] = storage.left[node1];
+                nodes2[top] = other.left[node2];
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // Combines the elements in pre-order with the shape of each node
+        int result = 1;
+        int[] pending = new int[height() + 1];
+        int top = -1;
+        if (root != NIL)
+            pending[++top] = root;
+        while (top >= 0) {
+            int node = pending[top--];
+            int left = storage.left[node];
+            int right = storage.right[node];
+            int shape = (left != NIL ? 2 : 0) + (right != NIL ? 1 : 0);
+            result = 31 * (31 * result + Objects.hashCode(storage.elements[node])) + shape;
+            if (right != NIL)
+                pending[++top] = right;
+            if (left != NIL)
+                pending[++top] = left;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        if (root == NIL)
+            return "mkABT()";
+        StringBuilder sb = new StringBuilder();
+        // Each pending node records how far its rendering has gone: 0 not started, 1 left
+        // subtree rendered, 2 right subtree rendered
+        int[] nodes = new int[height() + 1];
+        int[] states = new int[nodes.length];
+        int top = 0;
+        nodes[0] = root;
+        while (top >= 0) {
+            int node = nodes[top];
+            if (states[top] == 0) {
+                sb.append("mkABT(");
+                states[top] = 1;
+                if (storage.left[node] != NIL) {
+                    nodes[++top] = storage.left[node];
+                    states[top] = 0;
+                    continue;
+                }
+            }
+            if (states[top] == 1) {
+                if (storage.left[node] != NIL)
+                    sb.append(", ");
+                sb.append(storage.elements[node]);
+                states[top] = 2;
+                if (storage.right[node] != NIL) {
+                    sb.append(", ");
+                    nodes[++top] = storage.right[node];
+                    states[top] = 0;
+                    continue;
+                }
+            }
+            sb.append(')');
+            top--;
+        }
+        return sb.toString();
+    }
+
+    // Cloneable implementation
+
+    /**
+     * Returns a copy of this tree in storage of its own, which reclaims the slots of any
+     * removed subtrees.
+     *
+     * @return a copy of this tree
+     */
+    @Override
+    public ArrayBinaryTree<E> clone() {
+        if (root == NIL)
+            // An empty tree is immutable so we can return this
+            return this;
+        return copyOf(this);
+    }
+
+    // Smart constructors
+
+    private static final ArrayBinaryTree<?> UNTYPED_UNIQUE_EMPTY_TREE = new ArrayBinaryTree<>();
+
+    /**
+     * Returns an empty binary tree.
+     *
+     * @param <E> the type of elements in the binary tree
+     * @return an empty binary tree
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> ArrayBinaryTree<E> mkABT() {
+        // Only works because the empty tree is immutable !!!
+        return (ArrayBinaryTree<E>) UNTYPED_UNIQUE_EMPTY_TREE;
+    }
+
+    /**
+     * Returns a binary tree with the given element as root.
+     *
+     * @param elem the element to be used as root
+     * @param <E>  the type of elements in the binary tree
+     * @return a binary tree with the given element as root and left and right empty
+     */
+    public static <E> ArrayBinaryTree<E> mkABT(E elem) {
+        return new ArrayBinaryTree<>(null, elem, null);
+    }
+
+    /**
+     * Returns a binary tree with the given element as root and a copy of the given tree as left
+     *
+     * @param left the left subtree of the new tree.
+     * @param elem the element to be used as root
+     * @param <E>  the type of elements in the binary tree
+     * @return a binary tree with the given element as root and the given tree as left and right
+     * empty
+     */
+    public static <E> ArrayBinaryTree<E> mkABT(ArrayBinaryTree<E> left, E elem) {
+        return new ArrayBinaryTree<>(left, elem, null);
+    }
+
+    /**
+     * Returns a binary tree with the given element as root and a copy of the given tree as right
+     *
+     * @param elem  the element to be used as root
+     * @param right the right subtree of the new tree.
+     * @param <E>   the type of elements in the binary tree
+     * @return a binary tree with the given element as root and the given tree as right and left
+     * empty
+     */
+    public static <E> ArrayBinaryTree<E> mkABT(E elem, ArrayBinaryTree<E> right) {
+        return new ArrayBinaryTree<>(null, elem, right);
+    }
+
+    /**
+     * Returns a binary tree with the given element as root and copies of the given trees as left
+     * and right
+     *
+     * @param <E>   the type of elements in the binary tree
+     * @param left  the left subtree of the new tree.
+     * @param elem  the element to be used as root
+     * @param right the right subtree of the new tree.
+     * @return a binary tree with the given element as root and the given trees as left and right
+     */
+    public static <E> ArrayBinaryTree<E> mkABT(ArrayBinaryTree<E> left, E elem,
+                                               ArrayBinaryTree<E> right) {
+        return new ArrayBinaryTree<>(left, elem, right);
+    }
+}
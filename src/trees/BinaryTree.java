@@ -1,7 +1,13 @@
 package trees;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A BinaryTree is a tree data structure which can be empty or combines an element of type E with two
@@ -66,6 +72,7 @@ public interface BinaryTree<E> {
      * @param newElement the new root element
      * @return the old root element
      * @throws NoSuchElementException id the tree is empty
+     * @throws UnsupportedOperationException if the tree is immutable
      */
     E replaceRoot(E newElement);
 
@@ -73,6 +80,7 @@ public interface BinaryTree<E> {
      * Removes the left subtree of this binary tree.
      *
      * @throws NoSuchElementException if the tree is empty
+     * @throws UnsupportedOperationException if the tree is immutable
      */
     void removeLeft();
 
@@ -80,6 +88,7 @@ public interface BinaryTree<E> {
      * Removes the right subtree of this binary tree.
      *
      * @throws NoSuchElementException if the tree is empty
+     * @throws UnsupportedOperationException if the tree is immutable
      */
     void removeRight();
 
@@ -110,4 +119,139 @@ public interface BinaryTree<E> {
      * @return an iterator for traversing the binary tree in level-order.
      */
     List<E> levelOrder();
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in pre-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in pre-order.
+     */
+    Iterator<E> preOrderIterator();
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in in-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in in-order.
+     */
+    Iterator<E> inOrderIterator();
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in post-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in post-order.
+     */
+    Iterator<E> postOrderIterator();
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in level-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in level-order.
+     */
+    Iterator<E> levelOrderIterator();
+
+    /**
+     * Returns a sequential stream of the elements of this binary tree in pre-order.
+     *
+     * @return a sequential stream of the elements of this binary tree in pre-order.
+     */
+    default Stream<E> preOrderStream() {
+        return stream(preOrderIterator());
+    }
+
+    /**
+     * Returns a sequential stream of the elements of this binary tree in in-order.
+     *
+     * @return a sequential stream of the elements of this binary tree in in-order.
+     */
+    default Stream<E> inOrderStream() {
+        return stream(inOrderIterator());
+    }
+
+    /**
+     * Returns a sequential stream of the elements of this binary tree in post-order.
+     *
+     * @return a sequential stream of the elements of this binary tree in post-order.
+     */
+    default Stream<E> postOrderStream() {
+        return stream(postOrderIterator());
+    }
+
+    /**
+     * Returns a sequential stream of the elements of this binary tree in level-order.
+     *
+     * @return a sequential stream of the elements of this binary tree in level-order.
+     */
+    default Stream<E> levelOrderStream() {
+        return stream(levelOrderIterator());
+    }
+
+    /**
+     * Returns a spliterator over the elements of this binary tree in pre-order.
+     *
+     * @return a spliterator over the elements of this binary tree in pre-order.
+     * @implNote The default implementation wraps {@link #preOrderIterator()} and splits poorly;
+     * implementations that know the size of their subtrees should override it.
+     */
+    default Spliterator<E> spliterator() {
+        return Spliterators.spliterator(preOrderIterator(), size(), Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a possibly parallel stream of the elements of this binary tree in pre-order.
+     *
+     * @return a possibly parallel stream of the elements of this binary tree in pre-order.
+     */
+    default Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Folds this binary tree: the result for an empty tree is {@code empty}, and the result for a
+     * non-empty one is {@code combine} applied to the result for its left subtree, its root and
+     * the result for its right subtree. For instance, {@code fold(0, (l, e, r) -> l + 1 + r)}
+     * is the size of the tree. Degenerate trees do not overflow the call stack.
+     *
+     * @param empty   the result for the empty tree
+     * @param combine the function that combines the results for the subtrees of a node with its
+     *                element
+     * @param <R>     the type of the result
+     * @return the result of folding this binary tree
+     * @implNote The default implementation walks the tree through {@link #left()} and
+     * {@link #right()}; implementations with access to their nodes should override it.
+     */
+    default <R> R fold(R empty, TriFunction<? super R, ? super E, ? super R, ? extends R> combine) {
+        // A post-order traversal with explicit stacks, where every subtree is seen twice: the
+        // first time its children are pushed, and the second time their results are combined
+        List<BinaryTree<E>> pending = new ArrayList<>();
+        List<Boolean> expanded = new ArrayList<>();
+        List<R> results = new ArrayList<>();
+        pending.add(this);
+        expanded.add(false);
+        while (!pending.isEmpty()) {
+            int top = pending.size() - 1;
+            BinaryTree<E> tree = pending.get(top);
+            if (tree.isEmpty()) {
+                pending.remove(top);
+                expanded.remove(top);
+                results.add(empty);
+            } else if (!expanded.get(top)) {
+                expanded.set(top, true);
+                pending.add(tree.right());
+                expanded.add(false);
+                pending.add(tree.left());
+                expanded.add(false);
+            } else {
+                pending.remove(top);
+                expanded.remove(top);
+                R right = results.remove(results.size() - 1);
+                R left = results.remove(results.size() - 1);
+                results.add(combine.apply(left, tree.root(), right));
+            }
+        }
+        return results.get(0);
+    }
+
+    private Stream<E> stream(Iterator<E> iterator) {
+        return StreamSupport.stream(
+                Spliterators.spliterator(iterator, size(), Spliterator.ORDERED), false);
+    }
 }
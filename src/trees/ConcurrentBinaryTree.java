@@ -0,0 +1,389 @@
+package trees;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * A ConcurrentBinaryTree is a thread-safe implementation of {@link BinaryTree} for trees that are
+ * read by many threads and modified by few.
+ * <p>
+ * Its current version is a {@link PersistentBinaryTree} kept in a volatile field. Reads never
+ * lock: they take the current version, which cannot change, and work on it, so they always see
+ * a consistent tree. Modifications are serialized by a lock: each one builds a new version by
+ * copying the path to the modified node, and then publishes it by writing the field.
+ * <p>
+ * The subtrees returned by {@link #left()} and {@link #right()} denote positions in the tree
+ * (e.g. the right child of the left child of the root), so they read and modify whatever is at
+ * that position in the current version. A position that is not in the tree reads as an empty
+ * tree. As traversals work on a single version, iterators and streams never throw
+ * {@link ConcurrentModificationException}, but do not reflect later modifications.
+ *
+ * @param <E> the type of elements in the binary tree
+ * @author Juan Manuel Gimeno Illa
+ * @see PersistentBinaryTree
+ */
+public final class ConcurrentBinaryTree<E> implements BinaryTree<E> {
+
+    /**
+     * The tree whose versions this one reads and modifies. It is this tree for a tree of its own.
+     */
+    private final ConcurrentBinaryTree<E> top;
+
+    /**
+     * The steps from the root of {@code top} down to the root of this tree: bit i is set if step
+     * i goes to the right child.
+     */
+    private final long[] path;
+
+    /**
+     * The number of steps in the path.
+     */
+    private final int depth;
+
+    /**
+     * The current version of the whole tree. Only used in {@code top}.
+     */
+    private volatile PersistentBinaryTree<E> current;
+
+    /**
+     * Serializes the modifications of the whole tree. Only used in {@code top}.
+     */
+    private final ReentrantLock writeLock;
+
+    // Constructors
+
+    /**
+     * Creates an empty binary tree.
+     */
+    public ConcurrentBinaryTree() {
+        this(PersistentBinaryTree.mkPBT());
+    }
+
+    /**
+     * Creates a binary tree whose first version is the given one.
+     *
+     * @param initial the first version of the tree
+     */
+    public ConcurrentBinaryTree(PersistentBinaryTree<E> initial) {
+        this.top = this;
+        this.path = new long[0];
+        this.depth = 0;
+        this.current = Objects.requireNonNull(initial);
+        this.writeLock = new ReentrantLock();
+    }
+
+    private ConcurrentBinaryTree(ConcurrentBinaryTree<E> top, long[] path, int depth) {
+        this.top = top;
+        this.path = path;
+        this.depth = depth;
+        this.writeLock = null;
+    }
+
+    /**
+     * Returns a ConcurrentBinaryTree with the same elements and shape as the given tree.
+     *
+     * @param tree the tree to copy
+     * @param <E>  the type of elements in the binary tree
+     * @return a ConcurrentBinaryTree with the same elements and shape as the given tree
+     */
+    public static <E> ConcurrentBinaryTree<E> copyOf(BinaryTree<? extends E> tree) {
+        return new ConcurrentBinaryTree<>(PersistentBinaryTree.copyOf(tree));
+    }
+
+    // Versions
+
+    /**
+     * Returns the current version of this binary tree. It never changes, so it can be read at
+     * leisure while other threads modify this tree. It takes O(depth) to find a subtree.
+     *
+     * @return the current version of this binary tree.
+     */
+    public PersistentBinaryTree<E> snapshot() {
+        PersistentBinaryTree<E> whole = top.current;
+        return depth == 0 ? whole : whole.subtree(path, depth);
+    }
+
+    /**
+     * Atomically replaces this binary tree with the result of applying the given function to its
+     * current version. The function is called while holding the lock, so it should be short and
+     * free of side effects.
+     *
+     * @param function the function that computes the new version from the current one
+     * @return the version that has been replaced
+     * @throws NoSuchElementException if this is a subtree whose parent is not in the tree
+     */
+    public PersistentBinaryTree<E> update(UnaryOperator<PersistentBinaryTree<E>> function) {
+        Objects.requireNonNull(function);
+        top.writeLock.lock();
+        try {
+            PersistentBinaryTree<E> whole = top.current;
+            PersistentBinaryTree<E> replaced = depth == 0 ? whole : whole.subtree(path, depth);
+            top.current = depth == 0
+                    ? Objects.requireNonNull(function.apply(whole))
+                    : whole.withSubtree(path, depth, function);
+            return replaced;
+        } finally {
+            top.writeLock.unlock();
+        }
+    }
+
+    private ConcurrentBinaryTree<E> child(boolean right) {
+        long[] childPath = Arrays.copyOf(path, (depth >>> 6) + 1);
+        if (right)
+            childPath[depth >>> 6] |= 1L << depth;
+        return new ConcurrentBinaryTree<>(top, childPath, depth + 1);
+    }
+
+    // Accessors
+
+    /**
+     * Returns the root element of this binary tree.
+     *
+     * @return the root element of this binary tree.
+     * @throws NoSuchElementException if this binary tree is empty.
+     */
+    @Override
+    public E root() {
+        return snapshot().root();
+    }
+
+    /**
+     * Returns the left subtree of this binary tree.
+     *
+     * @return the left subtree of this binary tree.
+     */
+    @Override
+    public ConcurrentBinaryTree<E> left() {
+        if (snapshot().isEmpty())
+            throw new NoSuchElementException("left child of empty tree");
+
+        return child(false);
+    }
+
+    /**
+     * Returns the right subtree of this binary tree.
+     *
+     * @return the right subtree of this binary tree.
+     */
+    @Override
+    public ConcurrentBinaryTree<E> right() {
+        if (snapshot().isEmpty())
+            throw new NoSuchElementException("right child of empty tree");
+
+        return child(true);
+    }
+
+    // Properties
+
+    /**
+     * Returns {@code true} if this binary tree is empty.
+     *
+     * @return {@code true} if this binary tree is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return snapshot().isEmpty();
+    }
+
+    /**
+     * Returns the number of elements in this binary tree.
+     *
+     * @return the number of elements in this binary tree.
+     */
+    @Override
+    public int size() {
+        return snapshot().size();
+    }
+
+    /**
+     * Return the height of this binary tree.
+     *
+     * @return the height of this binary tree.
+     */
+    @Override
+    public int height() {
+        return snapshot().height();
+    }
+
+    // Modifiers
+
+    @Override
+    public E replaceRoot(E newElement) {
+        return update(tree -> tree.withRoot(newElement)).root();
+    }
+
+    /**
+     * Removes the left subtree of this binary tree.
+     */
+    @Override
+    public void removeLeft() {
+        update(PersistentBinaryTree::withoutLeft);
+    }
+
+    /**
+     * Removes the right subtree of this binary tree.
+     */
+    @Override
+    public void removeRight() {
+        update(PersistentBinaryTree::withoutRight);
+    }
+
+    // Traversals
+
+    /**
+     * Returns the elements of this binary tree in pre-order.
+     *
+     * @return the elements of this binary tree in pre-order.
+     */
+    @Override
+    public List<E> preOrder() {
+        return snapshot().preOrder();
+    }
+
+    /**
+     * Returns the elements of this binary tree in in-order.
+     *
+     * @return the elements of this binary tree in in-order.
+     */
+    @Override
+    public List<E> inOrder() {
+        return snapshot().inOrder();
+    }
+
+    /**
+     * Returns the elements of this binary tree in post-order.
+     *
+     * @return the elements of this binary tree in post-order.
+     */
+    @Override
+    public List<E> postOrder() {
+        return snapshot().postOrder();
+    }
+
+    /**
+     * Returns the elements of this binary tree in level-order.
+     *
+     * @return the elements of this binary tree in level-order.
+     */
+    @Override
+    public List<E> levelOrder() {
+        return snapshot().levelOrder();
+    }
+
+    /**
+     * Returns a lazy iterator that traverses the current version of this binary tree in
+     * pre-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in pre-order.
+     */
+    @Override
+    public Iterator<E> preOrderIterator() {
+        return snapshot().preOrderIterator();
+    }
+
+    /**
+     * Returns a lazy iterator that traverses the current version of this binary tree in
+     * in-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in in-order.
+     */
+    @Override
+    public Iterator<E> inOrderIterator() {
+        return snapshot().inOrderIterator();
+    }
+
+    /**
+     * Returns a lazy iterator that traverses the current version of this binary tree in
+     * post-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in post-order.
+     */
+    @Override
+    public Iterator<E> postOrderIterator() {
+        return snapshot().postOrderIterator();
+    }
+
+    /**
+     * Returns a lazy iterator that traverses the current version of this binary tree in
+     * level-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in level-order.
+     */
+    @Override
+    public Iterator<E> levelOrderIterator() {
+        return snapshot().levelOrderIterator();
+    }
+
+    // The streams must take their size and their elements from the same version
+
+    @Override
+    public Stream<E> preOrderStream() {
+        return snapshot().preOrderStream();
+    }
+
+    @Override
+    public Stream<E> inOrderStream() {
+        return snapshot().inOrderStream();
+    }
+
+    @Override
+    public Stream<E> postOrderStream() {
+        return snapshot().postOrderStream();
+    }
+
+    @Override
+    public Stream<E> levelOrderStream() {
+        return snapshot().levelOrderStream();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return snapshot().spliterator();
+    }
+
+    /**
+     * Folds the current version of this binary tree as {@link BinaryTree#fold}, so that
+     * concurrent modifications cannot mix versions in the result.
+     *
+     * @param empty   the result for the empty tree
+     * @param combine the function that combines the results for the subtrees of a node with its
+     *                element
+     * @param <R>     the type of the result
+     * @return the result of folding the current version of this binary tree
+     */
+    @Override
+    public <R> R fold(R empty, TriFunction<? super R, ? super E, ? super R, ? extends R> combine) {
+        return snapshot().fold(empty, combine);
+    }
+
+    // Methods overridden from Object
+
+    /**
+     * Returns {@code true} if the current versions of both trees have the same elements and
+     * shape.
+     *
+     * @param o object to be compared for equality with this {@code ConcurrentBinaryTree}
+     * @return {@code true} if the specified object is equal to this {@code ConcurrentBinaryTree}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof ConcurrentBinaryTree<?> bt))
+            return false;
+
+        return snapshot().equals(bt.snapshot());
+    }
+
+    @Override
+    public int hashCode() {
+        return snapshot().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
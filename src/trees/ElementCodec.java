@@ -0,0 +1,100 @@
+package trees;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An ElementCodec converts the elements of a tree to and from a fixed number of bytes, so that
+ * they can be stored in node records of fixed size (e.g. by {@link MappedBinaryTree}).
+ *
+ * @param <E> the type of the elements
+ * @author Juan Manuel Gimeno Illa
+ */
+public interface ElementCodec<E> {
+
+    /**
+     * Returns the number of bytes every element is encoded into.
+     *
+     * @return the number of bytes every element is encoded into.
+     */
+    int width();
+
+    /**
+     * Writes the given element into {@code width()} bytes of the buffer, starting at the given
+     * index. The position of the buffer is not changed.
+     *
+     * @param buffer  the buffer to write into
+     * @param index   the index of the first byte to write
+     * @param element the element to write
+     */
+    void write(ByteBuffer buffer, int index, E element);
+
+    /**
+     * Reads an element from {@code width()} bytes of the buffer, starting at the given index. The
+     * position of the buffer is not changed.
+     *
+     * @param buffer the buffer to read from
+     * @param index  the index of the first byte to read
+     * @return the element read
+     */
+    E read(ByteBuffer buffer, int index);
+
+    /**
+     * A codec for non-null {@code Integer} elements.
+     */
+    ElementCodec<Integer> INTEGER = new ElementCodec<>() {
+        @Override
+        public int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int index, Integer element) {
+            buffer.putInt(index, element);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer, int index) {
+            return buffer.getInt(index);
+        }
+    };
+
+    /**
+     * A codec for non-null {@code Long} elements.
+     */
+    ElementCodec<Long> LONG = new ElementCodec<>() {
+        @Override
+        public int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int index, Long element) {
+            buffer.putLong(index, element);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int index) {
+            return buffer.getLong(index);
+        }
+    };
+
+    /**
+     * A codec for non-null {@code Double} elements.
+     */
+    ElementCodec<Double> DOUBLE = new ElementCodec<>() {
+        @Override
+        public int width() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int index, Double element) {
+            buffer.putDouble(index, element);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer, int index) {
+            return buffer.getDouble(index);
+        }
+    };
+}
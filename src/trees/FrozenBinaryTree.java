@@ -0,0 +1,733 @@
+package trees;
+
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A FrozenBinaryTree is an immutable implementation of {@link BinaryTree} for trees that are built
+ * once and then only read. {@link #freeze(BinaryTree)} encodes the shape of a tree in a few bits
+ * per node, instead of the dozens of bytes of a node object, and its elements in an array.
+ * <p>
+ * The shape is the balanced parentheses sequence of the tree, in pre-order: a node is an open
+ * parenthesis, followed by the parentheses of its children, followed by a closing one. As this
+ * does not tell the left child from the right one of a node with a single child, each node also
+ * has a bit telling whether it has a left child. A subtree is given by the position of the open
+ * parenthesis of its root, and the elements are laid out in pre-order, so the element of a node
+ * is at the number of open parentheses before it. Small directories over blocks of
+ * {@value #BLOCK_BITS} parentheses count the open parentheses before each block and keep the
+ * minimum and maximum depth within blocks, so that the matching parenthesis of a node, and so its
+ * size and its right child, and its height are found in O(log n) without reading the sequence
+ * between. In all, the shape takes about 3.6 bits per node.
+ * <p>
+ * The modifiers of {@link BinaryTree} throw {@link UnsupportedOperationException}.
+ *
+ * @param <E> the type of elements in the binary tree
+ * @author Juan Manuel Gimeno Illa
+ * @see BinaryTree
+ */
+public final class FrozenBinaryTree<E> implements BinaryTree<E> {
+
+    private static final int NIL = -1;
+
+    /**
+     * The number of parentheses of a block of the directories.
+     */
+    private static final int BLOCK_BITS = 512;
+
+    // For each byte of parentheses (the first one in the lowest bit), the change of depth after
+    // it, and the minimum and maximum changes after each of its parentheses
+    private static final byte[] BYTE_CHANGE = new byte[256];
+    private static final byte[] BYTE_MIN = new byte[256];
+    private static final byte[] BYTE_MAX = new byte[256];
+
+    static {
+        for (int b = 0; b < 256; b++) {
+            int change = 0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < 8; i++) {
+                change += (b >>> i & 1) != 0 ? 1 : -1;
+                min = Math.min(min, change);
+                max = Math.max(max, change);
+            }
+            BYTE_CHANGE[b] = (byte) change;
+            BYTE_MIN[b] = (byte) min;
+            BYTE_MAX[b] = (byte) max;
+        }
+    }
+
+    /**
+     * The encoding of a whole tree, shared by the tree and its subtrees.
+     * <p>
+     * The excess at position i is the number of open parentheses minus the number of closing
+     * ones before it, so that the excess after the open parenthesis of a node is its depth plus
+     * one.
+     */
+    private static final class Encoding {
+        // Bit i is set if the parenthesis at position i is open
+        final long[] parens;
+        final int length;
+        // Bit k is set if the k-th node in pre-order has a left child
+        final long[] lefts;
+        final Object[] elements;
+        // The number of open parentheses before each block
+        final int[] ranks;
+        // Segment trees, with a leaf per block, of the minimum and maximum excess after the
+        // parentheses in the block
+        final int leaves;
+        final int[] mins;
+        final int[] maxs;
+
+        Encoding(long[] parens, int length, long[] lefts, Object[] elements) {
+            this.parens = parens;
+            this.length = length;
+            this.lefts = lefts;
+            this.elements = elements;
+            int blocks = (length + BLOCK_BITS - 1) / BLOCK_BITS;
+            int leaves = 1;
+            while (leaves < blocks)
+                leaves <<= 1;
+            this.leaves = leaves;
+            this.ranks = new int[blocks + 1];
+            this.mins = new int[2 * leaves];
+            this.maxs = new int[2 * leaves];
+            Arrays.fill(mins, Integer.MAX_VALUE);
+            Arrays.fill(maxs, Integer.MIN_VALUE);
+            int excess = 0;
+            for (int i = 0; i < length; i++) {
+                int block = i / BLOCK_BITS;
+                if (isOpen(i)) {
+                    ranks[block + 1]++;
+                    excess++;
+                } else {
+                    excess--;
+                }
+                mins[leaves + block] = Math.min(mins[leaves + block], excess);
+                maxs[leaves + block] = Math.max(maxs[leaves + block], excess);
+            }
+            for (int block = 0; block < blocks; block++)
+                ranks[block + 1] += ranks[block];
+            for (int i = leaves - 1; i > 0; i--) {
+                mins[i] = Math.min(mins[2 * i], mins[2 * i + 1]);
+                maxs[i] = Math.max(maxs[2 * i], maxs[2 * i + 1]);
+            }
+        }
+
+        boolean isOpen(int i) {
+            return (parens[i >>> 6] >>> i & 1) != 0;
+        }
+
+        boolean hasLeft(int node) {
+            return (lefts[node >>> 6] >>> node & 1) != 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        <E> E element(int node) {
+            return (E) elements[node];
+        }
+
+        // The eight parentheses from position i, which must be a multiple of 8
+        private int byteAt(int i) {
+            return (int) (parens[i >>> 6] >>> i) & 0xFF;
+        }
+
+        /**
+         * Returns the number of open parentheses before position i, which is the index in
+         * pre-order of the node at i if it is open.
+         */
+        int rank(int i) {
+            int block = i / BLOCK_BITS;
+            int rank = ranks[block];
+            for (int word = block * (BLOCK_BITS / 64); word < i >>> 6; word++)
+                rank += Long.bitCount(parens[word]);
+            if ((i & 63) != 0)
+                rank += Long.bitCount(parens[i >>> 6] & (1L << i) - 1);
+            return rank;
+        }
+
+        int excess(int i) {
+            return 2 * rank(i) - i;
+        }
+
+        /**
+         * Returns the position of the parenthesis that closes the open one at position i.
+         */
+        int close(int i) {
+            // The first position after which the excess goes back to what it was before i
+            int target = excess(i);
+            int excess = target;
+            for (; (i & 7) != 0; i++) {
+                excess += isOpen(i) ? 1 : -1;
+                if (excess == target)
+                    return i;
+            }
+            int blockEnd = Math.min(length, (i / BLOCK_BITS + 1) * BLOCK_BITS);
+            for (; i < blockEnd; i += 8) {
+                int b = byteAt(i);
+                if (excess + BYTE_MIN[b] <= target)
+                    return scan(i, excess, target);
+                excess += BYTE_CHANGE[b];
+            }
+            // The parenthesis is in the first block after this one that goes down to the target.
+            // There is always one, as every parenthesis is closed.
+            i = firstBlockDownTo(i / BLOCK_BITS, target) * BLOCK_BITS;
+            excess = excess(i);
+            while (true) {
+                int b = byteAt(i);
+                if (excess + BYTE_MIN[b] <= target)
+                    return scan(i, excess, target);
+                excess += BYTE_CHANGE[b];
+                i += 8;
+            }
+        }
+
+        // The first position from i after which the excess, starting from the given one, is the
+        // target
+        private int scan(int i, int excess, int target) {
+            for (; ; i++) {
+                excess += isOpen(i) ? 1 : -1;
+                if (excess == target)
+                    return i;
+            }
+        }
+
+        private int firstBlockDownTo(int block, int target) {
+            int i = leaves + block;
+            while (mins[i] > target) {
+                // Climb while i is a right child, and then go to its right sibling
+                while ((i & 1) != 0)
+                    i >>>= 1;
+                i++;
+            }
+            while (i < leaves) {
+                i <<= 1;
+                if (mins[i] > target)
+                    i++;
+            }
+            return i - leaves;
+        }
+
+        /**
+         * Returns the maximum excess after the parentheses from position {@code from} to
+         * {@code to}, both included.
+         */
+        int maxExcess(int from, int to) {
+            int firstBlock = (from + BLOCK_BITS - 1) / BLOCK_BITS;
+            int lastBlock = (to + 1) / BLOCK_BITS;
+            if (firstBlock >= lastBlock)
+                return scanMax(from, to + 1);
+            // The whole blocks in between are read from the directory
+            int max = Integer.MIN_VALUE;
+            for (int l = firstBlock + leaves, r = lastBlock + leaves; l < r; l >>>= 1, r >>>= 1) {
+                if ((l & 1) != 0)
+                    max = Math.max(max, maxs[l++]);
+                if ((r & 1) != 0)
+                    max = Math.max(max, maxs[--r]);
+            }
+            if (from < firstBlock * BLOCK_BITS)
+                max = Math.max(max, scanMax(from, firstBlock * BLOCK_BITS));
+            if (lastBlock * BLOCK_BITS <= to)
+                max = Math.max(max, scanMax(lastBlock * BLOCK_BITS, to + 1));
+            return max;
+        }
+
+        // The maximum excess after the parentheses from position from to position to, excluded
+        private int scanMax(int from, int to) {
+            int excess = excess(from);
+            int max = Integer.MIN_VALUE;
+            int i = from;
+            for (; i < to && (i & 7) != 0; i++) {
+                excess += isOpen(i) ? 1 : -1;
+                max = Math.max(max, excess);
+            }
+            for (; i + 8 <= to; i += 8) {
+                int b = byteAt(i);
+                max = Math.max(max, excess + BYTE_MAX[b]);
+                excess += BYTE_CHANGE[b];
+            }
+            for (; i < to; i++) {
+                excess += isOpen(i) ? 1 : -1;
+                max = Math.max(max, excess);
+            }
+            return max;
+        }
+
+        int left(int i) {
+            return hasLeft(rank(i)) ? i + 1 : NIL;
+        }
+
+        int right(int i) {
+            if (!isOpen(i + 1))
+                return NIL;
+            if (!hasLeft(rank(i)))
+                return i + 1;
+            int next = close(i + 1) + 1;
+            return isOpen(next) ? next : NIL;
+        }
+
+        int size(int i) {
+            return i == NIL ? 0 : (close(i) - i + 1) / 2;
+        }
+
+        int height(int i) {
+            return i == NIL ? -1 : maxExcess(i, close(i)) - excess(i) - 1;
+        }
+    }
+
+    private static final FrozenBinaryTree<?> UNTYPED_UNIQUE_EMPTY_TREE =
+            new FrozenBinaryTree<>(new Encoding(new long[0], 0, new long[0], new Object[0]), NIL);
+
+    /**
+     * The encoding shared by this tree and the trees it is a subtree of.
+     */
+    private final Encoding encoding;
+
+    /**
+     * The position of the open parenthesis of the root of this tree, or {@code NIL} if it is
+     * empty.
+     */
+    private final int root;
+
+    private FrozenBinaryTree(Encoding encoding, int root) {
+        this.encoding = encoding;
+        this.root = root;
+    }
+
+    // Freezing
+
+    /**
+     * Returns a FrozenBinaryTree with the same elements and shape as the given tree. It takes
+     * O(n) time and no recursion.
+     *
+     * @param tree the tree to freeze
+     * @param <E>  the type of elements in the binary tree
+     * @return a FrozenBinaryTree with the same elements and shape as the given tree
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> FrozenBinaryTree<E> freeze(BinaryTree<? extends E> tree) {
+        if (tree instanceof FrozenBinaryTree<? extends E> frozen)
+            // Immutable, so it can be shared
+            return (FrozenBinaryTree<E>) frozen;
+        if (tree.isEmpty())
+            return (FrozenBinaryTree<E>) UNTYPED_UNIQUE_EMPTY_TREE;
+        int n = tree.size();
+        long[] parens = new long[(2 * n + 63) >>> 6];
+        long[] lefts = new long[(n + 63) >>> 6];
+        Object[] elements = new Object[n];
+        // The subtrees still to be written, in a list as null marks a closing parenthesis
+        List<BinaryTree<? extends E>> pending = new ArrayList<>();
+        pending.add(tree);
+        int position = 0;
+        int node = 0;
+        while (!pending.isEmpty()) {
+            BinaryTree<? extends E> subtree = pending.remove(pending.size() - 1);
+            if (subtree == null) {
+                position++;
+                continue;
+            }
+            parens[position >>> 6] |= 1L << position;
+            position++;
+            elements[node] = subtree.root();
+            BinaryTree<? extends E> left = subtree.left();
+            BinaryTree<? extends E> right = subtree.right();
+            if (!left.isEmpty())
+                lefts[node >>> 6] |= 1L << node;
+            node++;
+            pending.add(null);
+            if (!right.isEmpty())
+                pending.add(right);
+            if (!left.isEmpty())
+                pending.add(left);
+        }
+        return new FrozenBinaryTree<>(new Encoding(parens, 2 * n, lefts, elements), 0);
+    }
+
+    // Accessors
+
+    /**
+     * Returns the root element of this binary tree.
+     *
+     * @return the root element of this binary tree.
+     * @throws NoSuchElementException if this binary tree is empty.
+     */
+    @Override
+    public E root() {
+        if (root == NIL)
+            throw new NoSuchElementException("root of empty tree");
+
+        return encoding.element(encoding.rank(root));
+    }
+
+    /**
+     * Returns the left subtree of this binary tree.
+     *
+     * @return the left subtree of this binary tree.
+     */
+    @Override
+    public FrozenBinaryTree<E> left() {
+        if (root == NIL)
+            throw new NoSuchElementException("left child of empty tree");
+
+        return new FrozenBinaryTree<>(encoding, encoding.left(root));
+    }
+
+    /**
+     * Returns the right subtree of this binary tree.
+     *
+     * @return the right subtree of this binary tree.
+     */
+    @Override
+    public FrozenBinaryTree<E> right() {
+        if (root == NIL)
+            throw new NoSuchElementException("right child of empty tree");
+
+        return new FrozenBinaryTree<>(encoding, encoding.right(root));
+    }
+
+    // Properties
+
+    /**
+     * Returns {@code true} if this binary tree is empty.
+     *
+     * @return {@code true} if this binary tree is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return root == NIL;
+    }
+
+    /**
+     * Returns the number of elements in this binary tree.
+     *
+     * @return the number of elements in this binary tree.
+     */
+    @Override
+    public int size() {
+        return encoding.size(root);
+    }
+
+    /**
+     * Return the height of this binary tree.
+     *
+     * @return the height of this binary tree.
+     */
+    @Override
+    public int height() {
+        return encoding.height(root);
+    }
+
+    // Modifiers
+
+    @Override
+    public E replaceRoot(E newElement) {
+        throw new UnsupportedOperationException("frozen tree");
+    }
+
+    @Override
+    public void removeLeft() {
+        throw new UnsupportedOperationException("frozen tree");
+    }
+
+    @Override
+    public void removeRight() {
+        throw new UnsupportedOperationException("frozen tree");
+    }
+
+    // Traversals
+
+    /**
+     * Returns the elements of this binary tree in pre-order.
+     *
+     * @return the elements of this binary tree in pre-order.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<E> preOrder() {
+        if (root == NIL)
+            return new ArrayList<>();
+        int first = encoding.rank(root);
+        List<Object> elements = Arrays.asList(encoding.elements);
+        return new ArrayList<>((List<E>) elements.subList(first, first + size()));
+    }
+
+    /**
+     * Returns the elements of this binary tree in in-order.
+     *
+     * @return the elements of this binary tree in in-order.
+     */
+    @Override
+    public List<E> inOrder() {
+        List<E> result = new ArrayList<>(size());
+        inOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns the elements of this binary tree in post-order.
+     *
+     * @return the elements of this binary tree in post-order.
+     */
+    @Override
+    public List<E> postOrder() {
+        List<E> result = new ArrayList<>(size());
+        postOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns the elements of this binary tree in level-order.
+     *
+     * @return the elements of this binary tree in level-order.
+     */
+    @Override
+    public List<E> levelOrder() {
+        List<E> result = new ArrayList<>(size());
+        levelOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in pre-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in pre-order.
+     */
+    @Override
+    public Iterator<E> preOrderIterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in in-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in in-order.
+     */
+    @Override
+    public Iterator<E> inOrderIterator() {
+        return new ScanIterator(true);
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in post-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in post-order.
+     */
+    @Override
+    public Iterator<E> postOrderIterator() {
+        return new ScanIterator(false);
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in level-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in level-order.
+     */
+    @Override
+    public Iterator<E> levelOrderIterator() {
+        return new LevelOrderIterator();
+    }
+
+    /**
+     * Returns a spliterator over the elements of this binary tree in pre-order, which are
+     * contiguous in the array of elements, so that it splits evenly.
+     *
+     * @return a spliterator over the elements of this binary tree in pre-order.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        int first = root == NIL ? 0 : encoding.rank(root);
+        return Spliterators.spliterator(encoding.elements, first,
+                first + size(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Returns a sequential stream of the elements of this binary tree in pre-order.
+     *
+     * @return a sequential stream of the elements of this binary tree in pre-order.
+     */
+    @Override
+    public Stream<E> preOrderStream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <R> R fold(R empty, TriFunction<? super R, ? super E, ? super R, ? extends R> combine) {
+        Objects.requireNonNull(combine);
+        if (root == NIL)
+            return empty;
+        // A scan of the parentheses: the results of the children of a node are on the stack
+        // when it is closed, and their number is counted as they are opened
+        int end = encoding.close(root);
+        int[] nodes = new int[height() + 1];
+        int[] children = new int[nodes.length];
+        List<R> results = new ArrayList<>();
+        int top = -1;
+        int node = encoding.rank(root);
+        for (int i = root; i <= end; i++) {
+            if (encoding.isOpen(i)) {
+                if (top >= 0)
+                    children[top]++;
+                nodes[++top] = node++;
+                children[top] = 0;
+            } else {
+                int closed = nodes[top];
+                R right = empty;
+                R left = empty;
+                if (children[top] == 2) {
+                    right = results.remove(results.size() - 1);
+                    left = results.remove(results.size() - 1);
+                } else if (children[top] == 1 && encoding.hasLeft(closed)) {
+                    left = results.remove(results.size() - 1);
+                } else if (children[top] == 1) {
+                    right = results.remove(results.size() - 1);
+                }
+                results.add(combine.apply(left, encoding.element(closed), right));
+                top--;
+            }
+        }
+        return results.get(0);
+    }
+
+    /**
+     * An iterator that scans the parentheses of the tree from left to right, keeping the open
+     * nodes on a stack. In post-order a node is visited when it is closed; in in-order, when it
+     * is opened if it has no left child, and when its left child is closed otherwise.
+     */
+    private final class ScanIterator implements Iterator<E> {
+        private final boolean inOrder;
+        private final int[] open;
+        private int top = -1;
+        private int position = root;
+        private int node;
+        private int remaining = size();
+
+        ScanIterator(boolean inOrder) {
+            this.inOrder = inOrder;
+            this.open = new int[height() + 1];
+            this.node = root == NIL ? 0 : encoding.rank(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public E next() {
+            if (remaining == 0)
+                throw new NoSuchElementException();
+            remaining--;
+            while (true) {
+                if (encoding.isOpen(position++)) {
+                    int opened = node++;
+                    open[++top] = opened;
+                    if (inOrder && !encoding.hasLeft(opened))
+                        return encoding.element(opened);
+                } else {
+                    int closed = open[top--];
+                    if (!inOrder)
+                        return encoding.element(closed);
+                    if (top >= 0 && closed == open[top] + 1 && encoding.hasLeft(open[top]))
+                        return encoding.element(open[top]);
+                }
+            }
+        }
+    }
+
+    private final class LevelOrderIterator implements Iterator<E> {
+        // The queue is pending[head .. tail); every node is enqueued once, so it never wraps
+        private final int[] pending = new int[size()];
+        private int head = 0;
+        private int tail = 0;
+
+        LevelOrderIterator() {
+            if (root != NIL)
+                pending[tail++] = root;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return head < tail;
+        }
+
+        @Override
+        public E next() {
+            if (head == tail)
+                throw new NoSuchElementException();
+            int node = pending[head++];
+            int left = encoding.left(node);
+            if (left != NIL)
+                pending[tail++] = left;
+            int right = encoding.right(node);
+            if (right != NIL)
+                pending[tail++] = right;
+            return encoding.element(encoding.rank(node));
+        }
+    }
+
+    // Methods overridden from Object
+
+    /**
+     * Returns {@code true} if both trees have the same elements and shape.
+     *
+     * @param o object to be compared for equality with this {@code FrozenBinaryTree}
+     * @return {@code true} if the specified object is equal to this {@code FrozenBinaryTree}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof FrozenBinaryTree<?> bt))
+            return false;
+        int size = size();
+        if (size != bt.size())
+            return false;
+        if (size == 0)
+            return true;
+
+        // Both trees have the same shape if they have the same parentheses and left children
+        Encoding other = bt.encoding;
+        for (int i = 0; i < 2 * size; i++)
+            if (encoding.isOpen(root + i) != other.isOpen(bt.root + i))
+                return false;
+        int first1 = encoding.rank(root);
+        int first2 = other.rank(bt.root);
+        for (int k = 0; k < size; k++)
+            if (encoding.hasLeft(first1 + k) != other.hasLeft(first2 + k)
+                    || !Objects.equals(encoding.elements[first1 + k], other.elements[first2 + k]))
+                return false;
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // Combines the elements in pre-order with the shape of each node, as ArrayBinaryTree
+        int result = 1;
+        if (root == NIL)
+            return result;
+        int end = encoding.close(root);
+        int node = encoding.rank(root);
+        for (int i = root; i <= end; i++) {
+            if (!encoding.isOpen(i))
+                continue;
+            int shape = (encoding.hasLeft(node) ? 2 : 0) + (encoding.right(i) != NIL ? 1 : 0);
+            result = 31 * (31 * result + Objects.hashCode(encoding.elements[node])) + shape;
+            node++;
+        }
+        return result;
+    }
+
+    /**
+     * Returns a short description of this tree. Frozen trees are usually too big to be rendered
+     * in full.
+     *
+     * @return a short description of this tree
+     */
+    @Override
+    public String toString() {
+        return "FrozenBinaryTree(size=%d, height=%d)".formatted(size(), height());
+    }
+}
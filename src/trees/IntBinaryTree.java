@@ -0,0 +1,162 @@
+package trees;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An IntBinaryTree is a binary tree like {@link BinaryTree}, specialized for {@code int}
+ * elements so that neither the nodes nor the traversals need to box them. It does not extend
+ * {@code BinaryTree}, whose methods return and take boxed elements.
+ *
+ * @author Juan Manuel Gimeno Illa
+ * @see BinaryTree
+ */
+public interface IntBinaryTree {
+
+    /**
+     * Returns the root element of this binary tree.
+     *
+     * @return the root element of this binary tree.
+     * @throws NoSuchElementException if this binary tree is empty.
+     */
+    int root();
+
+    /**
+     * Returns the left subtree of this binary tree.
+     *
+     * @return the left subtree of this binary tree.
+     */
+    IntBinaryTree left();
+
+    /**
+     * Returns the right subtree of this binary tree.
+     *
+     * @return the right subtree of this binary tree.
+     */
+    IntBinaryTree right();
+
+    /**
+     * Returns {@code true} if this binary tree is empty.
+     *
+     * @return {@code true} if this binary tree is empty.
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the size of this binary tree.
+     *
+     * @return the size of this binary tree.
+     */
+    int size();
+
+    /**
+     * Returns the height of this binary tree.
+     *
+     * @return the height of this binary tree.
+     */
+    int height();
+
+    /**
+     * Replaces the root element of this binary tree with the given element.
+     *
+     * @param newElement the new root element
+     * @return the old root element
+     * @throws NoSuchElementException id the tree is empty
+     */
+    int replaceRoot(int newElement);
+
+    /**
+     * Removes the left subtree of this binary tree.
+     *
+     * @throws NoSuchElementException if the tree is empty
+     */
+    void removeLeft();
+
+    /**
+     * Removes the right subtree of this binary tree.
+     *
+     * @throws NoSuchElementException if the tree is empty
+     */
+    void removeRight();
+
+    /**
+     * Returns the elements of this binary tree in pre-order.
+     *
+     * @return a new array with the elements of this binary tree in pre-order.
+     */
+    default int[] preOrder() {
+        int[] result = new int[size()];
+        preOrder(result, 0);
+        return result;
+    }
+
+    /**
+     * Copies the elements of this binary tree in pre-order into the given array.
+     *
+     * @param destination the array to fill
+     * @param offset      the position of {@code destination} where the first element is copied
+     * @throws IndexOutOfBoundsException if the elements do not fit in {@code destination}
+     */
+    void preOrder(int[] destination, int offset);
+
+    /**
+     * Returns the elements of this binary tree in in-order.
+     *
+     * @return a new array with the elements of this binary tree in in-order.
+     */
+    default int[] inOrder() {
+        int[] result = new int[size()];
+        inOrder(result, 0);
+        return result;
+    }
+
+    /**
+     * Copies the elements of this binary tree in in-order into the given array.
+     *
+     * @param destination the array to fill
+     * @param offset      the position of {@code destination} where the first element is copied
+     * @throws IndexOutOfBoundsException if the elements do not fit in {@code destination}
+     */
+    void inOrder(int[] destination, int offset);
+
+    /**
+     * Returns the elements of this binary tree in post-order.
+     *
+     * @return a new array with the elements of this binary tree in post-order.
+     */
+    default int[] postOrder() {
+        int[] result = new int[size()];
+        postOrder(result, 0);
+        return result;
+    }
+
+    /**
+     * Copies the elements of this binary tree in post-order into the given array.
+     *
+     * @param destination the array to fill
+     * @param offset      the position of {@code destination} where the first element is copied
+     * @throws IndexOutOfBoundsException if the elements do not fit in {@code destination}
+     */
+    void postOrder(int[] destination, int offset);
+
+    /**
+     * Returns the elements of this binary tree in level-order.
+     *
+     * @return a new array with the elements of this binary tree in level-order.
+     */
+    default int[] levelOrder() {
+        int[] result = new int[size()];
+        levelOrder(result, 0);
+        return result;
+    }
+
+    /**
+     * Copies the elements of this binary tree in level-order into the given array.
+     *
+     * @param destination the array to fill
+     * @param offset      the position of {@code destination} where the first element is copied
+     * @throws IndexOutOfBoundsException if the elements do not fit in {@code destination}
+     */
+    void levelOrder(int[] destination, int offset);
+}
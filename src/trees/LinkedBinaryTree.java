@@ -1,6 +1,14 @@
 package trees;
 
+import java.io.IOException;
+import java.io.Serial;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A LinkedBinaryTree is an implementation of {@link BinaryTree} that  a structure of linked nodes.
@@ -16,73 +24,393 @@ public class LinkedBinaryTree<E> implements BinaryTree<E>, Cloneable {
      */
     private Node<E> root;
 
-    private static class Node<E> implements Cloneable {
-        Node<E> left;
+    /**
+     * The tree whose structural modifications are tracked by this one. Subtrees returned by
+     * {@link #left()} and {@link #right()} share the nodes of their owner, so they also share its
+     * modification count.
+     */
+    private LinkedBinaryTree<E> owner;
+
+    /**
+     * The number of times the owner has been structurally modified (i.e. subtrees have been
+     * removed). Used to make the iterators fail-fast.
+     */
+    private int modCount;
+
+    /**
+     * The tree this one was obtained from by {@link #left()} or {@link #right()}, or {@code null}
+     * if it is a tree of its own. Modifiers follow this chain to copy the shared nodes above.
+     */
+    private LinkedBinaryTree<E> parent;
+
+    /**
+     * Whether this tree is the left subtree of {@code parent}.
+     */
+    private boolean isLeft;
+
+    /**
+     * A node of the tree. The nodes without children are {@link Leaf leaves}, which do not store
+     * the children, size and height that all leaves have alike, so that they take 24 bytes
+     * instead of the 40 bytes of a {@link Branch} (with compressed oops). A node never gets new
+     * children once its tree is built: a leaf stays a leaf, and a branch whose children are
+     * removed stays a branch.
+     */
+    private abstract static class Node<E> {
         E element;
-        Node<E> right;
-        int size;
+        // Structural hash of the subtree, the same as Objects.hash(left, element, right) would
+        // compute recursively. It assumes elements do not change their hashCode.
+        int hash;
+        // Whether this node, and so all the nodes below it, may be reachable from more than one
+        // tree (i.e. from a clone), so that it must be copied before being modified. Once set,
+        // it is never cleared.
+        boolean shared;
 
-        Node(Node<E> left, E element, Node<E> right) {
-            this.left = left;
+        Node(E element) {
             this.element = element;
-            this.right = right;
-            this.size = 1 + Node.size(left) + Node.size(right);
         }
 
+        /**
+         * Returns a node with the given children, a leaf if it has none.
+         */
+        static <E> Node<E> of(Node<E> left, E element, Node<E> right) {
+            return left == null && right == null
+                    ? new Leaf<>(element)
+                    : new Branch<>(left, element, right);
+        }
+
+        /**
+         * Returns a node whose children will be set later: a branch if it will have any, and a
+         * leaf otherwise.
+         */
+        static <E> Node<E> unlinked(E element, boolean hasChildren) {
+            return hasChildren ? new Branch<>(null, element, null) : new Leaf<>(element);
+        }
+
+        abstract Node<E> left();
+
+        abstract Node<E> right();
+
+        /**
+         * Sets the left child of this node. A leaf can only have it set to {@code null}.
+         */
+        abstract void setLeft(Node<E> left);
+
+        /**
+         * Sets the right child of this node. A leaf can only have it set to {@code null}.
+         */
+        abstract void setRight(Node<E> right);
+
+        abstract int size();
+
+        abstract int height();
+
+        /**
+         * Recomputes the size, height and hash of this node from those of its children.
+         */
+        abstract void update();
+
+        /**
+         * Returns an unshared copy of this node. Its children become shared, as both this node
+         * and the copy point to them.
+         */
+        abstract Node<E> copy();
+
         static int size(Node<?> node) {
-            return node == null ? 0 : node.size;
+            return node == null ? 0 : node.size();
         }
 
         static int height(Node<?> node) {
+            return node == null ? -1 : node.height();
+        }
+
+        static int hash(Node<?> node) {
+            return node == null ? 0 : node.hash;
+        }
+
+        /**
+         * Returns the height of the subtree computed recursively from its leaves, as
+         * {@code height()} did before it was cached in the nodes.
+         */
+        static int walkedHeight(Node<?> node) {
             if (node == null)
                 return -1;
-            else
-                return 1 + Math.max(height(node.left), height(node.right));
+            return 1 + Math.max(walkedHeight(node.left()), walkedHeight(node.right()));
         }
 
-        void preOrder(List<E> result) {
-            result.add(element);
-            if (left != null)
-                left.preOrder(result);
-            if (right != null)
-                right.preOrder(result);
+        // Traversals use an explicit stack (or queue) so that degenerate trees do not overflow
+        // the call stack. A stack never holds more than height + 1 nodes.
+
+        static <E> void preOrder(Node<E> root, List<E> result) {
+            if (root == null)
+                return;
+            Deque<Node<E>> pending = new ArrayDeque<>(root.height() + 1);
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                Node<E> node = pending.pop();
+                result.add(node.element);
+                if (node.right() != null)
+                    pending.push(node.right());
+                if (node.left() != null)
+                    pending.push(node.left());
+            }
+        }
+
+        static <E> void inOrder(Node<E> root, List<E> result) {
+            if (root == null)
+                return;
+            Deque<Node<E>> pending = new ArrayDeque<>(root.height() + 1);
+            Node<E> node = root;
+            while (node != null || !pending.isEmpty()) {
+                while (node != null) {
+                    pending.push(node);
+                    node = node.left();
+                }
+                node = pending.pop();
+                result.add(node.element);
+                node = node.right();
+            }
+        }
+
+        static <E> void postOrder(Node<E> root, List<E> result) {
+            if (root == null)
+                return;
+            Deque<Node<E>> pending = new ArrayDeque<>(root.height() + 1);
+            Node<E> node = root;
+            Node<E> lastVisited = null;
+            while (node != null || !pending.isEmpty()) {
+                if (node != null) {
+                    pending.push(node);
+                    node = node.left();
+                } else {
+                    Node<E> top = pending.peek();
+                    if (top.right() != null && top.right() != lastVisited) {
+                        node = top.right();
+                    } else {
+                        result.add(top.element);
+                        lastVisited = pending.pop();
+                    }
+                }
+            }
+        }
+
+        static <E, R> R fold(Node<E> root, R empty,
+                             TriFunction<? super R, ? super E, ? super R, ? extends R> combine) {
+            if (root == null)
+                return empty;
+            // The post-order traversal above, keeping the results of the subtrees on a stack
+            Deque<Node<E>> pending = new ArrayDeque<>(root.height() + 1);
+            List<R> results = new ArrayList<>();
+            Node<E> node = root;
+            Node<E> lastVisited = null;
+            while (node != null || !pending.isEmpty()) {
+                if (node != null) {
+                    pending.push(node);
+                    node = node.left();
+                } else {
+                    Node<E> top = pending.peek();
+                    if (top.right() != null && top.right() != lastVisited) {
+                        node = top.right();
+                    } else {
+                        R right = top.right() == null ? empty : results.remove(results.size() - 1);
+                        R left = top.left() == null ? empty : results.remove(results.size() - 1);
+                        results.add(combine.apply(left, top.element, right));
+                        lastVisited = pending.pop();
+                    }
+                }
+            }
+            return results.get(0);
         }
 
-        static boolean equals(Node<?> node1, Node<?> node2) {
+        static <E> void levelOrder(Node<E> root, List<E> result) {
+            if (root == null)
+                return;
+            // ArrayDeque is a ring buffer, so the queue only grows to the widest level
+            Deque<Node<E>> pending = new ArrayDeque<>();
+            pending.add(root);
+            while (!pending.isEmpty()) {
+                Node<E> node = pending.remove();
+                result.add(node.element);
+                if (node.left() != null)
+                    pending.add(node.left());
+                if (node.right() != null)
+                    pending.add(node.right());
+            }
+        }
+
+        /**
+         * Compares both subtrees in pre-order, counting the pairs of nodes compared in the probe,
+         * if any. Shared subtrees are not descended into, and different hashes or sizes tell
+         * apart most different trees without descending.
+         */
+        static boolean equals(Node<?> node1, Node<?> node2, TreeProbe probe) {
+            long compared = compare(node1, node2);
+            if (probe != null)
+                probe.nodesVisited += compared < 0 ? ~compared : compared;
+            return compared >= 0;
+        }
+
+        /**
+         * Compares both subtrees as {@link #equals(Node, Node, TreeProbe)}, and returns the
+         * number of pairs of nodes compared, or its complement (which is negative) if the
+         * subtrees are different.
+         */
+        static long compare(Node<?> node1, Node<?> node2) {
+            Deque<Node<?>> pending = new ArrayDeque<>();
+            if (!pushPair(pending, node1, node2))
+                return ~0L;
+            long compared = 0;
+            while (!pending.isEmpty()) {
+                Node<?> first = pending.pop();
+                Node<?> second = pending.pop();
+                compared++;
+                if (first.hash != second.hash
+                        || first.size() != second.size()
+                        || !Objects.equals(first.element, second.element)
+                        || !pushPair(pending, first.right(), second.right())
+                        || !pushPair(pending, first.left(), second.left()))
+                    return ~compared;
+            }
+            return compared;
+        }
+
+        // Pushes both nodes unless they are the same; returns false if only one of them is null
+        private static boolean pushPair(Deque<Node<?>> pending, Node<?> node1, Node<?> node2) {
+            if (node1 == node2)
+                return true;
             if (node1 == null || node2 == null)
-                return node1 == node2;
-            else
-                return node1.size == node2.size
-                        && Objects.equals(node1.element, node2.element)
-                        && equals(node1.left, node2.left)
-                        && equals(node1.right, node2.right);
+                return false;
+            pending.push(node2);
+            pending.push(node1);
+            return true;
         }
 
         @Override
-        public String toString() {
-            if (left == null && right == null) return "mkLBT(%s)".formatted(element);
-            else if (left == null) return "mkLBT(%s, %s)".formatted(element, right);
-            else if (right == null) return "mkLBT(%s, %s)".formatted(left, element);
-            else return "mkLBT(%s, %s, %s)".formatted(left, element, right);
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Leaf<E> extends Node<E> {
+        Leaf(E element) {
+            super(element);
+            update();
+        }
+
+        private Leaf(E element, int hash) {
+            super(element);
+            this.hash = hash;
         }
 
         @Override
-        public int hashCode() {
-            return Objects.hash(left, element, right);
+        Node<E> left() {
+            return null;
         }
 
         @Override
-        @SuppressWarnings("unchecked")
-        public Node<E> clone()  {
-            try {
-                Node<E> clone = (Node<E>) super.clone();
-                if (left != null) clone.left = left.clone();
-                if (right != null) clone.right = right.clone();
-                return clone;
-            } catch (CloneNotSupportedException e) {
-                // this shouldn't happen, since we are Cloneable
-                throw new InternalError(e);
-            }
+        Node<E> right() {
+            return null;
+        }
+
+        @Override
+        void setLeft(Node<E> left) {
+            assert left == null : "a leaf cannot get children";
+        }
+
+        @Override
+        void setRight(Node<E> right) {
+            assert right == null : "a leaf cannot get children";
+        }
+
+        @Override
+        int size() {
+            return 1;
+        }
+
+        @Override
+        int height() {
+            return 0;
+        }
+
+        @Override
+        void update() {
+            // The hash of a node whose children are both empty
+            hash = 31 * (31 * 31 + Objects.hashCode(element));
+        }
+
+        @Override
+        Node<E> copy() {
+            return new Leaf<>(element, hash);
+        }
+    }
+
+    private static final class Branch<E> extends Node<E> {
+        Node<E> left;
+        Node<E> right;
+        int size;
+        int height;
+
+        Branch(Node<E> left, E element, Node<E> right) {
+            super(element);
+            this.left = left;
+            this.right = right;
+            update();
+        }
+
+        private Branch(Node<E> left, E element, Node<E> right, int size, int height, int hash) {
+            super(element);
+            this.left = left;
+            this.right = right;
+            this.size = size;
+            this.height = height;
+            this.hash = hash;
+        }
+
+        @Override
+        Node<E> left() {
+            return left;
+        }
+
+        @Override
+        Node<E> right() {
+            return right;
+        }
+
+        @Override
+        void setLeft(Node<E> left) {
+            this.left = left;
+        }
+
+        @Override
+        void setRight(Node<E> right) {
+            this.right = right;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        int height() {
+            return height;
+        }
+
+        @Override
+        void update() {
+            size = 1 + Node.size(left) + Node.size(right);
+            height = 1 + Math.max(Node.height(left), Node.height(right));
+            hash = 31 * (31 * (31 + Node.hash(left)) + Objects.hashCode(element))
+                    + Node.hash(right);
+        }
+
+        @Override
+        Node<E> copy() {
+            Branch<E> copy = new Branch<>(left, element, right, size, height, hash);
+            if (left != null)
+                left.shared = true;
+            if (right != null)
+                right.shared = true;
+            return copy;
         }
     }
 
@@ -93,11 +421,13 @@ public class LinkedBinaryTree<E> implements BinaryTree<E>, Cloneable {
      */
     public LinkedBinaryTree() {
         root = null;
+        owner = this;
     }
 
     /**
      * Creates a binary tree with the given element as root and the given trees as left and right
-     * subtrees.
+     * subtrees. The new tree shares their nodes in O(1), and neither it nor them see the later
+     * modifications of the others.
      *
      * @param elem  the element to be used as root
      * @param left  the left subtree of the new tree. It can be {@code null} if an empty left
@@ -106,13 +436,21 @@ public class LinkedBinaryTree<E> implements BinaryTree<E>, Cloneable {
      *              subtree is desired.
      */
     public LinkedBinaryTree(LinkedBinaryTree<E> left, E elem, LinkedBinaryTree<E> right) {
-        Node<E> leftChild = left == null ? null : left.root;
-        Node<E> rightChild = right == null ? null : right.root;
-        root = new Node<>(leftChild, elem, rightChild);
+        Node<E> leftChild = left == null ? null : left.sharedRoot();
+        Node<E> rightChild = right == null ? null : right.sharedRoot();
+        root = Node.of(leftChild, elem, rightChild);
+        owner = this;
     }
 
-    private LinkedBinaryTree(Node<E> root) {
+    /**
+     * Creates a tree with the given root, as the left or right subtree of {@code parent} or, if
+     * it is {@code null}, as a tree of its own.
+     */
+    private LinkedBinaryTree(Node<E> root, LinkedBinaryTree<E> parent, boolean isLeft) {
         this.root = root;
+        this.parent = parent;
+        this.isLeft = isLeft;
+        this.owner = parent == null ? this : parent.owner;
     }
 
     // Accessors
@@ -141,7 +479,7 @@ public class LinkedBinaryTree<E> implements BinaryTree<E>, Cloneable {
         if (root == null)
             throw new NoSuchElementException("left child of empty tree");
 
-        return new LinkedBinaryTree<>(root.left);
+        return new LinkedBinaryTree<>(root.left(), this, true);
     }
 
     /**
@@ -154,7 +492,7 @@ public class LinkedBinaryTree<E> implements BinaryTree<E>, Cloneable {
         if (root == null)
             throw new NoSuchElementException("right child of empty tree");
 
-        return new LinkedBinaryTree<>(root.right);
+        return new LinkedBinaryTree<>(root.right(), this, false);
     }
 
     // Properties
@@ -186,18 +524,117 @@ public class LinkedBinaryTree<E> implements BinaryTree<E>, Cloneable {
      */
     @Override
     public int height() {
-        // If height was called often, we'd better catch it in a field (as we do with size)
         return Node.height(root);
     }
 
+    /**
+     * Returns the height of this binary tree walking all its nodes, without the cached heights.
+     * Only used to benchmark {@link #height()}.
+     */
+    int walkedHeight() {
+        return Node.walkedHeight(root);
+    }
+
+    // Order statistics
+
+    /**
+     * Returns the element at the given position of the in-order traversal, in O(height).
+     *
+     * @param k the position, from 0
+     * @return the element at the given position of the in-order traversal
+     * @throws IndexOutOfBoundsException if the position is not in the tree
+     */
+    public E select(int k) {
+        Objects.checkIndex(k, size());
+        Node<E> node = root;
+        while (true) {
+            int leftSize = Node.size(node.left());
+            if (k < leftSize) {
+                node = node.left();
+            } else if (k == leftSize) {
+                return node.element;
+            } else {
+                k -= leftSize + 1;
+                node = node.right();
+            }
+        }
+    }
+
+    /**
+     * Returns the position in the in-order traversal of the node at the given path, in
+     * O(depth of the path).
+     *
+     * @param path the path of the node
+     * @return the position in the in-order traversal of the node at the given path
+     * @throws NoSuchElementException if there is no node at the path
+     */
+    public int rankOf(TreePath path) {
+        Node<E> node = root;
+        int rank = 0;
+        for (int i = 0; i < path.depth() && node != null; i++) {
+            if (path.goesRight(i)) {
+                rank += Node.size(node.left()) + 1;
+                node = node.right();
+            } else {
+                node = node.left();
+            }
+        }
+        if (node == null)
+            throw new NoSuchElementException("no node at path " + path);
+        return rank + Node.size(node.left());
+    }
+
+    /**
+     * Returns the elements at positions {@code from} (inclusive) to {@code to} (exclusive) of the
+     * in-order traversal, in O(height + to - from).
+     *
+     * @param from the first position, from 0
+     * @param to   the position after the last one
+     * @return the elements at the given positions of the in-order traversal
+     * @throws IndexOutOfBoundsException if the positions are not in the tree
+     */
+    public List<E> inOrderRange(int from, int to) {
+        Objects.checkFromToIndex(from, to, size());
+        List<E> result = new ArrayList<>(to - from);
+        if (from == to)
+            return result;
+        // The same stack as in inOrder(), positioned at the element at from
+        Deque<Node<E>> pending = new ArrayDeque<>(root.height() + 1);
+        Node<E> node = root;
+        int k = from;
+        while (true) {
+            int leftSize = Node.size(node.left());
+            if (k < leftSize) {
+                pending.push(node);
+                node = node.left();
+            } else if (k == leftSize) {
+                pending.push(node);
+                break;
+            } else {
+                k -= leftSize + 1;
+                node = node.right();
+            }
+        }
+        while (result.size() < to - from) {
+            node = pending.pop();
+            result.add(node.element);
+            for (node = node.right(); node != null; node = node.left())
+                pending.push(node);
+        }
+        return result;
+    }
+
     // Modifiers
 
     @Override
     public E replaceRoot(E newElement) {
         if (root == null)
             throw new NoSuchElementException("the empty tree has no root to replace");
-        E oldElement = root.element;
-        root.element = newElement;
+        Node<E> node = unshare();
+        E oldElement = node.element;
+        node.element = newElement;
+        node.update();
+        updateAncestors();
         return oldElement;
     }
 
@@ -208,8 +645,11 @@ public class LinkedBinaryTree<E> implements BinaryTree<E>, Cloneable {
     public void removeLeft() {
         if (root == null)
             throw new NoSuchElementException("Empty tree");
-        root.size -= Node.size(root.left);
-        root.left = null;
+        Node<E> node = unshare();
+        node.setLeft(null);
+        node.update();
+        updateAncestors();
+        owner.modCount++;
     }
 
     /**
@@ -219,8 +659,88 @@ public class LinkedBinaryTree<E> implements BinaryTree<E>, Cloneable {
     public void removeRight() {
         if (root == null)
             throw new NoSuchElementException("Empty tree");
-        root.size -= Node.size(root.right);
-        root.right = null;
+        Node<E> node = unshare();
+        node.setRight(null);
+        node.update();
+        updateAncestors();
+        owner.modCount++;
+    }
+
+    // Copy-on-write support
+
+    /**
+     * Returns the root node of this non-empty tree, ready to be modified: if it, or any node
+     * above it, is shared with a clone, the path from the root of the whole tree down to it is
+     * copied first.
+     * <p>
+     * A subtree follows the copies made through other subtrees at the same position, while one
+     * whose position has been removed from its parent stays a tree of its own.
+     */
+    private Node<E> unshare() {
+        if (parent == null) {
+            if (root.shared) {
+                TreeProbe probe = TreeProbe.start(TreeMetrics.Operation.COPY_ON_WRITE);
+                root = root.copy();
+                if (probe != null) {
+                    probe.nodesVisited = probe.nodesAllocated = 1;
+                    probe.end(size());
+                }
+            }
+            return root;
+        }
+        TreeProbe probe = TreeProbe.start(TreeMetrics.Operation.COPY_ON_WRITE);
+        // The chain of subtrees, from the tree at the top down to this one
+        Deque<LinkedBinaryTree<E>> path = new ArrayDeque<>();
+        for (LinkedBinaryTree<E> tree = this; tree != null; tree = tree.parent)
+            path.push(tree);
+        Node<E> parentNode = null;
+        for (LinkedBinaryTree<E> tree : path) {
+            Node<E> current = null;
+            if (parentNode != null)
+                current = tree.isLeft ? parentNode.left() : parentNode.right();
+            if (current != null)
+                tree.root = current;
+            if (tree.root.shared) {
+                tree.root = tree.root.copy();
+                if (probe != null)
+                    probe.nodesAllocated++;
+                if (current != null && tree.isLeft)
+                    parentNode.setLeft(tree.root);
+                else if (current != null)
+                    parentNode.setRight(tree.root);
+            }
+            parentNode = tree.root;
+        }
+        if (probe != null && probe.nodesAllocated > 0) {
+            probe.nodesVisited = path.size();
+            probe.end(size());
+        }
+        return root;
+    }
+
+    /**
+     * Updates the sizes, heights and hashes of the nodes above the root of this tree after it
+     * has been modified, following the chain of subtrees it was obtained from, which
+     * {@link #unshare()} has left pointing to the current nodes. It stops at a subtree that has
+     * been removed from its parent, as the nodes above are no longer its ancestors.
+     */
+    private void updateAncestors() {
+        for (LinkedBinaryTree<E> tree = this; tree.parent != null; tree = tree.parent) {
+            Node<E> above = tree.parent.root;
+            if ((tree.isLeft ? above.left() : above.right()) != tree.root)
+                break;
+            above.update();
+        }
+    }
+
+    /**
+     * Returns the root node of this tree, marked as shared since a tree is being built on top of
+     * it: from then on, whichever of both trees is modified copies it first.
+     */
+    private Node<E> sharedRoot() {
+        if (root != null)
+            root.shared = true;
+        return root;
     }
 
     // Traversals
@@ -232,9 +752,13 @@ public class LinkedBinaryTree<E> implements BinaryTree<E>, Cloneable {
      */
     @Override
     public List<E> preOrder() {
+        TreeProbe probe = TreeProbe.start(TreeMetrics.Operation.TRAVERSAL);
         List<E> result = new ArrayList<>(size());
-        if (root != null)
-            root.preOrder(result);
+        Node.preOrder(root, result);
+        if (probe != null) {
+            probe.nodesVisited = result.size();
+            probe.end(size());
+        }
         return result;
     }
 
@@ -246,7 +770,14 @@ public class LinkedBinaryTree<E> implements BinaryTree<E>, Cloneable {
      */
     @Override
     public List<E> inOrder() {
-        throw new UnsupportedOperationException("TODO");
+        TreeProbe probe = TreeProbe.start(TreeMetrics.Operation.TRAVERSAL);
+        List<E> result = new ArrayList<>(size());
+        Node.inOrder(root, result);
+        if (probe != null) {
+            probe.nodesVisited = result.size();
+            probe.end(size());
+        }
+        return result;
     }
 
     /**
@@ -256,7 +787,14 @@ public class LinkedBinaryTree<E> implements BinaryTree<E>, Cloneable {
      */
     @Override
     public List<E> postOrder() {
-        throw new UnsupportedOperationException("TODO");
+        TreeProbe probe = TreeProbe.start(TreeMetrics.Operation.TRAVERSAL);
+        List<E> result = new ArrayList<>(size());
+        Node.postOrder(root, result);
+        if (probe != null) {
+            probe.nodesVisited = result.size();
+            probe.end(size());
+        }
+        return result;
     }
 
     /**
@@ -266,49 +804,1076 @@ public class LinkedBinaryTree<E> implements BinaryTree<E>, Cloneable {
      */
     @Override
     public List<E> levelOrder() {
-        throw new UnsupportedOperationException("TODO");
+        TreeProbe probe = TreeProbe.start(TreeMetrics.Operation.TRAVERSAL);
+        List<E> result = new ArrayList<>(size());
+        Node.levelOrder(root, result);
+        if (probe != null) {
+            probe.nodesVisited = result.size();
+            probe.end(size());
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <R> R fold(R empty, TriFunction<? super R, ? super E, ? super R, ? extends R> combine) {
+        Objects.requireNonNull(combine);
+        TreeProbe probe = TreeProbe.start(TreeMetrics.Operation.FOLD);
+        R result = Node.fold(root, empty, combine);
+        if (probe != null) {
+            probe.nodesVisited = size();
+            probe.end(size());
+        }
+        return result;
+    }
 
+    /**
+     * Folds this binary tree as {@link #fold(Object, TriFunction)}, but folding big subtrees in
+     * parallel in the common fork-join pool. Only subtrees of at least
+     * {@value #FOLD_THRESHOLD} nodes, as told by their stored sizes, are given to other tasks, so
+     * {@code combine} must be safe to call from several threads at once.
+     *
+     * @param empty   the result for the empty tree
+     * @param combine the function that combines the results for the subtrees of a node with its
+     *                element
+     * @param <R>     the type of the result
+     * @return the result of folding this binary tree
+     */
+    public <R> R parallelFold(R empty,
+                              TriFunction<? super R, ? super E, ? super R, ? extends R> combine) {
+        Objects.requireNonNull(combine);
+        TreeProbe probe = TreeProbe.start(TreeMetrics.Operation.FOLD);
+        R result = size() < FOLD_THRESHOLD
+                ? Node.fold(root, empty, combine)
+                : ForkJoinPool.commonPool().invoke(new FoldTask<>(root, empty, combine));
+        if (probe != null) {
+            probe.nodesVisited = size();
+            probe.end(size());
+        }
+        return result;
     }
 
-    // Methods overridden from Object
+    /**
+     * The size from which {@link #parallelFold(Object, TriFunction)} folds a subtree in another
+     * task.
+     */
+    private static final int FOLD_THRESHOLD = 1 << 13;
 
     /**
-     * Returns {@code true} if both trees have the same elements and shape.
+     * Folds a subtree in parallel. It goes down from its node, always to the bigger child, while
+     * it is big enough to be split. The smaller child of each node on the way is folded by a new
+     * task if it is big enough, and by this one otherwise. As forked subtrees are at most half as
+     * big as their parents, tasks nest only O(log n) deep, whatever the shape of the tree.
+     */
+    private static final class FoldTask<E, R> extends RecursiveTask<R> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final Node<E> root;
+        private final R empty;
+        private final TriFunction<? super R, ? super E, ? super R, ? extends R> combine;
+
+        FoldTask(Node<E> root, R empty,
+                 TriFunction<? super R, ? super E, ? super R, ? extends R> combine) {
+            this.root = root;
+            this.empty = empty;
+            this.combine = combine;
+        }
+
+        @Override
+        protected R compute() {
+            List<Node<E>> path = new ArrayList<>();
+            List<FoldTask<E, R>> forked = new ArrayList<>();
+            List<R> folded = new ArrayList<>();
+            Node<E> node = root;
+            while (node != null && node.size() >= FOLD_THRESHOLD) {
+                Node<E> smaller = smallerChild(node);
+                path.add(node);
+                if (Node.size(smaller) >= FOLD_THRESHOLD) {
+                    FoldTask<E, R> task = new FoldTask<>(smaller, empty, combine);
+                    task.fork();
+                    forked.add(task);
+                    folded.add(null);
+                } else {
+                    forked.add(null);
+                    folded.add(Node.fold(smaller, empty, combine));
+                }
+                node = smaller == node.left() ? node.right() : node.left();
+            }
+            R result = Node.fold(node, empty, combine);
+            for (int i = path.size() - 1; i >= 0; i--) {
+                node = path.get(i);
+                R other = forked.get(i) == null ? folded.get(i) : forked.get(i).join();
+                result = smallerChild(node) == node.left()
+                        ? combine.apply(other, node.element, result)
+                        : combine.apply(result, node.element, other);
+            }
+            return result;
+        }
+
+        private static <E> Node<E> smallerChild(Node<E> node) {
+            return Node.size(node.left()) <= Node.size(node.right()) ? node.left() : node.right();
+        }
+    }
+
+    /**
+     * Compares this binary tree with the given object as {@link #equals(Object)}, but comparing
+     * big subtrees in parallel in the common fork-join pool. Only subtrees of at least
+     * {@value #EQUALS_THRESHOLD} nodes, as told by their stored sizes, are given to other tasks,
+     * and all the tasks stop as soon as any of them finds a difference.
+     * <p>
+     * As the hashes of the subtrees are stored in their roots, most different trees are told
+     * apart without descending, so this pays off for trees that are equal, or nearly so.
      *
      * @param o object to be compared for equality with this {@code LinkedBinaryTree}
      * @return {@code true} if the specified object is equal to this {@code LinkedBinaryTree}
      */
-    @Override
-    public boolean equals(Object o) {
+    public boolean parallelEquals(Object o) {
         if (this == o)
             return true;
         if (!(o instanceof LinkedBinaryTree<?> bt))
             return false;
+        if (size() < EQUALS_THRESHOLD)
+            return equals(bt);
+
+        TreeProbe probe = TreeProbe.start(TreeMetrics.Operation.EQUALS);
+        AtomicBoolean different = new AtomicBoolean();
+        long compared = ForkJoinPool.commonPool().invoke(new EqualsTask(root, bt.root, different));
+        if (probe != null) {
+            probe.nodesVisited = compared;
+            probe.end(size());
+        }
+        return !different.get();
+    }
+
+    /**
+     * The size from which {@link #parallelEquals(Object)} compares a subtree in another task.
+     */
+    private static final int EQUALS_THRESHOLD = 1 << 13;
+
+    /**
+     * Compares two subtrees in parallel, going down both of them as {@link FoldTask} does. The
+     * nodes on the way are compared by this task, and the smaller children by a new task if they
+     * are big enough. A difference is recorded in a flag shared by all the tasks, which they check
+     * before every comparison, so that the remaining work is abandoned. Each task returns the
+     * number of pairs of nodes compared by it and the tasks it forked.
+     */
+    private static final class EqualsTask extends RecursiveTask<Long> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final Node<?> node1;
+        private final Node<?> node2;
+        private final AtomicBoolean different;
+
+        EqualsTask(Node<?> node1, Node<?> node2, AtomicBoolean different) {
+            this.node1 = node1;
+            this.node2 = node2;
+            this.different = different;
+        }
+
+        @Override
+        protected Long compute() {
+            List<EqualsTask> forked = new ArrayList<>();
+            long compared = 0;
+            Node<?> first = node1;
+            Node<?> second = node2;
+            while (first != second && !different.get()) {
+                if (first == null || second == null
+                        || first.size() < EQUALS_THRESHOLD
+                        || first.hash != second.hash
+                        || first.size() != second.size()
+                        || !Objects.equals(first.element, second.element)) {
+                    compared += count(Node.compare(first, second));
+                    break;
+                }
+                compared++;
+                boolean leftIsSmaller = Node.size(first.left()) <= Node.size(first.right());
+                Node<?> smaller1 = leftIsSmaller ? first.left() : first.right();
+                Node<?> smaller2 = leftIsSmaller ? second.left() : second.right();
+                if (Node.size(smaller1) >= EQUALS_THRESHOLD) {
+                    EqualsTask task = new EqualsTask(smaller1, smaller2, different);
+                    task.fork();
+                    forked.add(task);
+                } else {
+                    compared += count(Node.compare(smaller1, smaller2));
+                    if (different.get())
+                        break;
+                }
+                first = leftIsSmaller ? first.right() : first.left();
+                second = leftIsSmaller ? second.right() : second.left();
+            }
+            for (EqualsTask task : forked)
+                compared += task.join();
+            return compared;
+        }
 
-        return Node.equals(root, bt.root);
+        /**
+         * Returns the number of pairs of nodes of a comparison, recording whether it found a
+         * difference.
+         */
+        private long count(long compared) {
+            if (compared >= 0)
+                return compared;
+            different.set(true);
+            return ~compared;
+        }
     }
 
+    /**
+     * Returns a lazy iterator that traverses this binary tree in pre-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in pre-order.
+     */
     @Override
-    public int hashCode() {
-        return Objects.hash(root);
+    public Iterator<E> preOrderIterator() {
+        return new PreOrderIterator();
     }
 
+    /**
+     * Returns a lazy iterator that traverses this binary tree in in-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in in-order.
+     */
     @Override
-    public String toString() {
-        return root == null ? "mkLBT()" : root.toString();
+    public Iterator<E> inOrderIterator() {
+        return new InOrderIterator();
     }
 
-    // Cloneable implementation
+    /**
+     * Returns a lazy iterator that traverses this binary tree in post-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in post-order.
+     */
+    @Override
+    public Iterator<E> postOrderIterator() {
+        return new PostOrderIterator();
+    }
 
+    /**
+     * Returns a lazy iterator that traverses this binary tree in level-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in level-order.
+     */
     @Override
-    @SuppressWarnings("unchecked")
-    public LinkedBinaryTree<E> clone()  {
-        if (root == null)
+    public Iterator<E> levelOrderIterator() {
+        return new LevelOrderIterator();
+    }
+
+    /**
+     * Returns a spliterator over the elements of this binary tree in pre-order. It splits by
+     * subtrees and, as every node knows the size of its subtree, it reports exact sizes for the
+     * parts it splits into.
+     *
+     * @return a spliterator over the elements of this binary tree in pre-order.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new TraversalSpliterator(false);
+    }
+
+    /**
+     * Returns a sequential stream of the elements of this binary tree in pre-order.
+     *
+     * @return a sequential stream of the elements of this binary tree in pre-order.
+     */
+    @Override
+    public Stream<E> preOrderStream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a sequential stream of the elements of this binary tree in in-order. The stream
+     * splits by subtrees if it is made parallel.
+     *
+     * @return a sequential stream of the elements of this binary tree in in-order.
+     */
+    @Override
+    public Stream<E> inOrderStream() {
+        return StreamSupport.stream(new TraversalSpliterator(true), false);
+    }
+
+    /**
+     * Returns a cursor at the root of this binary tree. Modifications made through the cursor
+     * update the sizes, heights and hashes of the nodes above its position, up to the root of
+     * the tree this one was obtained from. Like the iterators, the cursor is fail-fast: it throws a
+     * {@link ConcurrentModificationException} if the tree is structurally modified other than
+     * through it.
+     *
+     * @return a cursor at the root of this binary tree.
+     */
+    public TreeCursor<E> cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Returns an empty batch of modifications of the nodes of this binary tree, addressed by
+     * their paths from its root. Applying it visits each node on the paths once, and updates the
+     * sizes, heights and hashes of those nodes, and of the nodes above this subtree, once.
+     *
+     * @return an empty batch of modifications of this binary tree.
+     */
+    public TreeBatch<E> batch() {
+        return new Batch();
+    }
+
+    /**
+     * Returns an index of the nodes of this binary tree, identified by their positions in
+     * pre-order, that answers lowest common ancestor, ancestor and depth queries in O(1). It is
+     * built in O(n) time and space. Like the iterators, the index is fail-fast: its queries throw
+     * a {@link ConcurrentModificationException} once the tree has been structurally modified.
+     *
+     * @return an index of the ancestors of the nodes of this binary tree.
+     */
+    public AncestorIndex ancestorIndex() {
+        int[] depths = new int[size()];
+        int[] parents = new int[size()];
+        int n = 0;
+        if (root != null) {
+            // The pending nodes of the pre-order traversal, with the positions of their parents
+            Deque<Node<E>> pending = new ArrayDeque<>(root.height() + 1);
+            int[] pendingParents = new int[root.height() + 2];
+            pending.push(root);
+            pendingParents[0] = -1;
+            while (!pending.isEmpty()) {
+                Node<E> node = pending.pop();
+                int parent = pendingParents[pending.size()];
+                parents[n] = parent;
+                depths[n] = parent < 0 ? 0 : depths[parent] + 1;
+                if (node.right() != null) {
+                    pendingParents[pending.size()] = n;
+                    pending.push(node.right());
+                }
+                if (node.left() != null) {
+                    pendingParents[pending.size()] = n;
+                    pending.push(node.left());
+                }
+                n++;
+            }
+        }
+        return new AncestorIndex(this, owner.modCount, depths, parents);
+    }
+
+    /**
+     * Returns the number of times the owner of this tree has been structurally modified.
+     */
+    int modCount() {
+        return owner.modCount;
+    }
+
+    // The iterators mirror the iterative traversals in Node, but keep their stack (or queue)
+    // between calls to next(). Like the java.util collections, they are fail-fast: they throw a
+    // ConcurrentModificationException if the tree is structurally modified while iterating.
+
+    private abstract class TraversalIterator implements Iterator<E> {
+        final Deque<Node<E>> pending = new ArrayDeque<>();
+        private final int expectedModCount = owner.modCount;
+
+        final void checkForComodification() {
+            if (owner.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pending.isEmpty();
+        }
+    }
+
+    private class PreOrderIterator extends TraversalIterator {
+        PreOrderIterator() {
+            if (root != null)
+                pending.push(root);
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (pending.isEmpty())
+                throw new NoSuchElementException();
+            Node<E> node = pending.pop();
+            if (node.right() != null)
+                pending.push(node.right());
+            if (node.left() != null)
+                pending.push(node.left());
+            return node.element;
+        }
+    }
+
+    private class InOrderIterator extends TraversalIterator {
+        InOrderIterator() {
+            pushLeftSpine(root);
+        }
+
+        private void pushLeftSpine(Node<E> node) {
+            for (; node != null; node = node.left())
+                pending.push(node);
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (pending.isEmpty())
+                throw new NoSuchElementException();
+            Node<E> node = pending.pop();
+            pushLeftSpine(node.right());
+            return node.element;
+        }
+    }
+
+    private class PostOrderIterator extends TraversalIterator {
+        private Node<E> next = root;
+        private Node<E> lastVisited = null;
+
+        @Override
+        public boolean hasNext() {
+            return next != null || !pending.isEmpty();
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (!hasNext())
+                throw new NoSuchElementException();
+            while (true) {
+                if (next != null) {
+                    pending.push(next);
+                    next = next.left();
+                } else {
+                    Node<E> top = pending.peek();
+                    if (top.right() != null && top.right() != lastVisited) {
+                        next = top.right();
+                    } else {
+                        lastVisited = pending.pop();
+                        return top.element;
+                    }
+                }
+            }
+        }
+    }
+
+    private class LevelOrderIterator extends TraversalIterator {
+        LevelOrderIterator() {
+            if (root != null)
+                pending.add(root);
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (pending.isEmpty())
+                throw new NoSuchElementException();
+            Node<E> node = pending.remove();
+            if (node.left() != null)
+                pending.add(node.left());
+            if (node.right() != null)
+                pending.add(node.right());
+            return node.element;
+        }
+    }
+
+    /**
+     * A spliterator for the pre-order and in-order traversals.
+     * <p>
+     * The elements still to be traversed are an optional head element followed by the pending
+     * nodes, first to last. In pre-order, a pending node stands for its whole subtree; in
+     * in-order, for its element followed by its right subtree (its left one has already been
+     * pushed). Either way, the weight of a pending node is known from the stored sizes, so
+     * splitting at a prefix of the pending nodes gives exact sizes.
+     */
+    private final class TraversalSpliterator implements Spliterator<E> {
+        private final boolean inOrder;
+        private final Deque<Node<E>> pending;
+        private boolean hasHead;
+        private E head;
+        private long remaining;
+        private final int expectedModCount;
+
+        TraversalSpliterator(boolean inOrder) {
+            this.inOrder = inOrder;
+            this.pending = new ArrayDeque<>();
+            this.remaining = size();
+            this.expectedModCount = owner.modCount;
+            if (inOrder)
+                pushLeftSpine(root);
+            else if (root != null)
+                pending.push(root);
+        }
+
+        private TraversalSpliterator(TraversalSpliterator parent, Deque<Node<E>> pending,
+                                     long remaining) {
+            this.inOrder = parent.inOrder;
+            this.pending = pending;
+            this.hasHead = parent.hasHead;
+            this.head = parent.head;
+            this.remaining = remaining;
+            this.expectedModCount = parent.expectedModCount;
+        }
+
+        private void pushLeftSpine(Node<E> node) {
+            for (; node != null; node = node.left())
+                pending.push(node);
+        }
+
+        private void pushChildren(Node<E> node) {
+            if (inOrder) {
+                pushLeftSpine(node.right());
+            } else {
+                if (node.right() != null)
+                    pending.push(node.right());
+                if (node.left() != null)
+                    pending.push(node.left());
+            }
+        }
+
+        private long weight(Node<E> node) {
+            return inOrder ? 1 + Node.size(node.right()) : node.size();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            if (owner.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            E element;
+            if (hasHead) {
+                element = head;
+                hasHead = false;
+                head = null;
+            } else if (!pending.isEmpty()) {
+                Node<E> node = pending.pop();
+                pushChildren(node);
+                element = node.element;
+            } else {
+                return false;
+            }
+            remaining--;
+            action.accept(element);
+            return true;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            if (remaining < 2)
+                return null;
+            if (!hasHead && pending.size() == 1) {
+                // Expose the element of the only pending node, so that its children can be split
+                Node<E> node = pending.pop();
+                pushChildren(node);
+                hasHead = true;
+                head = node.element;
+            }
+            Deque<Node<E>> prefix = new ArrayDeque<>();
+            long prefixSize = hasHead ? 1 : 0;
+            while (pending.size() > 1 && prefixSize < remaining / 2) {
+                Node<E> node = pending.removeFirst();
+                prefix.addLast(node);
+                prefixSize += weight(node);
+            }
+            TraversalSpliterator split = new TraversalSpliterator(this, prefix, prefixSize);
+            hasHead = false;
+            head = null;
+            remaining -= prefixSize;
+            return split;
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+
+    /**
+     * A cursor keeps the path from the root to its position in arrays that are reused, and only
+     * grow when it goes deeper than ever before.
+     */
+    private final class Cursor implements TreeCursor<E> {
+        // nodes[0..depth] are the nodes from the root to the position, and right[i] tells
+        // whether nodes[i + 1] is the right child of nodes[i]
+        @SuppressWarnings("unchecked")
+        private Node<E>[] nodes = (Node<E>[]) new Node<?>[16];
+        private boolean[] right = new boolean[16];
+        private int depth;
+        private int expectedModCount = owner.modCount;
+
+        Cursor() {
+            nodes[0] = root;
+        }
+
+        private Node<E> current() {
+            if (owner.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (nodes[0] != root) {
+                // The root has been copied, as it was shared with a clone, so the path is
+                // followed again from the copy
+                nodes[0] = root;
+                for (int i = 0; i < depth; i++)
+                    nodes[i + 1] = right[i] ? nodes[i].right() : nodes[i].left();
+            }
+            Node<E> node = nodes[depth];
+            if (node == null)
+                throw new NoSuchElementException("cursor over empty tree");
+            return node;
+        }
+
+        private boolean moveTo(Node<E> child, boolean isRight) {
+            if (child == null)
+                return false;
+            if (++depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, 2 * nodes.length);
+                right = Arrays.copyOf(right, 2 * right.length);
+            }
+            nodes[depth] = child;
+            right[depth - 1] = isRight;
+            return true;
+        }
+
+        /**
+         * Returns the node at the position, after copying the nodes on the path that are shared
+         * with a clone.
+         */
+        private Node<E> unsharePath() {
+            current();
+            Node<E> node = unshare();
+            nodes[0] = node;
+            TreeProbe probe = TreeProbe.start(TreeMetrics.Operation.COPY_ON_WRITE);
+            for (int i = 0; i < depth; i++) {
+                Node<E> child = right[i] ? node.right() : node.left();
+                if (child.shared) {
+                    if (probe != null)
+                        probe.nodesAllocated++;
+                    child = child.copy();
+                    if (right[i])
+                        node.setRight(child);
+                    else
+                        node.setLeft(child);
+                }
+                nodes[i + 1] = child;
+                node = child;
+            }
+            if (probe != null && probe.nodesAllocated > 0) {
+                probe.nodesVisited = depth + 1;
+                probe.end(LinkedBinaryTree.this.size());
+            }
+            return node;
+        }
+
+        private void updatePath() {
+            for (int i = depth; i >= 0; i--)
+                nodes[i].update();
+            updateAncestors();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return nodes[0] == null;
+        }
+
+        @Override
+        public E element() {
+            return current().element;
+        }
+
+        @Override
+        public int size() {
+            return nodes[0] == null ? 0 : current().size();
+        }
+
+        @Override
+        public int height() {
+            return nodes[0] == null ? -1 : current().height();
+        }
+
+        @Override
+        public int depth() {
+            return depth;
+        }
+
+        @Override
+        public boolean hasLeft() {
+            return nodes[0] != null && current().left() != null;
+        }
+
+        @Override
+        public boolean hasRight() {
+            return nodes[0] != null && current().right() != null;
+        }
+
+        @Override
+        public boolean moveLeft() {
+            return nodes[0] != null && moveTo(current().left(), false);
+        }
+
+        @Override
+        public boolean moveRight() {
+            return nodes[0] != null && moveTo(current().right(), true);
+        }
+
+        @Override
+        public boolean moveUp() {
+            if (depth == 0)
+                return false;
+            nodes[depth--] = null;
+            return true;
+        }
+
+        @Override
+        public void moveToRoot() {
+            while (depth > 0)
+                nodes[depth--] = null;
+        }
+
+        @Override
+        public E replaceElement(E newElement) {
+            Node<E> node = unsharePath();
+            E oldElement = node.element;
+            node.element = newElement;
+            updatePath();
+            return oldElement;
+        }
+
+        @Override
+        public void removeLeft() {
+            unsharePath().setLeft(null);
+            updatePath();
+            expectedModCount = ++owner.modCount;
+        }
+
+        @Override
+        public void removeRight() {
+            unsharePath().setRight(null);
+            updatePath();
+            expectedModCount = ++owner.modCount;
+        }
+    }
+
+    /**
+     * A batch keeps its modifications in a trie of their paths, so that the nodes shared by
+     * several paths are visited once when it is applied.
+     */
+    private final class Batch implements TreeBatch<E> {
+        private Edit<E> edits;
+
+        /**
+         * Returns the edit of the node at the path, adding the edits on the way to it.
+         */
+        private Edit<E> edit(TreePath path) {
+            Edit<E> edit = edits;
+            for (int i = 0; edit != null && i < path.depth(); i++) {
+                if (path.goesRight(i) ? edit.removesRight : edit.removesLeft)
+                    throw new NoSuchElementException("no node at path " + path
+                            + " after the removals of the batch");
+                edit = path.goesRight(i) ? edit.right : edit.left;
+            }
+            if (edits == null)
+                edits = new Edit<>(null, false, path);
+            edit = edits;
+            for (int i = 0; i < path.depth(); i++) {
+                boolean isRight = path.goesRight(i);
+                Edit<E> child = isRight ? edit.right : edit.left;
+                if (child == null) {
+                    child = new Edit<>(edit, isRight, path);
+                    if (isRight)
+                        edit.right = child;
+                    else
+                        edit.left = child;
+                }
+                edit = child;
+            }
+            return edit;
+        }
+
+        @Override
+        public TreeBatch<E> replaceElement(TreePath path, E newElement) {
+            Edit<E> edit = edit(path);
+            edit.replaces = true;
+            edit.element = newElement;
+            return this;
+        }
+
+        @Override
+        public TreeBatch<E> removeLeft(TreePath path) {
+            Edit<E> edit = edit(path);
+            edit.removesLeft = true;
+            edit.left = null;
+            return this;
+        }
+
+        @Override
+        public TreeBatch<E> removeRight(TreePath path) {
+            Edit<E> edit = edit(path);
+            edit.removesRight = true;
+            edit.right = null;
+            return this;
+        }
+
+        @Override
+        public void apply() {
+            if (edits == null)
+                return;
+            if (root == null)
+                throw new NoSuchElementException("no node at path " + edits.path);
+            // First the nodes at the edits, in pre-order, so that nothing is modified if some
+            // of them are missing. Copying the root does not modify the tree, and finds the
+            // current one if this subtree has been copied through another
+            Node<E> top = unshare();
+            List<Edit<E>> preOrder = new ArrayList<>();
+            Deque<Edit<E>> pending = new ArrayDeque<>();
+            pending.push(edits);
+            while (!pending.isEmpty()) {
+                Edit<E> edit = pending.pop();
+                Node<E> node = edit.parent == null ? top : edit.parent.child(edit.isRight);
+                if (node == null)
+                    throw new NoSuchElementException("no node at path " + edit.path);
+                edit.node = node;
+                preOrder.add(edit);
+                if (edit.right != null)
+                    pending.push(edit.right);
+                if (edit.left != null)
+                    pending.push(edit.left);
+            }
+            // Then the same nodes, copied if they are shared with a clone
+            boolean removes = false;
+            for (Edit<E> edit : preOrder) {
+                if (edit.parent != null && edit.node.shared) {
+                    edit.node = edit.node.copy();
+                    if (edit.isRight)
+                        edit.parent.node.setRight(edit.node);
+                    else
+                        edit.parent.node.setLeft(edit.node);
+                }
+                removes |= edit.removesLeft || edit.removesRight;
+            }
+            // And the edits, from the bottom up, so that each node is updated once
+            for (int i = preOrder.size() - 1; i >= 0; i--) {
+                Edit<E> edit = preOrder.get(i);
+                if (edit.replaces)
+                    edit.node.element = edit.element;
+                if (edit.removesLeft)
+                    edit.node.setLeft(null);
+                if (edit.removesRight)
+                    edit.node.setRight(null);
+                edit.node.update();
+            }
+            updateAncestors();
+            if (removes)
+                owner.modCount++;
+            edits = null;
+        }
+    }
+
+    /**
+     * An edit of a node in a {@link Batch}, which is also a node of the trie of the paths of the
+     * edits. The edits on the way to other edits may not modify their nodes.
+     */
+    private static final class Edit<E> {
+        final Edit<E> parent;
+        final boolean isRight;
+        // The first path recorded through this edit, to report it if it has no node
+        final TreePath path;
+        Edit<E> left;
+        Edit<E> right;
+        boolean replaces;
+        E element;
+        boolean removesLeft;
+        boolean removesRight;
+        // The node of the edit, once the batch is being applied
+        Node<E> node;
+
+        Edit(Edit<E> parent, boolean isRight, TreePath path) {
+            this.parent = parent;
+            this.isRight = isRight;
+            this.path = path;
+        }
+
+        Node<E> child(boolean isRight) {
+            return isRight ? node.right() : node.left();
+        }
+    }
+
+    // Methods overridden from Object
+
+    /**
+     * Returns {@code true} if both trees have the same elements and shape.
+     *
+     * @param o object to be compared for equality with this {@code LinkedBinaryTree}
+     * @return {@code true} if the specified object is equal to this {@code LinkedBinaryTree}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof LinkedBinaryTree<?> bt))
+            return false;
+
+        TreeProbe probe = TreeProbe.start(TreeMetrics.Operation.EQUALS);
+        boolean result = Node.equals(root, bt.root, probe);
+        if (probe != null)
+            probe.end(size());
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        // Same as Objects.hash(root), but without allocating
+        return 31 + Node.hash(root);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTo(sb);
+        } catch (IOException e) {
+            // this shouldn't happen, since StringBuilder does not throw it
+            throw new InternalError(e);
+        }
+        return sb.toString();
+    }
+
+    // Rendering
+
+    /**
+     * Writes the same text as {@link #toString()}, the smart constructor calls that build this
+     * tree, to the given {@code Appendable}. It takes time linear in the length of the text, and
+     * no recursion.
+     *
+     * @param out where the text is written
+     * @throws IOException if {@code out} throws it
+     */
+    public void writeTo(Appendable out) throws IOException {
+        writeTo(out, Long.MAX_VALUE);
+    }
+
+    /**
+     * Writes at most {@code limit} characters of the same text as {@link #toString()} to the
+     * given {@code Appendable}, stopping as soon as the limit is reached.
+     *
+     * @param out   where the text is written
+     * @param limit the maximum number of characters to write
+     * @return {@code true} if the whole text has been written, {@code false} if it has been
+     * truncated
+     * @throws IOException              if {@code out} throws it
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public boolean writeTo(Appendable out, long limit) throws IOException {
+        if (limit < 0)
+            throw new IllegalArgumentException("negative limit: " + limit);
+        TreeProbe probe = TreeProbe.start(TreeMetrics.Operation.RENDER);
+        Renderer renderer = new Renderer(out, limit);
+        boolean whole = renderer.render(root);
+        if (probe != null) {
+            probe.nodesVisited = renderer.nodesRendered;
+            probe.end(size());
+        }
+        return whole;
+    }
+
+    private static final class Renderer {
+        private final Appendable out;
+        private long remaining;
+        private long nodesRendered;
+
+        Renderer(Appendable out, long limit) {
+            this.out = Objects.requireNonNull(out);
+            this.remaining = limit;
+        }
+
+        /**
+         * Appends as much of the text as the limit allows, and returns {@code true} if it has been
+         * appended whole.
+         */
+        private boolean append(CharSequence text) throws IOException {
+            if (text.length() <= remaining) {
+                out.append(text);
+                remaining -= text.length();
+                return true;
+            }
+            out.append(text, 0, (int) remaining);
+            remaining = 0;
+            return false;
+        }
+
+        boolean render(Node<?> root) throws IOException {
+            if (root == null)
+                return append("mkLBT()");
+            // Each pending node records how far its rendering has gone: 0 not started, 1 left
+            // subtree rendered, 2 right subtree rendered
+            Node<?>[] nodes = new Node<?>[16];
+            byte[] states = new byte[16];
+            int top = 0;
+            nodes[0] = root;
+            while (top >= 0) {
+                Node<?> node = nodes[top];
+                Node<?> child = null;
+                if (states[top] == 0) {
+                    nodesRendered++;
+                    if (!append("mkLBT("))
+                        return false;
+                    if (node.left() != null) {
+                        states[top] = 1;
+                        child = node.left();
+                    }
+                }
+                if (child == null && states[top] <= 1) {
+                    if (node.left() != null && !append(", "))
+                        return false;
+                    if (!append(String.valueOf(node.element)))
+                        return false;
+                    if (node.right() != null) {
+                        if (!append(", "))
+                            return false;
+                        states[top] = 2;
+                        child = node.right();
+                    }
+                }
+                if (child != null) {
+                    if (++top == nodes.length) {
+                        nodes = Arrays.copyOf(nodes, 2 * nodes.length);
+                        states = Arrays.copyOf(states, 2 * states.length);
+                    }
+                    nodes[top] = child;
+                    states[top] = 0;
+                } else {
+                    if (!append(")"))
+                        return false;
+                    nodes[top--] = null;
+                }
+            }
+            return true;
+        }
+    }
+
+    // Cloneable implementation
+
+    /**
+     * Returns a copy of this binary tree in O(1). The copy shares its nodes with this tree until
+     * either of them is modified: only then are the modified node and the path above it copied.
+     *
+     * @return a copy of this binary tree
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public LinkedBinaryTree<E> clone()  {
+        if (root == null)
             // An empty tree is immutable so we can return this
             return this;
         try {
+            TreeProbe probe = TreeProbe.start(TreeMetrics.Operation.CLONE);
             LinkedBinaryTree<E> clone = (LinkedBinaryTree<E>) super.clone();
-            if (root != null) clone.root = root.clone();
+            root.shared = true;
+            clone.owner = clone;
+            clone.parent = null;
+            clone.modCount = 0;
+            if (probe != null)
+                probe.end(size());
             return clone;
         } catch (CloneNotSupportedException e) {
             // this shouldn't happen, since we are Cloneable
@@ -316,6 +1881,300 @@ public class LinkedBinaryTree<E> implements BinaryTree<E>, Cloneable {
         }
     }
 
+    // Bulk construction
+
+    /**
+     * The size from which {@link #fromSorted(List)} builds subtrees in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * Returns the binary tree with the given pre-order and in-order traversals. The elements must
+     * be distinct, as otherwise several trees may have these traversals and telling whether any
+     * has them is no longer linear. It takes O(n) time and no recursion.
+     *
+     * @param preOrder the elements of the tree in pre-order
+     * @param inOrder  the elements of the tree in in-order
+     * @param <E>      the type of elements in the binary tree
+     * @return the binary tree with the given pre-order and in-order traversals
+     * @throws IllegalArgumentException if some element is repeated, or no tree has the given
+     *                                  traversals
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> LinkedBinaryTree<E> fromPreOrderAndInOrder(List<? extends E> preOrder,
+                                                                 List<? extends E> inOrder) {
+        Object[] pre = preOrder.toArray();
+        Object[] in = inOrder.toArray();
+        if (pre.length != in.length)
+            throw new IllegalArgumentException("the traversals have different sizes");
+        int n = pre.length;
+        if (n == 0)
+            return mkLBT();
+        // Matching the elements of both traversals below needs them to be distinct
+        Set<Object> seen = new HashSet<>((int) (n / 0.75f) + 1);
+        for (Object element : pre)
+            if (!seen.add(element))
+                throw new IllegalArgumentException("repeated element: " + element);
+        TreeProbe probe = TreeProbe.start(TreeMetrics.Operation.BUILD);
+        // First the children of each node, as leaves and branches are different nodes. The
+        // stack has the nodes (by their positions in pre-order) that may still get a right
+        // child, deepest first. Each one is popped when its element is reached in in-order, as
+        // its left subtree is then complete.
+        boolean[] hasLeft = new boolean[n];
+        boolean[] hasRight = new boolean[n];
+        int[] pending = new int[n];
+        int top = 0;
+        int next = 0;
+        for (int i = 1; i < n; i++) {
+            if (top < 0 || next == n)
+                throw new IllegalArgumentException("the traversals are not of the same tree");
+            int parent = pending[top];
+            if (!Objects.equals(pre[parent], in[next])) {
+                hasLeft[parent] = true;
+            } else {
+                do {
+                    parent = pending[top--];
+                    next++;
+                } while (top >= 0 && next < n && Objects.equals(pre[pending[top]], in[next]));
+                hasRight[parent] = true;
+            }
+            pending[++top] = i;
+        }
+        // Then the nodes, in pre-order
+        PreOrderBuilder<E> builder = new PreOrderBuilder<>();
+        for (int i = 0; i < n; i++)
+            builder.add((E) pre[i], hasLeft[i], hasRight[i]);
+        LinkedBinaryTree<E> tree = builder.build();
+        if (!Arrays.equals(in, tree.inOrder().toArray()))
+            throw new IllegalArgumentException("the traversals are not of the same tree");
+        if (probe != null) {
+            probe.nodesVisited = probe.nodesAllocated = n;
+            probe.end(n);
+        }
+        return tree;
+    }
+
+    /**
+     * Returns the binary tree with the given level-order traversal, where a {@code null} marks a
+     * missing child: the first element is the root, and every element that is not {@code null}
+     * is followed, after those of the elements before it in the same level, by its left and
+     * right children. Trailing {@code null} markers may be omitted. For example,
+     * {@code [4, 1, 5, 2, 3]} and {@code [4, null, 5]} give {@code mkLBT(mkLBT(mkLBT(2), 1,
+     * mkLBT(3)), 4, mkLBT(5))} and {@code mkLBT(4, mkLBT(5))}. It takes O(n) time and no
+     * recursion.
+     *
+     * @param levelOrder the elements of the tree in level-order, with {@code null} markers
+     * @param <E>        the type of elements in the binary tree
+     * @return the binary tree with the given level-order traversal
+     * @throws IllegalArgumentException if some element has no parent
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> LinkedBinaryTree<E> fromLevelOrder(List<? extends E> levelOrder) {
+        Object[] level = levelOrder.toArray();
+        TreeProbe probe = TreeProbe.start(TreeMetrics.Operation.BUILD);
+        // First whether each node, numbered in level-order, has children, as leaves and
+        // branches are different nodes
+        boolean[] hasChildren = new boolean[level.length];
+        int count = 0;
+        int parent = 0;
+        int i = 0;
+        if (level.length > 0 && level[0] != null) {
+            count++;
+            i++;
+        }
+        for (; i < level.length && parent < count; parent++) {
+            if (level[i] != null) {
+                hasChildren[parent] = true;
+                count++;
+            }
+            if (++i < level.length && level[i] != null) {
+                hasChildren[parent] = true;
+                count++;
+            }
+            i++;
+        }
+        for (; i < level.length; i++)
+            if (level[i] != null)
+                throw new IllegalArgumentException("element without a parent: " + level[i]);
+        // Then the nodes, in level-order, linked to their parents
+        Node<E>[] nodes = (Node<E>[]) new Node<?>[count];
+        count = 0;
+        i = 0;
+        if (nodes.length > 0) {
+            nodes[0] = Node.unlinked((E) level[i++], hasChildren[0]);
+            count++;
+        }
+        for (parent = 0; count < nodes.length; parent++) {
+            if (level[i] != null) {
+                nodes[count] = Node.unlinked((E) level[i], hasChildren[count]);
+                nodes[parent].setLeft(nodes[count++]);
+            }
+            if (++i < level.length && level[i] != null) {
+                nodes[count] = Node.unlinked((E) level[i], hasChildren[count]);
+                nodes[parent].setRight(nodes[count++]);
+            }
+            i++;
+        }
+        // In level-order children come after their parents
+        for (int j = count - 1; j >= 0; j--)
+            nodes[j].update();
+        if (probe != null) {
+            probe.nodesVisited = probe.nodesAllocated = count;
+            probe.end(count);
+        }
+        return count == 0 ? mkLBT() : new LinkedBinaryTree<>(nodes[0], null, false);
+    }
+
+    /**
+     * Returns a perfectly balanced binary tree whose in-order traversal is the given list, so that
+     * a sorted list gives a balanced search tree. The root of every subtree is the middle element
+     * of its part of the list. It takes O(n) time and no recursion, and big lists are split among
+     * the threads of the common fork-join pool.
+     *
+     * @param sorted the elements of the tree in in-order
+     * @param <E>    the type of elements in the binary tree
+     * @return a perfectly balanced binary tree whose in-order traversal is the given list
+     */
+    public static <E> LinkedBinaryTree<E> fromSorted(List<? extends E> sorted) {
+        Object[] elements = sorted.toArray();
+        int n = elements.length;
+        TreeProbe probe = TreeProbe.start(TreeMetrics.Operation.BUILD);
+        Node<E> root = n <= PARALLEL_THRESHOLD
+                ? balanced(elements, 0, n)
+                : ForkJoinPool.commonPool().invoke(new BalancedTask<>(elements, 0, n));
+        if (probe != null) {
+            probe.nodesVisited = probe.nodesAllocated = n;
+            probe.end(n);
+        }
+        return root == null ? mkLBT() : new LinkedBinaryTree<>(root, null, false);
+    }
+
+    /**
+     * Returns the root of the balanced tree of the elements in [from, to), built in pre-order.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> Node<E> balanced(Object[] elements, int from, int to) {
+        if (from >= to)
+            return null;
+        PreOrderBuilder<E> builder = new PreOrderBuilder<>();
+        // The ranges still to be built. As the tree is balanced, its height, and so the number
+        // of pending ranges, is O(log n).
+        int[] froms = new int[64];
+        int[] tos = new int[64];
+        int top = 0;
+        froms[0] = from;
+        tos[0] = to;
+        while (top >= 0) {
+            int lo = froms[top];
+            int hi = tos[top--];
+            int mid = (lo + hi) >>> 1;
+            builder.add((E) elements[mid], lo < mid, mid + 1 < hi);
+            if (mid + 1 < hi) {
+                froms[++top] = mid + 1;
+                tos[top] = hi;
+            }
+            if (lo < mid) {
+                froms[++top] = lo;
+                tos[top] = mid;
+            }
+        }
+        return builder.root;
+    }
+
+    private static final class BalancedTask<E> extends RecursiveTask<Node<E>> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] elements;
+        private final int from;
+        private final int to;
+
+        BalancedTask(Object[] elements, int from, int to) {
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Node<E> compute() {
+            if (to - from <= PARALLEL_THRESHOLD)
+                return balanced(elements, from, to);
+            int mid = (from + to) >>> 1;
+            BalancedTask<E> left = new BalancedTask<>(elements, from, mid);
+            left.fork();
+            Node<E> right = new BalancedTask<E>(elements, mid + 1, to).compute();
+            return Node.of(left.join(), (E) elements[mid], right);
+        }
+    }
+
+    /**
+     * Builds a tree from its nodes given in pre-order, each one with its element and whether it
+     * has a left and a right child. No recursion is used, and the size, height and hash of each
+     * node are computed once, when its subtree is complete.
+     *
+     * @param <E> the type of elements in the binary tree
+     */
+    static final class PreOrderBuilder<E> {
+        private static final byte NEEDS_LEFT = 1;
+        private static final byte NEEDS_RIGHT = 2;
+
+        // The nodes whose subtrees are not complete yet, with the children they still need
+        @SuppressWarnings("unchecked")
+        private Node<E>[] nodes = (Node<E>[]) new Node<?>[16];
+        private byte[] needs = new byte[16];
+        private int top = -1;
+        private Node<E> root;
+
+        /**
+         * Adds the next node in pre-order.
+         *
+         * @throws IllegalStateException if the tree is already complete
+         */
+        void add(E element, boolean hasLeft, boolean hasRight) {
+            if (root != null && top < 0)
+                throw new IllegalStateException("the tree is already complete");
+            Node<E> node = Node.unlinked(element, hasLeft || hasRight);
+            if (top < 0) {
+                root = node;
+            } else if ((needs[top] & NEEDS_LEFT) != 0) {
+                nodes[top].setLeft(node);
+                needs[top] &= ~NEEDS_LEFT;
+            } else {
+                nodes[top].setRight(node);
+                needs[top] &= ~NEEDS_RIGHT;
+            }
+            if (++top == nodes.length) {
+                nodes = Arrays.copyOf(nodes, 2 * nodes.length);
+                needs = Arrays.copyOf(needs, 2 * needs.length);
+            }
+            nodes[top] = node;
+            needs[top] = (byte) ((hasLeft ? NEEDS_LEFT : 0) | (hasRight ? NEEDS_RIGHT : 0));
+            while (top >= 0 && needs[top] == 0) {
+                nodes[top].update();
+                nodes[top--] = null;
+            }
+        }
+
+        /**
+         * Returns {@code true} if the nodes added so far make a whole tree.
+         */
+        boolean isComplete() {
+            return root != null && top < 0;
+        }
+
+        /**
+         * Returns the tree built.
+         *
+         * @throws IllegalStateException if some node is still missing
+         */
+        LinkedBinaryTree<E> build() {
+            if (top >= 0)
+                throw new IllegalStateException("the tree is not complete");
+            return root == null ? mkLBT() : new LinkedBinaryTree<>(root, null, false);
+        }
+    }
+
     // Smart constructors
 
     private static final BinaryTree<?> UNTYPED_UNIQUE_EMPTY_TREE = new LinkedBinaryTree<>();
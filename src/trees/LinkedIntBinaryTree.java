@@ -0,0 +1,228 @@
+package trees;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A LinkedIntBinaryTree is an implementation of {@link IntBinaryTree} that uses a structure of
+ * linked nodes, like {@link LinkedBinaryTree} does, but stores its elements unboxed.
+ *
+ * @author Juan Manuel Gimeno Illa
+ * @see IntBinaryTree
+ */
+public class LinkedIntBinaryTree extends LinkedPrimitiveBinaryTree<LinkedIntBinaryTree.Node>
+        implements IntBinaryTree {
+
+    static final class Node extends PrimitiveNode<Node> {
+        int element;
+
+        Node(Node left, int element, Node right) {
+            super(left, right);
+            this.element = element;
+        }
+
+        @Override
+        boolean hasSameElement(Node other) {
+            return element == other.element;
+        }
+
+        @Override
+        int elementHash() {
+            return Integer.hashCode(element);
+        }
+
+        @Override
+        void appendElement(StringBuilder sb) {
+            sb.append(element);
+        }
+
+        @Override
+        Node copy() {
+            return new Node(left, element, right);
+        }
+    }
+
+    // Constructors
+
+    /**
+     * Creates an empty binary tree.
+     */
+    public LinkedIntBinaryTree() {
+        super(null, null, false);
+    }
+
+    /**
+     * Creates a binary tree with the given element as root and the given trees as left and right
+     * subtrees.
+     *
+     * @param elem  the element to be used as root
+     * @param left  the left subtree of the new tree. It can be {@code null} if an empty left
+     *              subtree is desired.
+     * @param right the right subtree of the new tree. It can {@code null} if an empty right
+     *              subtree is desired.
+     */
+    public LinkedIntBinaryTree(LinkedIntBinaryTree left, int elem, LinkedIntBinaryTree right) {
+        super(new Node(left == null ? null : left.root, elem, right == null ? null : right.root),
+                null, false);
+    }
+
+    private LinkedIntBinaryTree(Node root, LinkedIntBinaryTree parent, boolean isLeft) {
+        super(root, parent, isLeft);
+    }
+
+    @Override
+    String constructorName() {
+        return "mkIntLBT";
+    }
+
+    // Accessors
+
+    /**
+     * Returns the root element of this binary tree.
+     *
+     * @return the root element of this binary tree.
+     * @throws NoSuchElementException if this binary tree is empty.
+     */
+    @Override
+    public int root() {
+        if (root == null)
+            throw new NoSuchElementException("root of empty tree");
+
+        return root.element;
+    }
+
+    /**
+     * Returns the left subtree of this binary tree.
+     *
+     * @return the left subtree of this binary tree.
+     */
+    @Override
+    public LinkedIntBinaryTree left() {
+        if (root == null)
+            throw new NoSuchElementException("left child of empty tree");
+
+        return new LinkedIntBinaryTree(root.left, this, true);
+    }
+
+    /**
+     * Returns the right subtree of this binary tree.
+     *
+     * @return the right subtree of this binary tree.
+     */
+    @Override
+    public LinkedIntBinaryTree right() {
+        if (root == null)
+            throw new NoSuchElementException("right child of empty tree");
+
+        return new LinkedIntBinaryTree(root.right, this, false);
+    }
+
+    // Modifiers
+
+    @Override
+    public int replaceRoot(int newElement) {
+        if (root == null)
+            throw new NoSuchElementException("the empty tree has no root to replace");
+        int oldElement = root.element;
+        root.element = newElement;
+        return oldElement;
+    }
+
+    // Traversals
+
+    @Override
+    public void preOrder(int[] destination, int offset) {
+        Objects.checkFromIndexSize(offset, size(), destination.length);
+        int[] index = {offset};
+        PrimitiveNode.preOrder(root, node -> destination[index[0]++] = node.element);
+    }
+
+    @Override
+    public void inOrder(int[] destination, int offset) {
+        Objects.checkFromIndexSize(offset, size(), destination.length);
+        int[] index = {offset};
+        PrimitiveNode.inOrder(root, node -> destination[index[0]++] = node.element);
+    }
+
+    @Override
+    public void postOrder(int[] destination, int offset) {
+        Objects.checkFromIndexSize(offset, size(), destination.length);
+        int[] index = {offset};
+        PrimitiveNode.postOrder(root, node -> destination[index[0]++] = node.element);
+    }
+
+    @Override
+    public void levelOrder(int[] destination, int offset) {
+        Objects.checkFromIndexSize(offset, size(), destination.length);
+        int[] index = {offset};
+        PrimitiveNode.levelOrder(root, node -> destination[index[0]++] = node.element);
+    }
+
+    // Cloneable implementation
+
+    @Override
+    public LinkedIntBinaryTree clone() {
+        return (LinkedIntBinaryTree) super.clone();
+    }
+
+    // Smart constructors
+
+    private static final LinkedIntBinaryTree UNIQUE_EMPTY_TREE = new LinkedIntBinaryTree();
+
+    /**
+     * Returns an empty binary tree.
+     *
+     * @return an empty binary tree
+     */
+    public static LinkedIntBinaryTree mkIntLBT() {
+        // Only works because the empty tree is immutable !!!
+        return UNIQUE_EMPTY_TREE;
+    }
+
+    /**
+     * Returns a binary tree with the given element as root.
+     *
+     * @param elem the element to be used as root
+     * @return a binary tree with the given element as root and left and right empty
+     */
+    public static LinkedIntBinaryTree mkIntLBT(int elem) {
+        return new LinkedIntBinaryTree(null, elem, null);
+    }
+
+    /**
+     * Returns a binary tree with the given element as root and the given tree as left
+     *
+     * @param left the left subtree of the new tree.
+     * @param elem the element to be used as root
+     * @return a binary tree with the given element as root and the given tree as left and right
+     * empty
+     */
+    public static LinkedIntBinaryTree mkIntLBT(LinkedIntBinaryTree left, int elem) {
+        return new LinkedIntBinaryTree(left, elem, null);
+    }
+
+    /**
+     * Returns a binary tree with the given element as root and the given tree as right
+     *
+     * @param elem  the element to be used as root
+     * @param right the right subtree of the new tree.
+     * @return a binary tree with the given element as root and the given tree as right and left
+     * empty
+     */
+    public static LinkedIntBinaryTree mkIntLBT(int elem, LinkedIntBinaryTree right) {
+        return new LinkedIntBinaryTree(null, elem, right);
+    }
+
+    /**
+     * Returns a binary tree with the given element as root and the given trees as left and right
+     *
+     * @param left  the left subtree of the new tree.
+     * @param elem  the element to be used as root
+     * @param right the right subtree of the new tree.
+     * @return a binary tree with the given element as root and the given trees as left and right
+     */
+    public static LinkedIntBinaryTree mkIntLBT(LinkedIntBinaryTree left, int elem,
+                                               LinkedIntBinaryTree right) {
+        return new LinkedIntBinaryTree(left, elem, right);
+    }
+}
@@ -0,0 +1,228 @@
+package trees;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A LinkedLongBinaryTree is an implementation of {@link LongBinaryTree} that uses a structure of
+ * linked nodes, like {@link LinkedBinaryTree} does, but stores its elements unboxed.
+ *
+ * @author Juan Manuel Gimeno Illa
+ * @see LongBinaryTree
+ */
+public class LinkedLongBinaryTree extends LinkedPrimitiveBinaryTree<LinkedLongBinaryTree.Node>
+        implements LongBinaryTree {
+
+    static final class Node extends PrimitiveNode<Node> {
+        long element;
+
+        Node(Node left, long element, Node right) {
+            super(left, right);
+            this.element = element;
+        }
+
+        @Override
+        boolean hasSameElement(Node other) {
+            return element == other.element;
+        }
+
+        @Override
+        int elementHash() {
+            return Long.hashCode(element);
+        }
+
+        @Override
+        void appendElement(StringBuilder sb) {
+            sb.append(element);
+        }
+
+        @Override
+        Node copy() {
+            return new Node(left, element, right);
+        }
+    }
+
+    // Constructors
+
+    /**
+     * Creates an empty binary tree.
+     */
+    public LinkedLongBinaryTree() {
+        super(null, null, false);
+    }
+
+    /**
+     * Creates a binary tree with the given element as root and the given trees as left and right
+     * subtrees.
+     *
+     * @param elem  the element to be used as root
+     * @param left  the left subtree of the new tree. It can be {@code null} if an empty left
+     *              subtree is desired.
+     * @param right the right subtree of the new tree. It can {@code null} if an empty right
+     *              subtree is desired.
+     */
+    public LinkedLongBinaryTree(LinkedLongBinaryTree left, long elem, LinkedLongBinaryTree right) {
+        super(new Node(left == null ? null : left.root, elem, right == null ? null : right.root),
+                null, false);
+    }
+
+    private LinkedLongBinaryTree(Node root, LinkedLongBinaryTree parent, boolean isLeft) {
+        super(root, parent, isLeft);
+    }
+
+    @Override
+    String constructorName() {
+        return "mkLongLBT";
+    }
+
+    // Accessors
+
+    /**
+     * Returns the root element of this binary tree.
+     *
+     * @return the root element of this binary tree.
+     * @throws NoSuchElementException if this binary tree is empty.
+     */
+    @Override
+    public long root() {
+        if (root == null)
+            throw new NoSuchElementException("root of empty tree");
+
+        return root.element;
+    }
+
+    /**
+     * Returns the left subtree of this binary tree.
+     *
+     * @return the left subtree of this binary tree.
+     */
+    @Override
+    public LinkedLongBinaryTree left() {
+        if (root == null)
+            throw new NoSuchElementException("left child of empty tree");
+
+        return new LinkedLongBinaryTree(root.left, this, true);
+    }
+
+    /**
+     * Returns the right subtree of this binary tree.
+     *
+     * @return the right subtree of this binary tree.
+     */
+    @Override
+    public LinkedLongBinaryTree right() {
+        if (root == null)
+            throw new NoSuchElementException("right child of empty tree");
+
+        return new LinkedLongBinaryTree(root.right, this, false);
+    }
+
+    // Modifiers
+
+    @Override
+    public long replaceRoot(long newElement) {
+        if (root == null)
+            throw new NoSuchElementException("the empty tree has no root to replace");
+        long oldElement = root.element;
+        root.element = newElement;
+        return oldElement;
+    }
+
+    // Traversals
+
+    @Override
+    public void preOrder(long[] destination, int offset) {
+        Objects.checkFromIndexSize(offset, size(), destination.length);
+        int[] index = {offset};
+        PrimitiveNode.preOrder(root, node -> destination[index[0]++] = node.element);
+    }
+
+    @Override
+    public void inOrder(long[] destination, int offset) {
+        Objects.checkFromIndexSize(offset, size(), destination.length);
+        int[] index = {offset};
+        PrimitiveNode.inOrder(root, node -> destination[index[0]++] = node.element);
+    }
+
+    @Override
+    public void postOrder(long[] destination, int offset) {
+        Objects.checkFromIndexSize(offset, size(), destination.length);
+        int[] index = {offset};
+        PrimitiveNode.postOrder(root, node -> destination[index[0]++] = node.element);
+    }
+
+    @Override
+    public void levelOrder(long[] destination, int offset) {
+        Objects.checkFromIndexSize(offset, size(), destination.length);
+        int[] index = {offset};
+        PrimitiveNode.levelOrder(root, node -> destination[index[0]++] = node.element);
+    }
+
+    // Cloneable implementation
+
+    @Override
+    public LinkedLongBinaryTree clone() {
+        return (LinkedLongBinaryTree) super.clone();
+    }
+
+    // Smart constructors
+
+    private static final LinkedLongBinaryTree UNIQUE_EMPTY_TREE = new LinkedLongBinaryTree();
+
+    /**
+     * Returns an empty binary tree.
+     *
+     * @return an empty binary tree
+     */
+    public static LinkedLongBinaryTree mkLongLBT() {
+        // Only works because the empty tree is immutable !!!
+        return UNIQUE_EMPTY_TREE;
+    }
+
+    /**
+     * Returns a binary tree with the given element as root.
+     *
+     * @param elem the element to be used as root
+     * @return a binary tree with the given element as root and left and right empty
+     */
+    public static LinkedLongBinaryTree mkLongLBT(long elem) {
+        return new LinkedLongBinaryTree(null, elem, null);
+    }
+
+    /**
+     * Returns a binary tree with the given element as root and the given tree as left
+     *
+     * @param left the left subtree of the new tree.
+     * @param elem the element to be used as root
+     * @return a binary tree with the given element as root and the given tree as left and right
+     * empty
+     */
+    public static LinkedLongBinaryTree mkLongLBT(LinkedLongBinaryTree left, long elem) {
+        return new LinkedLongBinaryTree(left, elem, null);
+    }
+
+    /**
+     * Returns a binary tree with the given element as root and the given tree as right
+     *
+     * @param elem  the element to be used as root
+     * @param right the right subtree of the new tree.
+     * @return a binary tree with the given element as root and the given tree as right and left
+     * empty
+     */
+    public static LinkedLongBinaryTree mkLongLBT(long elem, LinkedLongBinaryTree right) {
+        return new LinkedLongBinaryTree(null, elem, right);
+    }
+
+    /**
+     * Returns a binary tree with the given element as root and the given trees as left and right
+     *
+     * @param left  the left subtree of the new tree.
+     * @param elem  the element to be used as root
+     * @param right the right subtree of the new tree.
+     * @return a binary tree with the given element as root and the given trees as left and right
+     */
+    public static LinkedLongBinaryTree mkLongLBT(LinkedLongBinaryTree left, long elem,
+                                                 LinkedLongBinaryTree right) {
+        return new LinkedLongBinaryTree(left, elem, right);
+    }
+}
@@ -0,0 +1,165 @@
+package trees;
+
+import java.util.NoSuchElementException;
+
+/**
+ * The structure shared by {@link LinkedIntBinaryTree} and {@link LinkedLongBinaryTree}, which
+ * only differ in the type of their elements: the root node, the tree the subtree was obtained
+ * from, and the methods that do not depend on the elements.
+ *
+ * @param <N> the type of the nodes
+ * @author Juan Manuel Gimeno Illa
+ */
+abstract class LinkedPrimitiveBinaryTree<N extends PrimitiveNode<N>> implements Cloneable {
+
+    /**
+     * The root of the binary tree.
+     */
+    N root;
+
+    /**
+     * The tree this one was obtained from by {@code left()} or {@code right()}, or {@code null}
+     * if it is a tree of its own. Modifiers follow this chain to update the nodes above.
+     */
+    private LinkedPrimitiveBinaryTree<N> parent;
+
+    /**
+     * Whether this tree is the left subtree of {@code parent}.
+     */
+    private boolean isLeft;
+
+    LinkedPrimitiveBinaryTree(N root, LinkedPrimitiveBinaryTree<N> parent, boolean isLeft) {
+        this.root = root;
+        this.parent = parent;
+        this.isLeft = isLeft;
+    }
+
+    /**
+     * Returns the name of the smart constructors of the trees, used by {@link #toString()}.
+     */
+    abstract String constructorName();
+
+    // Properties
+
+    /**
+     * Returns {@code true} if this binary tree is empty.
+     *
+     * @return {@code true} if this binary tree is empty.
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Returns the number of elements in this binary tree.
+     *
+     * @return the number of elements in this binary tree.
+     */
+    public int size() {
+        return PrimitiveNode.size(root);
+    }
+
+    /**
+     * Return the height of this binary tree.
+     *
+     * @return the height of this binary tree.
+     */
+    public int height() {
+        return PrimitiveNode.height(root);
+    }
+
+    // Modifiers
+
+    /**
+     * Removes the left subtree of this binary tree.
+     */
+    public void removeLeft() {
+        if (root == null)
+            throw new NoSuchElementException("Empty tree");
+        root.left = null;
+        root.update();
+        updateAncestors();
+    }
+
+    /**
+     * Removes the right subtree of this binary tree.
+     */
+    public void removeRight() {
+        if (root == null)
+            throw new NoSuchElementException("Empty tree");
+        root.right = null;
+        root.update();
+        updateAncestors();
+    }
+
+    /**
+     * Updates the sizes and heights of the nodes above the root of this tree after it has been
+     * modified. It stops at a subtree that has been removed from its parent, as the nodes above
+     * are no longer its ancestors.
+     */
+    private void updateAncestors() {
+        for (LinkedPrimitiveBinaryTree<N> tree = this; tree.parent != null; tree = tree.parent) {
+            N above = tree.parent.root;
+            if (above == null || (tree.isLeft ? above.left : above.right) != tree.root)
+                break;
+            above.update();
+        }
+    }
+
+    // Methods overridden from Object
+
+    /**
+     * Returns {@code true} if both trees have the same elements and shape.
+     *
+     * @param o object to be compared for equality with this tree
+     * @return {@code true} if the specified object is equal to this tree
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        return PrimitiveNode.equals(root, ((LinkedPrimitiveBinaryTree<N>) o).root);
+    }
+
+    @Override
+    public int hashCode() {
+        return PrimitiveNode.hashCode(root);
+    }
+
+    @Override
+    public String toString() {
+        if (root == null)
+            return constructorName() + "()";
+        StringBuilder sb = new StringBuilder();
+        PrimitiveNode.render(root, constructorName(), sb);
+        return sb.toString();
+    }
+
+    // Cloneable implementation
+
+    /**
+     * Returns a copy of this binary tree, which shares no nodes with it.
+     *
+     * @return a copy of this binary tree
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected LinkedPrimitiveBinaryTree<N> clone() {
+        if (root == null)
+            // An empty tree is immutable so we can return this
+            return this;
+        try {
+            LinkedPrimitiveBinaryTree<N> clone = (LinkedPrimitiveBinaryTree<N>) super.clone();
+            clone.root = PrimitiveNode.deepCopy(root);
+            clone.parent = null;
+            return clone;
+        } catch (CloneNotSupportedException e) {
+            // this shouldn't happen, since we are Cloneable
+            throw new InternalError(e);
+        }
+    }
+}
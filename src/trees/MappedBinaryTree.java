@@ -0,0 +1,761 @@
+package trees;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A MappedBinaryTree is an implementation of {@link BinaryTree} whose nodes live in a
+ * memory-mapped file instead of in the heap, so that trees larger than the heap can be used
+ * without putting pressure on the garbage collector.
+ * <p>
+ * The file holds a small header followed by one fixed-size record per node, laid out in pre-order
+ * as in {@link ArrayBinaryTree}: the positions of the left and right children, the size, the
+ * height and the element, encoded by an {@link ElementCodec}. Accessors and traversals read the
+ * records straight from the mapping, so a tree saved with {@link #write(BinaryTree, Path,
+ * ElementCodec)} is opened by {@link #open(Path, ElementCodec)} without reading it.
+ * <p>
+ * Modifications are written through to the mapping ({@link #force()} flushes them to the disk).
+ * As in {@link ArrayBinaryTree}, removing a subtree only unlinks it, and removals through the
+ * subtrees returned by {@link #left()} and {@link #right()} keep the sizes and heights of the
+ * nodes above up to date. The iterators are fail-fast
+ * only with respect to the modifications made through the trees opened from the same mapping.
+ *
+ * @param <E> the type of elements in the binary tree
+ * @author Juan Manuel Gimeno Illa
+ * @see BinaryTree
+ */
+public class MappedBinaryTree<E> implements BinaryTree<E> {
+
+    private static final int NIL = -1;
+
+    // Header layout
+    private static final int MAGIC = 0x54524545; // "TREE"
+    private static final int VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int WIDTH_OFFSET = 8;
+    private static final int COUNT_OFFSET = 12;
+    private static final int HEADER_SIZE = 32;
+
+    // Record layout (the element follows the fixed fields)
+    private static final int LEFT = 0;
+    private static final int RIGHT = 4;
+    private static final int SIZE = 8;
+    private static final int HEIGHT = 12;
+    private static final int ELEMENT = 16;
+
+    /**
+     * The maximum number of bytes mapped by a single buffer (a MappedByteBuffer cannot exceed
+     * 2 GiB).
+     */
+    private static final int CHUNK_SIZE = 1 << 30;
+
+    private static final class Mapping<E> {
+        final ElementCodec<E> codec;
+        final int recordSize;
+        final int recordsPerChunk;
+        final MappedByteBuffer header;
+        final MappedByteBuffer[] chunks;
+        int modCount;
+
+        Mapping(FileChannel channel, MapMode mode, ElementCodec<E> codec, int count, int chunkSize)
+                throws IOException {
+            this.codec = codec;
+            this.recordSize = ELEMENT + codec.width();
+            this.recordsPerChunk = Math.max(1, chunkSize / recordSize);
+            this.header = channel.map(mode, 0, HEADER_SIZE);
+            this.chunks = new MappedByteBuffer[(count + recordsPerChunk - 1) / recordsPerChunk];
+            for (int i = 0; i < chunks.length; i++) {
+                long first = (long) i * recordsPerChunk;
+                long records = Math.min(recordsPerChunk, count - first);
+                chunks[i] = channel.map(mode, HEADER_SIZE + first * recordSize,
+                        records * recordSize);
+            }
+        }
+
+        private ByteBuffer chunk(int node) {
+            return chunks[node / recordsPerChunk];
+        }
+
+        private int offset(int node) {
+            return (node % recordsPerChunk) * recordSize;
+        }
+
+        int left(int node) {
+            return chunk(node).getInt(offset(node) + LEFT);
+        }
+
+        int right(int node) {
+            return chunk(node).getInt(offset(node) + RIGHT);
+        }
+
+        int size(int node) {
+            return node == NIL ? 0 : chunk(node).getInt(offset(node) + SIZE);
+        }
+
+        int height(int node) {
+            return node == NIL ? -1 : chunk(node).getInt(offset(node) + HEIGHT);
+        }
+
+        E element(int node) {
+            return codec.read(chunk(node), offset(node) + ELEMENT);
+        }
+
+        void setLeft(int node, int left) {
+            chunk(node).putInt(offset(node) + LEFT, left);
+        }
+
+        void setRight(int node, int right) {
+            chunk(node).putInt(offset(node) + RIGHT, right);
+        }
+
+        void setSize(int node, int size) {
+            chunk(node).putInt(offset(node) + SIZE, size);
+        }
+
+        void setHeight(int node, int height) {
+            chunk(node).putInt(offset(node) + HEIGHT, height);
+        }
+
+        /**
+         * Recomputes the size and height of the given node from those of its children.
+         */
+        void update(int node) {
+            int left = left(node);
+            int right = right(node);
+            setSize(node, 1 + size(left) + size(right));
+            setHeight(node, 1 + Math.max(height(left), height(right)));
+        }
+
+        void setElement(int node, E element) {
+            codec.write(chunk(node), offset(node) + ELEMENT, element);
+        }
+
+        void force() {
+            for (MappedByteBuffer chunk : chunks)
+                chunk.force();
+            header.force();
+        }
+    }
+
+    /**
+     * The mapping shared by this tree and the trees it is a subtree of.
+     */
+    private final Mapping<E> mapping;
+
+    /**
+     * The position of the root of this tree in the mapping, or {@code NIL} if it is empty.
+     */
+    private final int root;
+
+    /**
+     * The tree this one was obtained from by {@link #left()} or {@link #right()}, or {@code null}
+     * if it is a tree of its own. Modifiers follow this chain to update the nodes above.
+     */
+    private final MappedBinaryTree<E> parent;
+
+    /**
+     * Whether this tree is the left subtree of {@code parent}.
+     */
+    private final boolean isLeft;
+
+    private MappedBinaryTree(Mapping<E> mapping, int root) {
+        this(mapping, root, null, false);
+    }
+
+    private MappedBinaryTree(Mapping<E> mapping, int root, MappedBinaryTree<E> parent,
+                             boolean isLeft) {
+        this.mapping = mapping;
+        this.root = root;
+        this.parent = parent;
+        this.isLeft = isLeft;
+    }
+
+    // Saving and opening
+
+    /**
+     * Saves the given tree into a file, replacing its contents, and returns the tree mapped from
+     * it.
+     *
+     * @param tree  the tree to save
+     * @param path  the file to save the tree into
+     * @param codec the codec for the elements of the tree
+     * @param <E>   the type of elements in the binary tree
+     * @return the saved tree, mapped from the file
+     * @throws IOException if an I/O error occurs
+     */
+    public static <E> MappedBinaryTree<E> write(BinaryTree<? extends E> tree, Path path,
+                                                ElementCodec<E> codec) throws IOException {
+        return write(tree, path, codec, CHUNK_SIZE);
+    }
+
+    static <E> MappedBinaryTree<E> write(BinaryTree<? extends E> tree, Path path,
+                                         ElementCodec<E> codec, int chunkSize)
+            throws IOException {
+        int count = tree.size();
+        Mapping<E> mapping;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long length = HEADER_SIZE + (long) count * (ELEMENT + codec.width());
+            channel.write(ByteBuffer.allocate(1), length - 1);
+            mapping = new Mapping<>(channel, MapMode.READ_WRITE, codec, count, chunkSize);
+        }
+        if (count > 0) {
+            int written = writeRecords(tree, mapping);
+            // As nodes are laid out in pre-order, children always come after their parent
+            for (int node = written - 1; node >= 0; node--)
+                mapping.update(node);
+        }
+        // The magic number goes last, so that a partially written file is never opened
+        mapping.header.putInt(VERSION_OFFSET, VERSION);
+        mapping.header.putInt(WIDTH_OFFSET, codec.width());
+        mapping.header.putInt(COUNT_OFFSET, count);
+        mapping.header.putInt(MAGIC_OFFSET, MAGIC);
+        mapping.force();
+        return new MappedBinaryTree<>(mapping, count == 0 ? NIL : 0);
+    }
+
+    private static <E> int writeRecords(BinaryTree<? extends E> tree, Mapping<E> mapping) {
+        // Pending subtrees with the position of their parent (NIL for the root); a negative
+        // parent -p - 2 means that the subtree is the left child of p
+        Deque<BinaryTree<? extends E>> pending = new ArrayDeque<>();
+        int[] parents = new int[tree.height() + 2];
+        int top = 0;
+        pending.push(tree);
+        parents[0] = NIL;
+        int next = 0;
+        while (!pending.isEmpty()) {
+            BinaryTree<? extends E> subtree = pending.pop();
+            int parent = parents[top--];
+            int node = next++;
+            mapping.setElement(node, subtree.root());
+            mapping.setLeft(node, NIL);
+            mapping.setRight(node, NIL);
+            if (parent < NIL)
+                mapping.setLeft(-parent - 2, node);
+            else if (parent != NIL)
+                mapping.setRight(parent, node);
+            BinaryTree<? extends E> right = subtree.right();
+            if (!right.isEmpty()) {
+                pending.push(right);
+                parents[++top] = node;
+            }
+            BinaryTree<? extends E> left = subtree.left();
+            if (!left.isEmpty()) {
+                pending.push(left);
+                parents[++top] = -node - 2;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Maps the tree saved in the given file. Only the header is read: nodes are read from the
+     * mapping when they are accessed.
+     *
+     * @param path  the file the tree was saved into
+     * @param codec the codec for the elements of the tree
+     * @param <E>   the type of elements in the binary tree
+     * @return the tree mapped from the file
+     * @throws IOException if an I/O error occurs or the file does not hold a tree saved with
+     *                     a codec of the same width
+     */
+    public static <E> MappedBinaryTree<E> open(Path path, ElementCodec<E> codec)
+            throws IOException {
+        return open(path, codec, CHUNK_SIZE);
+    }
+
+    static <E> MappedBinaryTree<E> open(Path path, ElementCodec<E> codec, int chunkSize)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining())
+                if (channel.read(header, header.position()) < 0)
+                    throw new IOException("not a tree file: " + path);
+            if (header.getInt(MAGIC_OFFSET) != MAGIC)
+                throw new IOException("not a tree file: " + path);
+            if (header.getInt(VERSION_OFFSET) != VERSION)
+                throw new IOException("unsupported tree file version: " + path);
+            if (header.getInt(WIDTH_OFFSET) != codec.width())
+                throw new IOException("elements of width %d, not %d: %s".formatted(
+                        header.getInt(WIDTH_OFFSET), codec.width(), path));
+            int count = header.getInt(COUNT_OFFSET);
+            // Mapping a READ_WRITE region past the end of the file would silently grow it
+            if (count < 0 || HEADER_SIZE + (long) count * (ELEMENT + codec.width())
+                    > channel.size())
+                throw new IOException("truncated tree file of %d nodes: %s".formatted(
+                        count, path));
+            Mapping<E> mapping = new Mapping<>(channel, MapMode.READ_WRITE, codec, count,
+                    chunkSize);
+            return new MappedBinaryTree<>(mapping, count == 0 ? NIL : 0);
+        }
+    }
+
+    /**
+     * Forces the modifications made to this tree to be written to the file.
+     */
+    public void force() {
+        mapping.force();
+    }
+
+    // Accessors
+
+    /**
+     * Returns the root element of this binary tree.
+     *
+     * @return the root element of this binary tree.
+     * @throws NoSuchElementException if this binary tree is empty.
+     */
+    @Override
+    public E root() {
+        if (root == NIL)
+            throw new NoSuchElementException("root of empty tree");
+
+        return mapping.element(root);
+    }
+
+    /**
+     * Returns the left subtree of this binary tree.
+     *
+     * @return the left subtree of this binary tree.
+     */
+    @Override
+    public MappedBinaryTree<E> left() {
+        if (root == NIL)
+            throw new NoSuchElementException("left child of empty tree");
+
+        return new MappedBinaryTree<>(mapping, mapping.left(root), this, true);
+    }
+
+    /**
+     * Returns the right subtree of this binary tree.
+     *
+     * @return the right subtree of this binary tree.
+     */
+    @Override
+    public MappedBinaryTree<E> right() {
+        if (root == NIL)
+            throw new NoSuchElementException("right child of empty tree");
+
+        return new MappedBinaryTree<>(mapping, mapping.right(root), this, false);
+    }
+
+    // Properties
+
+    /**
+     * Returns {@code true} if this binary tree is empty.
+     *
+     * @return {@code true} if this binary tree is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return root == NIL;
+    }
+
+    /**
+     * Returns the number of elements in this binary tree.
+     *
+     * @return the number of elements in this binary tree.
+     */
+    @Override
+    public int size() {
+        return mapping.size(root);
+    }
+
+    /**
+     * Return the height of this binary tree.
+     *
+     * @return the height of this binary tree.
+     */
+    @Override
+    public int height() {
+        return mapping.height(root);
+    }
+
+    // Modifiers
+
+    @Override
+    public E replaceRoot(E newElement) {
+        if (root == NIL)
+            throw new NoSuchElementException("the empty tree has no root to replace");
+        E oldElement = mapping.element(root);
+        mapping.setElement(root, newElement);
+        return oldElement;
+    }
+
+    /**
+     * Removes the left subtree of this binary tree.
+     */
+    @Override
+    public void removeLeft() {
+        if (root == NIL)
+            throw new NoSuchElementException("Empty tree");
+        int left = mapping.left(root);
+        if (left != NIL) {
+            mapping.setLeft(root, NIL);
+            mapping.update(root);
+            updateAncestors();
+        }
+        mapping.modCount++;
+    }
+
+    /**
+     * Removes the right subtree of this binary tree.
+     */
+    @Override
+    public void removeRight() {
+        if (root == NIL)
+            throw new NoSuchElementException("Empty tree");
+        int right = mapping.right(root);
+        if (right != NIL) {
+            mapping.setRight(root, NIL);
+            mapping.update(root);
+            updateAncestors();
+        }
+        mapping.modCount++;
+    }
+
+    /**
+     * Updates the sizes and heights of the nodes above the root of this tree after a subtree has
+     * been removed from it. It stops at a subtree that has been removed from its parent, as the
+     * nodes above are no longer its ancestors.
+     */
+    private void updateAncestors() {
+        for (MappedBinaryTree<E> tree = this; tree.parent != null; tree = tree.parent) {
+            int above = tree.parent.root;
+            if ((tree.isLeft ? mapping.left(above) : mapping.right(above)) != tree.root)
+                break;
+            mapping.update(above);
+        }
+    }
+
+    // Traversals
+
+    /**
+     * Returns the elements of this binary tree in pre-order.
+     *
+     * @return the elements of this binary tree in pre-order.
+     */
+    @Override
+    public List<E> preOrder() {
+        List<E> result = new ArrayList<>(size());
+        preOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns the elements of this binary tree in in-order.
+     *
+     * @return the elements of this binary tree in in-order.
+     */
+    @Override
+    public List<E> inOrder() {
+        List<E> result = new ArrayList<>(size());
+        inOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns the elements of this binary tree in post-order.
+     *
+     * @return the elements of this binary tree in post-order.
+     */
+    @Override
+    public List<E> postOrder() {
+        List<E> result = new ArrayList<>(size());
+        postOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns the elements of this binary tree in level-order.
+     *
+     * @return the elements of this binary tree in level-order.
+     */
+    @Override
+    public List<E> levelOrder() {
+        List<E> result = new ArrayList<>(size());
+        levelOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in pre-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in pre-order.
+     */
+    @Override
+    public Iterator<E> preOrderIterator() {
+        return new PreOrderIterator();
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in in-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in in-order.
+     */
+    @Override
+    public Iterator<E> inOrderIterator() {
+        return new InOrderIterator();
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in post-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in post-order.
+     */
+    @Override
+    public Iterator<E> postOrderIterator() {
+        return new PostOrderIterator();
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in level-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in level-order.
+     */
+    @Override
+    public Iterator<E> levelOrderIterator() {
+        return new LevelOrderIterator();
+    }
+
+    // The iterators are those of ArrayBinaryTree, reading the nodes from the mapping
+
+    private abstract class TraversalIterator implements Iterator<E> {
+        final int[] pending;
+        int top = -1;
+        private final int expectedModCount = mapping.modCount;
+
+        TraversalIterator(int capacity) {
+            pending = new int[capacity];
+        }
+
+        final void checkForComodification() {
+            if (mapping.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return top >= 0;
+        }
+    }
+
+    private class PreOrderIterator extends TraversalIterator {
+        PreOrderIterator() {
+            super(height() + 1);
+            if (root != NIL)
+                pending[++top] = root;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (top < 0)
+                throw new NoSuchElementException();
+            int node = pending[top--];
+            int right = mapping.right(node);
+            if (right != NIL)
+                pending[++top] = right;
+            int left = mapping.left(node);
+            if (left != NIL)
+                pending[++top] = left;
+            return mapping.element(node);
+        }
+    }
+
+    private class InOrderIterator extends TraversalIterator {
+        InOrderIterator() {
+            super(height() + 1);
+            pushLeftSpine(root);
+        }
+
+        private void pushLeftSpine(int node) {
+            for (; node != NIL; node = mapping.left(node))
+                pending[++top] = node;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (top < 0)
+                throw new NoSuchElementException();
+            int node = pending[top--];
+            pushLeftSpine(mapping.right(node));
+            return mapping.element(node);
+        }
+    }
+
+    private class PostOrderIterator extends TraversalIterator {
+        private int next = root;
+        private int lastVisited = NIL;
+
+        PostOrderIterator() {
+            super(height() + 1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != NIL || top >= 0;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (!hasNext())
+                throw new NoSuchElementException();
+            while (true) {
+                if (next != NIL) {
+                    pending[++top] = next;
+                    next = mapping.left(next);
+                } else {
+                    int node = pending[top];
+                    int right = mapping.right(node);
+                    if (right != NIL && right != lastVisited) {
+                        next = right;
+                    } else {
+                        lastVisited = pending[top--];
+                        return mapping.element(node);
+                    }
+                }
+            }
+        }
+    }
+
+    private class LevelOrderIterator extends TraversalIterator {
+        // A ring buffer, doubled when full, so that the queue only grows to about the widest
+        // level and not to the size of a tree that may not fit in the heap
+        private int[] queue = new int[16];
+        private int head = 0;
+        private int count = 0;
+
+        LevelOrderIterator() {
+            super(0);
+            if (root != NIL)
+                enqueue(root);
+        }
+
+        private void enqueue(int node) {
+            if (count == queue.length) {
+                int[] grown = new int[2 * queue.length];
+                int first = queue.length - head;
+                System.arraycopy(queue, head, grown, 0, first);
+                System.arraycopy(queue, 0, grown, first, head);
+                queue = grown;
+                head = 0;
+            }
+            queue[(head + count++) & (queue.length - 1)] = node;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return count > 0;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (count == 0)
+                throw new NoSuchElementException();
+            int node = queue[head];
+            head = (head + 1) & (queue.length - 1);
+            count--;
+            int left = mapping.left(node);
+            if (left != NIL)
+                enqueue(left);
+            int right = mapping.right(node);
+            if (right != NIL)
+                enqueue(right);
+            return mapping.element(node);
+        }
+    }
+
+    // Methods overridden from Object
+
+    /**
+     * Returns {@code true} if both trees have the same elements and shape.
+     *
+     * @param o object to be compared for equality with this {@code MappedBinaryTree}
+     * @return {@code true} if the specified object is equal to this {@code MappedBinaryTree}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof MappedBinaryTree<?> bt))
+            return false;
+        if (size() != bt.size())
+            return false;
+        if (root == NIL)
+            return true;
+
+        // Both trees are traversed in pre-order at the same time
+        Mapping<?> other = bt.mapping;
+        int[] nodes1 = new int[height() + 1];
+        int[] nodes2 = new int[nodes1.length];
+        int top = 0;
+        nodes1[0] = root;
+        nodes2[0] = bt.root;
+        while (top >= 0) {
+            int node1 = nodes1[top];
+            int node2 = nodes2[top--];
+            int left1 = mapping.left(node1), left2 = other.left(node2);
+            int right1 = mapping.right(node1), right2 = other.right(node2);
+            if (mapping.size(node1) != other.size(node2)
+                    || !Objects.equals(mapping.element(node1), other.element(node2))
+                    || (left1 == NIL) != (left2 == NIL)
+                    || (right1 == NIL) != (right2 == NIL))
+                return false;
+            if (right1 != NIL) {
+                nodes1[++top] = right1;
+                nodes2[top] = right2;
+            }
+            if (left1 != NIL) {
+                nodes1[++top] = left1;
+                nodes2[top] = left2;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // Combines the elements in pre-order with the shape of each node, as ArrayBinaryTree
+        int result = 1;
+        int[] pending = new int[height() + 1];
+        int top = -1;
+        if (root != NIL)
+            pending[++top] = root;
+        while (top >= 0) {
+            int node = pending[top--];
+            int left = mapping.left(node);
+            int right = mapping.right(node);
+            int shape = (left != NIL ? 2 : 0) + (right != NIL ? 1 : 0);
+            result = 31 * (31 * result + Objects.hashCode(mapping.element(node))) + shape;
+            if (right != NIL)
+                pending[++top] = right;
+            if (left != NIL)
+                pending[++top] = left;
+        }
+        return result;
+    }
+
+    /**
+     * Returns a short description of this tree. Mapped trees are usually too big to be rendered
+     * in full.
+     *
+     * @return a short description of this tree
+     */
+    @Override
+    public String toString() {
+        return "MappedBinaryTree(size=%d, height=%d)".formatted(size(), height());
+    }
+}
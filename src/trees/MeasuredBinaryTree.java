@@ -0,0 +1,631 @@
+package trees;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A MeasuredBinaryTree is a linked implementation of {@link BinaryTree} that keeps, in every node,
+ * a summary of the elements of its subtree, as {@link LinkedBinaryTree} keeps their number. The
+ * summary of an element is given by a measure function, and those of a subtree are combined, in
+ * in-order, by a {@link Monoid}: e.g. the sum of the weights of the elements, or the maximum of
+ * their priorities.
+ * <p>
+ * Summaries are computed when the tree is built, and recomputed on the path up to the root when it
+ * is modified, also through the subtrees returned by {@link #left()} and {@link #right()}, so
+ * that {@link #summary()} is always O(1), and {@link #search(Predicate)} skips the subtrees whose
+ * summaries tell that they have nothing to be found.
+ *
+ * @param <E> the type of elements in the binary tree
+ * @param <S> the type of the summaries
+ * @author Juan Manuel Gimeno Illa
+ * @see Monoid
+ */
+public class MeasuredBinaryTree<E, S> implements BinaryTree<E> {
+
+    private final Monoid<S> monoid;
+    private final Function<? super E, ? extends S> measure;
+
+    /**
+     * The root of the binary tree.
+     */
+    private Node<E, S> root;
+
+    /**
+     * The tree whose structural modifications are tracked by this one, as in
+     * {@link LinkedBinaryTree}.
+     */
+    private final MeasuredBinaryTree<E, S> owner;
+
+    /**
+     * The number of times the owner has been structurally modified. Used to make the iterators
+     * fail-fast.
+     */
+    private int modCount;
+
+    /**
+     * The tree this one was obtained from by {@link #left()} or {@link #right()}, or {@code null}
+     * if it is a tree of its own. Modifiers follow this chain to update the summaries above.
+     */
+    private final MeasuredBinaryTree<E, S> parent;
+
+    /**
+     * Whether this tree is the left subtree of {@code parent}.
+     */
+    private final boolean isLeft;
+
+    private static final class Node<E, S> {
+        Node<E, S> left;
+        E element;
+        Node<E, S> right;
+        int size;
+        int height;
+        S summary;
+
+        Node(Node<E, S> left, E element, Node<E, S> right) {
+            this.left = left;
+            this.element = element;
+            this.right = right;
+        }
+
+        static int size(Node<?, ?> node) {
+            return node == null ? 0 : node.size;
+        }
+
+        static int height(Node<?, ?> node) {
+            return node == null ? -1 : node.height;
+        }
+    }
+
+    // Constructors
+
+    /**
+     * Creates an empty binary tree whose subtrees are summarized by the given monoid and measure.
+     *
+     * @param monoid  the monoid that combines the summaries
+     * @param measure the function that gives the summary of an element
+     */
+    public MeasuredBinaryTree(Monoid<S> monoid, Function<? super E, ? extends S> measure) {
+        this.monoid = Objects.requireNonNull(monoid);
+        this.measure = Objects.requireNonNull(measure);
+        this.root = null;
+        this.owner = this;
+        this.parent = null;
+        this.isLeft = false;
+    }
+
+    /**
+     * Creates a binary tree with the given element as root and the given trees as left and right
+     * subtrees. Their nodes are linked, not copied, so they should not be modified afterwards.
+     *
+     * @param left  the left subtree of the new tree
+     * @param elem  the element to be used as root
+     * @param right the right subtree of the new tree
+     * @throws IllegalArgumentException if the subtrees are summarized by different monoids or
+     *                                  measures
+     */
+    public MeasuredBinaryTree(MeasuredBinaryTree<E, S> left, E elem,
+                              MeasuredBinaryTree<E, S> right) {
+        if (left.monoid != right.monoid || left.measure != right.measure)
+            throw new IllegalArgumentException("subtrees with different summaries");
+        this.monoid = left.monoid;
+        this.measure = left.measure;
+        this.root = new Node<>(left.root, elem, right.root);
+        update(root);
+        this.owner = this;
+        this.parent = null;
+        this.isLeft = false;
+    }
+
+    private MeasuredBinaryTree(MeasuredBinaryTree<E, S> parent, Node<E, S> root, boolean isLeft) {
+        this.monoid = parent.monoid;
+        this.measure = parent.measure;
+        this.root = root;
+        this.owner = parent.owner;
+        this.parent = parent;
+        this.isLeft = isLeft;
+    }
+
+    /**
+     * Returns a MeasuredBinaryTree with the same elements and shape as the given tree, whose
+     * subtrees are summarized by the given monoid and measure. It takes O(n) time and no
+     * recursion.
+     *
+     * @param tree    the tree to copy
+     * @param monoid  the monoid that combines the summaries
+     * @param measure the function that gives the summary of an element
+     * @param <E>     the type of elements in the binary tree
+     * @param <S>     the type of the summaries
+     * @return a MeasuredBinaryTree with the same elements and shape as the given tree
+     */
+    public static <E, S> MeasuredBinaryTree<E, S> copyOf(BinaryTree<? extends E> tree,
+                                                         Monoid<S> monoid,
+                                                         Function<? super E, ? extends S> measure) {
+        MeasuredBinaryTree<E, S> copy = new MeasuredBinaryTree<>(monoid, measure);
+        if (tree.isEmpty())
+            return copy;
+        // Nodes must be summarized bottom-up, so the subtrees are first listed in reverse
+        // post-order, as in PersistentBinaryTree
+        Deque<BinaryTree<? extends E>> pending = new ArrayDeque<>();
+        Deque<BinaryTree<? extends E>> postOrder = new ArrayDeque<>(tree.size());
+        pending.push(tree);
+        while (!pending.isEmpty()) {
+            BinaryTree<? extends E> subtree = pending.pop();
+            postOrder.push(subtree);
+            if (!subtree.left().isEmpty())
+                pending.push(subtree.left());
+            if (!subtree.right().isEmpty())
+                pending.push(subtree.right());
+        }
+        Deque<Node<E, S>> built = new ArrayDeque<>();
+        while (!postOrder.isEmpty()) {
+            BinaryTree<? extends E> subtree = postOrder.pop();
+            Node<E, S> right = subtree.right().isEmpty() ? null : built.pop();
+            Node<E, S> left = subtree.left().isEmpty() ? null : built.pop();
+            Node<E, S> node = new Node<>(left, subtree.root(), right);
+            copy.update(node);
+            built.push(node);
+        }
+        copy.root = built.pop();
+        return copy;
+    }
+
+    // Summaries
+
+    /**
+     * Recomputes the size, height and summary of the given node from those of its children.
+     */
+    private void update(Node<E, S> node) {
+        node.size = 1 + Node.size(node.left) + Node.size(node.right);
+        node.height = 1 + Math.max(Node.height(node.left), Node.height(node.right));
+        node.summary = monoid.combine(
+                monoid.combine(summary(node.left), measure.apply(node.element)),
+                summary(node.right));
+    }
+
+    private S summary(Node<E, S> node) {
+        return node == null ? monoid.identity() : node.summary;
+    }
+
+    /**
+     * Updates the nodes above the root of this tree after it has been modified, following the
+     * chain of subtrees up to the tree it was obtained from. It stops at a subtree whose position
+     * has been removed from its parent, as the nodes above are no longer its ancestors.
+     */
+    private void updateAncestors() {
+        MeasuredBinaryTree<E, S> below = this;
+        for (MeasuredBinaryTree<E, S> tree = parent; tree != null; tree = tree.parent) {
+            Node<E, S> node = tree.root;
+            if ((below.isLeft ? node.left : node.right) != below.root)
+                return;
+            update(node);
+            below = tree;
+        }
+    }
+
+    /**
+     * Returns the summary of the elements of this binary tree, the identity of the monoid if it
+     * is empty, in O(1).
+     *
+     * @return the summary of the elements of this binary tree.
+     */
+    public S summary() {
+        return summary(root);
+    }
+
+    /**
+     * Returns the first element, in in-order, whose measure satisfies the given predicate. The
+     * predicate must also be satisfied by the summary of every subtree that has such an element,
+     * as the subtrees whose summaries do not satisfy it are skipped: e.g. with the maximum of
+     * the priorities, {@code s -> s >= p} finds the first element of priority at least
+     * {@code p}. If the predicate is only satisfied by those subtrees, the search takes
+     * O(height); otherwise, it also descends into the subtrees that the predicate lets through
+     * in vain.
+     *
+     * @param predicate the predicate on summaries
+     * @return the first element whose measure satisfies the predicate, or an empty
+     * {@code Optional} if there is none (or the element found is {@code null}).
+     */
+    public Optional<E> search(Predicate<? super S> predicate) {
+        Objects.requireNonNull(predicate);
+        // The nodes whose element and right subtree are still to be looked at
+        Deque<Node<E, S>> pending = new ArrayDeque<>();
+        Node<E, S> node = root;
+        while (true) {
+            for (; node != null && predicate.test(node.summary); node = node.left)
+                pending.push(node);
+            if (pending.isEmpty())
+                return Optional.empty();
+            node = pending.pop();
+            if (predicate.test(measure.apply(node.element)))
+                return Optional.ofNullable(node.element);
+            node = node.right;
+        }
+    }
+
+    // Accessors
+
+    /**
+     * Returns the root element of this binary tree.
+     *
+     * @return the root element of this binary tree.
+     * @throws NoSuchElementException if this binary tree is empty.
+     */
+    @Override
+    public E root() {
+        if (root == null)
+            throw new NoSuchElementException("root of empty tree");
+
+        return root.element;
+    }
+
+    /**
+     * Returns the left subtree of this binary tree.
+     *
+     * @return the left subtree of this binary tree.
+     */
+    @Override
+    public MeasuredBinaryTree<E, S> left() {
+        if (root == null)
+            throw new NoSuchElementException("left child of empty tree");
+
+        return new MeasuredBinaryTree<>(this, root.left, true);
+    }
+
+    /**
+     * Returns the right subtree of this binary tree.
+     *
+     * @return the right subtree of this binary tree.
+     */
+    @Override
+    public MeasuredBinaryTree<E, S> right() {
+        if (root == null)
+            throw new NoSuchElementException("right child of empty tree");
+
+        return new MeasuredBinaryTree<>(this, root.right, false);
+    }
+
+    // Properties
+
+    /**
+     * Returns {@code true} if this binary tree is empty.
+     *
+     * @return {@code true} if this binary tree is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Returns the number of elements in this binary tree.
+     *
+     * @return the number of elements in this binary tree.
+     */
+    @Override
+    public int size() {
+        return Node.size(root);
+    }
+
+    /**
+     * Return the height of this binary tree.
+     *
+     * @return the height of this binary tree.
+     */
+    @Override
+    public int height() {
+        return Node.height(root);
+    }
+
+    // Modifiers
+
+    @Override
+    public E replaceRoot(E newElement) {
+        if (root == null)
+            throw new NoSuchElementException("the empty tree has no root to replace");
+        E oldElement = root.element;
+        root.element = newElement;
+        update(root);
+        updateAncestors();
+        return oldElement;
+    }
+
+    /**
+     * Removes the left subtree of this binary tree.
+     */
+    @Override
+    public void removeLeft() {
+        if (root == null)
+            throw new NoSuchElementException("Empty tree");
+        root.left = null;
+        update(root);
+        updateAncestors();
+        owner.modCount++;
+    }
+
+    /**
+     * Removes the right subtree of this binary tree.
+     */
+    @Override
+    public void removeRight() {
+        if (root == null)
+            throw new NoSuchElementException("Empty tree");
+        root.right = null;
+        update(root);
+        updateAncestors();
+        owner.modCount++;
+    }
+
+    // Traversals
+
+    /**
+     * Returns the elements of this binary tree in pre-order.
+     *
+     * @return the elements of this binary tree in pre-order.
+     */
+    @Override
+    public List<E> preOrder() {
+        List<E> result = new ArrayList<>(size());
+        preOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns the elements of this binary tree in in-order.
+     *
+     * @return the elements of this binary tree in in-order.
+     */
+    @Override
+    public List<E> inOrder() {
+        List<E> result = new ArrayList<>(size());
+        inOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns the elements of this binary tree in post-order.
+     *
+     * @return the elements of this binary tree in post-order.
+     */
+    @Override
+    public List<E> postOrder() {
+        List<E> result = new ArrayList<>(size());
+        postOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns the elements of this binary tree in level-order.
+     *
+     * @return the elements of this binary tree in level-order.
+     */
+    @Override
+    public List<E> levelOrder() {
+        List<E> result = new ArrayList<>(size());
+        levelOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in pre-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in pre-order.
+     */
+    @Override
+    public Iterator<E> preOrderIterator() {
+        return new PreOrderIterator();
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in in-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in in-order.
+     */
+    @Override
+    public Iterator<E> inOrderIterator() {
+        return new InOrderIterator();
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in post-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in post-order.
+     */
+    @Override
+    public Iterator<E> postOrderIterator() {
+        return new PostOrderIterator();
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in level-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in level-order.
+     */
+    @Override
+    public Iterator<E> levelOrderIterator() {
+        return new LevelOrderIterator();
+    }
+
+    // The iterators are those of LinkedBinaryTree
+
+    private abstract class TraversalIterator implements Iterator<E> {
+        final Deque<Node<E, S>> pending = new ArrayDeque<>();
+        private final int expectedModCount = owner.modCount;
+
+        final void checkForComodification() {
+            if (owner.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pending.isEmpty();
+        }
+    }
+
+    private class PreOrderIterator extends TraversalIterator {
+        PreOrderIterator() {
+            if (root != null)
+                pending.push(root);
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (pending.isEmpty())
+                throw new NoSuchElementException();
+            Node<E, S> node = pending.pop();
+            if (node.right != null)
+                pending.push(node.right);
+            if (node.left != null)
+                pending.push(node.left);
+            return node.element;
+        }
+    }
+
+    private class InOrderIterator extends TraversalIterator {
+        InOrderIterator() {
+            pushLeftSpine(root);
+        }
+
+        private void pushLeftSpine(Node<E, S> node) {
+            for (; node != null; node = node.left)
+                pending.push(node);
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (pending.isEmpty())
+                throw new NoSuchElementException();
+            Node<E, S> node = pending.pop();
+            pushLeftSpine(node.right);
+            return node.element;
+        }
+    }
+
+    private class PostOrderIterator extends TraversalIterator {
+        private Node<E, S> next = root;
+        private Node<E, S> lastVisited = null;
+
+        @Override
+        public boolean hasNext() {
+            return next != null || !pending.isEmpty();
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (!hasNext())
+                throw new NoSuchElementException();
+            while (true) {
+                if (next != null) {
+                    pending.push(next);
+                    next = next.left;
+                } else {
+                    Node<E, S> top = pending.peek();
+                    if (top.right != null && top.right != lastVisited) {
+                        next = top.right;
+                    } else {
+                        lastVisited = pending.pop();
+                        return top.element;
+                    }
+                }
+            }
+        }
+    }
+
+    private class LevelOrderIterator extends TraversalIterator {
+        LevelOrderIterator() {
+            if (root != null)
+                pending.add(root);
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (pending.isEmpty())
+                throw new NoSuchElementException();
+            Node<E, S> node = pending.remove();
+            if (node.left != null)
+                pending.add(node.left);
+            if (node.right != null)
+                pending.add(node.right);
+            return node.element;
+        }
+    }
+
+    // Methods overridden from Object
+
+    /**
+     * Returns {@code true} if both trees have the same elements and shape. Their summaries are
+     * not compared.
+     *
+     * @param o object to be compared for equality with this {@code MeasuredBinaryTree}
+     * @return {@code true} if the specified object is equal to this {@code MeasuredBinaryTree}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof MeasuredBinaryTree<?, ?> bt))
+            return false;
+        if (size() != bt.size())
+            return false;
+
+        // Both trees are traversed in pre-order at the same time
+        Deque<Node<?, ?>> pending = new ArrayDeque<>();
+        if (root != null) {
+            pending.push(bt.root);
+            pending.push(root);
+        }
+        while (!pending.isEmpty()) {
+            Node<?, ?> node1 = pending.pop();
+            Node<?, ?> node2 = pending.pop();
+            if (node1.size != node2.size
+                    || !Objects.equals(node1.element, node2.element)
+                    || (node1.left == null) != (node2.left == null)
+                    || (node1.right == null) != (node2.right == null))
+                return false;
+            if (node1.right != null) {
+                pending.push(node2.right);
+                pending.push(node1.right);
+            }
+            if (node1.left != null) {
+                pending.push(node2.left);
+                pending.push(node1.left);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // Combines the elements in pre-order with the shape of each node, as ArrayBinaryTree
+        int result = 1;
+        Deque<Node<E, S>> pending = new ArrayDeque<>();
+        if (root != null)
+            pending.push(root);
+        while (!pending.isEmpty()) {
+            Node<E, S> node = pending.pop();
+            int shape = (node.left != null ? 2 : 0) + (node.right != null ? 1 : 0);
+            result = 31 * (31 * result + Objects.hashCode(node.element)) + shape;
+            if (node.right != null)
+                pending.push(node.right);
+            if (node.left != null)
+                pending.push(node.left);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a short description of this tree, with its summary.
+     *
+     * @return a short description of this tree
+     */
+    @Override
+    public String toString() {
+        return "MeasuredBinaryTree(size=%d, height=%d, summary=%s)".formatted(size(), height(),
+                summary());
+    }
+}
@@ -0,0 +1,58 @@
+package trees;
+
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+
+/**
+ * A Monoid is an associative operation with an identity, such as addition with 0 or maximum with
+ * the least value. It is used to summarize the elements of a subtree in a single value that is
+ * kept in its root (e.g. by {@link MeasuredBinaryTree}).
+ * <p>
+ * The summary of a subtree combines, in in-order, those of its left subtree, of its element and
+ * of its right subtree, so {@code combine} must be associative, but need not be commutative.
+ *
+ * @param <S> the type of the summaries
+ * @author Juan Manuel Gimeno Illa
+ * @see MeasuredBinaryTree
+ */
+public interface Monoid<S> {
+
+    /**
+     * Returns the identity of the operation, which is the summary of the empty tree.
+     *
+     * @return the identity of the operation.
+     */
+    S identity();
+
+    /**
+     * Combines two summaries, the first one of the elements before those of the second one.
+     *
+     * @param left  the summary of the first elements
+     * @param right the summary of the last elements
+     * @return the summary of all the elements
+     */
+    S combine(S left, S right);
+
+    /**
+     * Returns the monoid with the given identity and operation.
+     *
+     * @param identity the identity of the operation
+     * @param combine  the operation, which must be associative
+     * @param <S>      the type of the summaries
+     * @return the monoid with the given identity and operation
+     */
+    static <S> Monoid<S> of(S identity, BinaryOperator<S> combine) {
+        Objects.requireNonNull(combine);
+        return new Monoid<>() {
+            @Override
+            public S identity() {
+                return identity;
+            }
+
+            @Override
+            public S combine(S left, S right) {
+                return combine.apply(left, right);
+            }
+        };
+    }
+}
@@ -0,0 +1,865 @@
+package trees;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * A PersistentBinaryTree is an immutable implementation of {@link BinaryTree}: its nodes are never
+ * modified, so any version of a tree stays valid, and can be read by other threads, while newer
+ * versions are built from it.
+ * <p>
+ * Instead of modifying the tree, {@link #withRoot(Object)}, {@link #withoutLeft()},
+ * {@link #withoutRight()}, {@link #withLeft(PersistentBinaryTree)} and
+ * {@link #withRight(PersistentBinaryTree)} return new versions that share all the unchanged
+ * subtrees with this one. To change a node at depth {@code d}, the path to it is copied by
+ * combining them, e.g. {@code t.withLeft(t.left().withRoot(x))}, which creates {@code d + 1}
+ * nodes. A snapshot of a version is the version itself, so taking one is O(1).
+ * <p>
+ * The modifiers of {@link BinaryTree} throw {@link UnsupportedOperationException}.
+ *
+ * @param <E> the type of elements in the binary tree
+ * @author Juan Manuel Gimeno Illa
+ * @see BinaryTree
+ */
+public final class PersistentBinaryTree<E> implements BinaryTree<E> {
+
+    /**
+     * The root of the binary tree.
+     */
+    private final Node<E> root;
+
+    private static final class Node<E> {
+        final Node<E> left;
+        final E element;
+        final Node<E> right;
+        final int size;
+        final int height;
+        // Structural hash, computed as in LinkedBinaryTree
+        final int hash;
+
+        Node(Node<E> left, E element, Node<E> right) {
+            this.left = left;
+            this.element = element;
+            this.right = right;
+            this.size = 1 + Node.size(left) + Node.size(right);
+            this.height = 1 + Math.max(Node.height(left), Node.height(right));
+            this.hash = 31 * (31 * (31 + Node.hash(left)) + Objects.hashCode(element))
+                    + Node.hash(right);
+        }
+
+        static int size(Node<?> node) {
+            return node == null ? 0 : node.size;
+        }
+
+        static int height(Node<?> node) {
+            return node == null ? -1 : node.height;
+        }
+
+        static int hash(Node<?> node) {
+            return node == null ? 0 : node.hash;
+        }
+    }
+
+    // Constructors
+
+    /**
+     * Creates an empty binary tree.
+     */
+    public PersistentBinaryTree() {
+        root = null;
+    }
+
+    /**
+     * Creates a binary tree with the given element as root and the given trees as left and right
+     * subtrees, which are shared, not copied.
+     *
+     * @param elem  the element to be used as root
+     * @param left  the left subtree of the new tree. It can be {@code null} if an empty left
+     *              subtree is desired.
+     * @param right the right subtree of the new tree. It can {@code null} if an empty right
+     *              subtree is desired.
+     */
+    public PersistentBinaryTree(PersistentBinaryTree<E> left, E elem,
+                                PersistentBinaryTree<E> right) {
+        Node<E> leftChild = left == null ? null : left.root;
+        Node<E> rightChild = right == null ? null : right.root;
+        root = new Node<>(leftChild, elem, rightChild);
+    }
+
+    private PersistentBinaryTree(Node<E> root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns a PersistentBinaryTree with the same elements and shape as the given tree.
+     *
+     * @param tree the tree to copy
+     * @param <E>  the type of elements in the binary tree
+     * @return a PersistentBinaryTree with the same elements and shape as the given tree
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentBinaryTree<E> copyOf(BinaryTree<? extends E> tree) {
+        if (tree instanceof PersistentBinaryTree<? extends E> pbt)
+            // Immutable, so it can be shared
+            return (PersistentBinaryTree<E>) pbt;
+        if (tree.isEmpty())
+            return mkPBT();
+        // Nodes must be built bottom-up, so the subtrees are first listed in reverse post-order
+        Deque<BinaryTree<? extends E>> pending = new ArrayDeque<>();
+        Deque<BinaryTree<? extends E>> postOrder = new ArrayDeque<>(tree.size());
+        pending.push(tree);
+        while (!pending.isEmpty()) {
+            BinaryTree<? extends E> subtree = pending.pop();
+            postOrder.push(subtree);
+            if (!subtree.left().isEmpty())
+                pending.push(subtree.left());
+            if (!subtree.right().isEmpty())
+                pending.push(subtree.right());
+        }
+        Deque<Node<E>> built = new ArrayDeque<>();
+        while (!postOrder.isEmpty()) {
+            BinaryTree<? extends E> subtree = postOrder.pop();
+            Node<E> right = subtree.right().isEmpty() ? null : built.pop();
+            Node<E> left = subtree.left().isEmpty() ? null : built.pop();
+            built.push(new Node<>(left, subtree.root(), right));
+        }
+        return new PersistentBinaryTree<>(built.pop());
+    }
+
+    // Accessors
+
+    /**
+     * Returns the root element of this binary tree.
+     *
+     * @return the root element of this binary tree.
+     * @throws NoSuchElementException if this binary tree is empty.
+     */
+    @Override
+    public E root() {
+        if (root == null)
+            throw new NoSuchElementException("root of empty tree");
+
+        return root.element;
+    }
+
+    /**
+     * Returns the left subtree of this binary tree.
+     *
+     * @return the left subtree of this binary tree.
+     */
+    @Override
+    public PersistentBinaryTree<E> left() {
+        if (root == null)
+            throw new NoSuchElementException("left child of empty tree");
+
+        return new PersistentBinaryTree<>(root.left);
+    }
+
+    /**
+     * Returns the right subtree of this binary tree.
+     *
+     * @return the right subtree of this binary tree.
+     */
+    @Override
+    public PersistentBinaryTree<E> right() {
+        if (root == null)
+            throw new NoSuchElementException("right child of empty tree");
+
+        return new PersistentBinaryTree<>(root.right);
+    }
+
+    // Properties
+
+    /**
+     * Returns {@code true} if this binary tree is empty.
+     *
+     * @return {@code true} if this binary tree is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Returns the number of elements in this binary tree.
+     *
+     * @return the number of elements in this binary tree.
+     */
+    @Override
+    public int size() {
+        return Node.size(root);
+    }
+
+    /**
+     * Return the height of this binary tree.
+     *
+     * @return the height of this binary tree.
+     */
+    @Override
+    public int height() {
+        return Node.height(root);
+    }
+
+    // Persistent modifiers
+
+    /**
+     * Returns a version of this tree with the given element as root.
+     *
+     * @param newElement the new root element
+     * @return a version of this tree with the given element as root
+     * @throws NoSuchElementException if the tree is empty
+     */
+    public PersistentBinaryTree<E> withRoot(E newElement) {
+        if (root == null)
+            throw new NoSuchElementException("the empty tree has no root to replace");
+        return new PersistentBinaryTree<>(new Node<>(root.left, newElement, root.right));
+    }
+
+    /**
+     * Returns a version of this tree with the given tree as left subtree.
+     *
+     * @param left the new left subtree. It can be {@code null} if an empty left subtree is
+     *             desired.
+     * @return a version of this tree with the given tree as left subtree
+     * @throws NoSuchElementException if the tree is empty
+     */
+    public PersistentBinaryTree<E> withLeft(PersistentBinaryTree<E> left) {
+        if (root == null)
+            throw new NoSuchElementException("Empty tree");
+        Node<E> leftChild = left == null ? null : left.root;
+        return new PersistentBinaryTree<>(new Node<>(leftChild, root.element, root.right));
+    }
+
+    /**
+     * Returns a version of this tree with the given tree as right subtree.
+     *
+     * @param right the new right subtree. It can be {@code null} if an empty right subtree is
+     *              desired.
+     * @return a version of this tree with the given tree as right subtree
+     * @throws NoSuchElementException if the tree is empty
+     */
+    public PersistentBinaryTree<E> withRight(PersistentBinaryTree<E> right) {
+        if (root == null)
+            throw new NoSuchElementException("Empty tree");
+        Node<E> rightChild = right == null ? null : right.root;
+        return new PersistentBinaryTree<>(new Node<>(root.left, root.element, rightChild));
+    }
+
+    /**
+     * Returns a version of this tree without its left subtree.
+     *
+     * @return a version of this tree without its left subtree
+     * @throws NoSuchElementException if the tree is empty
+     */
+    public PersistentBinaryTree<E> withoutLeft() {
+        return withLeft(null);
+    }
+
+    /**
+     * Returns a version of this tree without its right subtree.
+     *
+     * @return a version of this tree without its right subtree
+     * @throws NoSuchElementException if the tree is empty
+     */
+    public PersistentBinaryTree<E> withoutRight() {
+        return withRight(null);
+    }
+
+    // Cursors
+
+    /**
+     * Returns a zipper at the root of this binary tree. As the tree is immutable, modifications
+     * made through the zipper do not change it: they build a new version, which is returned by
+     * {@link Zipper#toTree()}.
+     *
+     * @return a zipper at the root of this binary tree.
+     */
+    public Zipper<E> cursor() {
+        return new Zipper<>(this);
+    }
+
+    /**
+     * A Zipper is a {@link TreeCursor} over a persistent tree. It keeps the path from the root to
+     * its position, where modifications replace the node by a new one. The nodes above are only
+     * rebuilt when the zipper moves up, or when {@link #toTree()} is called, so a sequence of
+     * modifications along a path copies that path once. Moves that do not follow modifications
+     * do not allocate.
+     *
+     * @param <E> the type of elements in the binary tree
+     */
+    public static final class Zipper<E> implements TreeCursor<E> {
+        private final PersistentBinaryTree<E> tree;
+        // nodes[0..depth] are the nodes from the root to the position, and right[i] tells
+        // whether nodes[i + 1] is the right child of nodes[i] (or replaces it)
+        @SuppressWarnings("unchecked")
+        private Node<E>[] nodes = (Node<E>[]) new Node<?>[16];
+        private boolean[] right = new boolean[16];
+        private int depth;
+
+        private Zipper(PersistentBinaryTree<E> tree) {
+            this.tree = tree;
+            nodes[0] = tree.root;
+        }
+
+        private Node<E> current() {
+            Node<E> node = nodes[depth];
+            if (node == null)
+                throw new NoSuchElementException("cursor over empty tree");
+            return node;
+        }
+
+        private boolean moveTo(Node<E> child, boolean isRight) {
+            if (child == null)
+                return false;
+            if (++depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, 2 * nodes.length);
+                right = Arrays.copyOf(right, 2 * right.length);
+            }
+            nodes[depth] = child;
+            right[depth - 1] = isRight;
+            return true;
+        }
+
+        /**
+         * Makes nodes[i] the parent of nodes[i + 1], rebuilding it if its child has been
+         * replaced.
+         */
+        private void rebuildParent(int i) {
+            Node<E> parent = nodes[i];
+            Node<E> child = nodes[i + 1];
+            if (right[i] && parent.right != child)
+                nodes[i] = new Node<>(parent.left, parent.element, child);
+            else if (!right[i] && parent.left != child)
+                nodes[i] = new Node<>(child, parent.element, parent.right);
+        }
+
+        /**
+         * Returns the version of the tree with the modifications made through this zipper. The
+         * zipper stays at its position.
+         *
+         * @return the version of the tree with the modifications made through this zipper.
+         */
+        public PersistentBinaryTree<E> toTree() {
+            for (int i = depth - 1; i >= 0; i--)
+                rebuildParent(i);
+            if (nodes[0] == tree.root)
+                return tree;
+            return new PersistentBinaryTree<>(nodes[0]);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return nodes[0] == null;
+        }
+
+        @Override
+        public E element() {
+            return current().element;
+        }
+
+        @Override
+        public int size() {
+            return Node.size(nodes[depth]);
+        }
+
+        @Override
+        public int height() {
+            return Node.height(nodes[depth]);
+        }
+
+        @Override
+        public int depth() {
+            return depth;
+        }
+
+        @Override
+        public boolean hasLeft() {
+            return nodes[0] != null && nodes[depth].left != null;
+        }
+
+        @Override
+        public boolean hasRight() {
+            return nodes[0] != null && nodes[depth].right != null;
+        }
+
+        @Override
+        public boolean moveLeft() {
+            return nodes[0] != null && moveTo(nodes[depth].left, false);
+        }
+
+        @Override
+        public boolean moveRight() {
+            return nodes[0] != null && moveTo(nodes[depth].right, true);
+        }
+
+        @Override
+        public boolean moveUp() {
+            if (depth == 0)
+                return false;
+            rebuildParent(depth - 1);
+            nodes[depth--] = null;
+            return true;
+        }
+
+        @Override
+        public void moveToRoot() {
+            while (moveUp()) {
+            }
+        }
+
+        @Override
+        public E replaceElement(E newElement) {
+            Node<E> node = current();
+            nodes[depth] = new Node<>(node.left, newElement, node.right);
+            return node.element;
+        }
+
+        @Override
+        public void removeLeft() {
+            Node<E> node = current();
+            if (node.left != null)
+                nodes[depth] = new Node<>(null, node.element, node.right);
+        }
+
+        @Override
+        public void removeRight() {
+            Node<E> node = current();
+            if (node.right != null)
+                nodes[depth] = new Node<>(node.left, node.element, null);
+        }
+    }
+
+    // Path-addressed access
+    //
+    // A path is a sequence of steps from the root, where bit i of the path tells whether step i
+    // goes to the right (set) or to the left (clear) child.
+
+    private static boolean goesRight(long[] path, int step) {
+        return (path[step >>> 6] & (1L << step)) != 0;
+    }
+
+    /**
+     * Returns the subtree at the given path, which is empty if the path leaves the tree.
+     */
+    PersistentBinaryTree<E> subtree(long[] path, int depth) {
+        Node<E> node = root;
+        for (int i = 0; i < depth && node != null; i++)
+            node = goesRight(path, i) ? node.right : node.left;
+        if (node == root)
+            return this;
+        return node == null ? mkPBT() : new PersistentBinaryTree<>(node);
+    }
+
+    /**
+     * Returns a version of this tree where the subtree at the given path is replaced by the
+     * result of applying the function to it. Only the nodes on the path are copied.
+     *
+     * @throws NoSuchElementException if the parent of the subtree is not in the tree
+     */
+    PersistentBinaryTree<E> withSubtree(long[] path, int depth,
+                                        UnaryOperator<PersistentBinaryTree<E>> function) {
+        @SuppressWarnings("unchecked")
+        Node<E>[] ancestors = (Node<E>[]) new Node<?>[depth];
+        Node<E> node = root;
+        for (int i = 0; i < depth; i++) {
+            if (node == null)
+                throw new NoSuchElementException("no subtree at the given path");
+            ancestors[i] = node;
+            node = goesRight(path, i) ? node.right : node.left;
+        }
+        PersistentBinaryTree<E> subtree =
+                node == root ? this : node == null ? mkPBT() : new PersistentBinaryTree<>(node);
+        Node<E> replaced = Objects.requireNonNull(function.apply(subtree)).root;
+        for (int i = depth - 1; i >= 0; i--) {
+            Node<E> ancestor = ancestors[i];
+            replaced = goesRight(path, i)
+                    ? new Node<>(ancestor.left, ancestor.element, replaced)
+                    : new Node<>(replaced, ancestor.element, ancestor.right);
+        }
+        if (replaced == root)
+            return this;
+        return replaced == null ? mkPBT() : new PersistentBinaryTree<>(replaced);
+    }
+
+    // Modifiers
+
+    /**
+     * Unsupported, as the tree is immutable.
+     *
+     * @throws UnsupportedOperationException always
+     * @see #withRoot(Object)
+     */
+    @Override
+    public E replaceRoot(E newElement) {
+        throw new UnsupportedOperationException("immutable tree: use withRoot()");
+    }
+
+    /**
+     * Unsupported, as the tree is immutable.
+     *
+     * @throws UnsupportedOperationException always
+     * @see #withoutLeft()
+     */
+    @Override
+    public void removeLeft() {
+        throw new UnsupportedOperationException("immutable tree: use withoutLeft()");
+    }
+
+    /**
+     * Unsupported, as the tree is immutable.
+     *
+     * @throws UnsupportedOperationException always
+     * @see #withoutRight()
+     */
+    @Override
+    public void removeRight() {
+        throw new UnsupportedOperationException("immutable tree: use withoutRight()");
+    }
+
+    // Traversals
+
+    /**
+     * Returns the elements of this binary tree in pre-order.
+     *
+     * @return the elements of this binary tree in pre-order.
+     */
+    @Override
+    public List<E> preOrder() {
+        List<E> result = new ArrayList<>(size());
+        preOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns the elements of this binary tree in in-order.
+     *
+     * @return the elements of this binary tree in in-order.
+     */
+    @Override
+    public List<E> inOrder() {
+        List<E> result = new ArrayList<>(size());
+        inOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns the elements of this binary tree in post-order.
+     *
+     * @return the elements of this binary tree in post-order.
+     */
+    @Override
+    public List<E> postOrder() {
+        List<E> result = new ArrayList<>(size());
+        postOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns the elements of this binary tree in level-order.
+     *
+     * @return the elements of this binary tree in level-order.
+     */
+    @Override
+    public List<E> levelOrder() {
+        List<E> result = new ArrayList<>(size());
+        levelOrderIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in pre-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in pre-order.
+     */
+    @Override
+    public Iterator<E> preOrderIterator() {
+        return new PreOrderIterator();
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in in-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in in-order.
+     */
+    @Override
+    public Iterator<E> inOrderIterator() {
+        return new InOrderIterator();
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in post-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in post-order.
+     */
+    @Override
+    public Iterator<E> postOrderIterator() {
+        return new PostOrderIterator();
+    }
+
+    /**
+     * Returns a lazy iterator that traverses this binary tree in level-order.
+     *
+     * @return a lazy iterator that traverses this binary tree in level-order.
+     */
+    @Override
+    public Iterator<E> levelOrderIterator() {
+        return new LevelOrderIterator();
+    }
+
+    // The iterators are those of LinkedBinaryTree, but they need not be fail-fast, as the tree
+    // cannot be modified.
+
+    private abstract class TraversalIterator implements Iterator<E> {
+        final Deque<Node<E>> pending = new ArrayDeque<>();
+
+        @Override
+        public boolean hasNext() {
+            return !pending.isEmpty();
+        }
+    }
+
+    private class PreOrderIterator extends TraversalIterator {
+        PreOrderIterator() {
+            if (root != null)
+                pending.push(root);
+        }
+
+        @Override
+        public E next() {
+            if (pending.isEmpty())
+                throw new NoSuchElementException();
+            Node<E> node = pending.pop();
+            if (node.right != null)
+                pending.push(node.right);
+            if (node.left != null)
+                pending.push(node.left);
+            return node.element;
+        }
+    }
+
+    private class InOrderIterator extends TraversalIterator {
+        InOrderIterator() {
+            pushLeftSpine(root);
+        }
+
+        private void pushLeftSpine(Node<E> node) {
+            for (; node != null; node = node.left)
+                pending.push(node);
+        }
+
+        @Override
+        public E next() {
+            if (pending.isEmpty())
+                throw new NoSuchElementException();
+            Node<E> node = pending.pop();
+            pushLeftSpine(node.right);
+            return node.element;
+        }
+    }
+
+    private class PostOrderIterator extends TraversalIterator {
+        private Node<E> next = root;
+        private Node<E> lastVisited = null;
+
+        @Override
+        public boolean hasNext() {
+            return next != null || !pending.isEmpty();
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            while (true) {
+                if (next != null) {
+                    pending.push(next);
+                    next = next.left;
+                } else {
+                    Node<E> top = pending.peek();
+                    if (top.right != null && top.right != lastVisited) {
+                        next = top.right;
+                    } else {
+                        lastVisited = pending.pop();
+                        return top.element;
+                    }
+                }
+            }
+        }
+    }
+
+    private class LevelOrderIterator extends TraversalIterator {
+        LevelOrderIterator() {
+            if (root != null)
+                pending.add(root);
+        }
+
+        @Override
+        public E next() {
+            if (pending.isEmpty())
+                throw new NoSuchElementException();
+            Node<E> node = pending.remove();
+            if (node.left != null)
+                pending.add(node.left);
+            if (node.right != null)
+                pending.add(node.right);
+            return node.element;
+        }
+    }
+
+    // Methods overridden from Object
+
+    /**
+     * Returns {@code true} if both trees have the same elements and shape.
+     *
+     * @param o object to be compared for equality with this {@code PersistentBinaryTree}
+     * @return {@code true} if the specified object is equal to this {@code PersistentBinaryTree}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof PersistentBinaryTree<?> bt))
+            return false;
+
+        // Both trees are traversed in pre-order at the same time, skipping shared subtrees
+        Deque<Node<?>> pending = new ArrayDeque<>();
+        if (!pushPair(pending, root, bt.root))
+            return false;
+        while (!pending.isEmpty()) {
+            Node<?> node1 = pending.pop();
+            Node<?> node2 = pending.pop();
+            if (node1.hash != node2.hash
+                    || node1.size != node2.size
+                    || !Objects.equals(node1.element, node2.element)
+                    || !pushPair(pending, node1.right, node2.right)
+                    || !pushPair(pending, node1.left, node2.left))
+                return false;
+        }
+        return true;
+    }
+
+    // Pushes both nodes unless they are the same; returns false if only one of them is null
+    private static boolean pushPair(Deque<Node<?>> pending, Node<?> node1, Node<?> node2) {
+        if (node1 == node2)
+            return true;
+        if (node1 == null || node2 == null)
+            return false;
+        pending.push(node2);
+        pending.push(node1);
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 + Node.hash(root);
+    }
+
+    @Override
+    public String toString() {
+        if (root == null)
+            return "mkPBT()";
+        StringBuilder sb = new StringBuilder();
+        // Each pending node records how far its rendering has gone: 0 not started, 1 left
+        // subtree rendered, 2 right subtree rendered. As the nodes never change, the stack never
+        // holds more than height + 1 of them.
+        @SuppressWarnings("unchecked")
+        Node<E>[] nodes = (Node<E>[]) new Node<?>[root.height + 1];
+        byte[] states = new byte[nodes.length];
+        int top = 0;
+        nodes[0] = root;
+        while (top >= 0) {
+            Node<E> node = nodes[top];
+            if (states[top] == 0) {
+                sb.append("mkPBT(");
+                states[top] = 1;
+                if (node.left != null) {
+                    nodes[++top] = node.left;
+                    states[top] = 0;
+                    continue;
+                }
+            }
+            if (states[top] == 1) {
+                if (node.left != null)
+                    sb.append(", ");
+                sb.append(node.element);
+                states[top] = 2;
+                if (node.right != null) {
+                    sb.append(", ");
+                    nodes[++top] = node.right;
+                    states[top] = 0;
+                    continue;
+                }
+            }
+            sb.append(')');
+            nodes[top--] = null;
+        }
+        return sb.toString();
+    }
+
+    // Smart constructors
+
+    private static final PersistentBinaryTree<?> UNTYPED_UNIQUE_EMPTY_TREE =
+            new PersistentBinaryTree<>();
+
+    /**
+     * Returns an empty binary tree.
+     *
+     * @param <E> the type of elements in the binary tree
+     * @return an empty binary tree
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentBinaryTree<E> mkPBT() {
+        return (PersistentBinaryTree<E>) UNTYPED_UNIQUE_EMPTY_TREE;
+    }
+
+    /**
+     * Returns a binary tree with the given element as root.
+     *
+     * @param elem the element to be used as root
+     * @param <E>  the type of elements in the binary tree
+     * @return a binary tree with the given element as root and left and right empty
+     */
+    public static <E> PersistentBinaryTree<E> mkPBT(E elem) {
+        return new PersistentBinaryTree<>(null, elem, null);
+    }
+
+    /**
+     * Returns a binary tree with the given element as root and the given tree as left
+     *
+     * @param left the left subtree of the new tree.
+     * @param elem the element to be used as root
+     * @param <E>  the type of elements in the binary tree
+     * @return a binary tree with the given element as root and the given tree as left and right
+     * empty
+     */
+    public static <E> PersistentBinaryTree<E> mkPBT(PersistentBinaryTree<E> left, E elem) {
+        return new PersistentBinaryTree<>(left, elem, null);
+    }
+
+    /**
+     * Returns a binary tree with the given element as root and the given tree as right
+     *
+     * @param elem  the element to be used as root
+     * @param right the right subtree of the new tree.
+     * @param <E>   the type of elements in the binary tree
+     * @return a binary tree with the given element as root and the given tree as right and left
+     * empty
+     */
+    public static <E> PersistentBinaryTree<E> mkPBT(E elem, PersistentBinaryTree<E> right) {
+        return new PersistentBinaryTree<>(null, elem, right);
+    }
+
+    /**
+     * Returns a binary tree with the given element as root and the given trees as left and right
+     *
+     * @param <E>   the type of elements in the binary tree
+     * @param left  the left subtree of the new tree.
+     * @param elem  the element to be used as root
+     * @param right the right subtree of the new tree.
+     * @return a binary tree with the given element as root and the given trees as left and right
+     */
+    public static <E> PersistentBinaryTree<E> mkPBT(PersistentBinaryTree<E> left, E elem,
+                                                    PersistentBinaryTree<E> right) {
+        return new PersistentBinaryTree<>(left, elem, right);
+    }
+}
@@ -0,0 +1,261 @@
+package trees;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/**
+ * A node of the linked trees of primitive elements, {@link LinkedIntBinaryTree} and
+ * {@link LinkedLongBinaryTree}, which only differ in the type of their elements. The subclasses
+ * hold the element, and this class the children, with the size and height of the subtree.
+ * <p>
+ * As in {@link LinkedBinaryTree}, all the algorithms on the nodes use an explicit stack (or
+ * queue) so that degenerate trees do not overflow the call stack.
+ *
+ * @param <N> the type of the nodes
+ * @author Juan Manuel Gimeno Illa
+ */
+abstract class PrimitiveNode<N extends PrimitiveNode<N>> {
+    N left;
+    N right;
+    int size;
+    int height;
+
+    PrimitiveNode(N left, N right) {
+        this.left = left;
+        this.right = right;
+        update();
+    }
+
+    /**
+     * Recomputes the size and height of this node from those of its children.
+     */
+    final void update() {
+        size = 1 + size(left) + size(right);
+        height = 1 + Math.max(height(left), height(right));
+    }
+
+    /**
+     * Returns {@code true} if this node has the same element as the other one.
+     */
+    abstract boolean hasSameElement(N other);
+
+    /**
+     * Returns the hash code of the element, as its wrapper class computes it.
+     */
+    abstract int elementHash();
+
+    /**
+     * Appends the element to the given builder.
+     */
+    abstract void appendElement(StringBuilder sb);
+
+    /**
+     * Returns a node with the same element and children as this one.
+     */
+    abstract N copy();
+
+    static int size(PrimitiveNode<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    static int height(PrimitiveNode<?> node) {
+        return node == null ? -1 : node.height;
+    }
+
+    // Traversals
+
+    static <N extends PrimitiveNode<N>> void preOrder(N root, Consumer<? super N> action) {
+        if (root == null)
+            return;
+        Deque<N> pending = new ArrayDeque<>(root.height + 1);
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            N node = pending.pop();
+            action.accept(node);
+            if (node.right != null)
+                pending.push(node.right);
+            if (node.left != null)
+                pending.push(node.left);
+        }
+    }
+
+    static <N extends PrimitiveNode<N>> void inOrder(N root, Consumer<? super N> action) {
+        Deque<N> pending = new ArrayDeque<>(height(root) + 2);
+        N node = root;
+        while (node != null || !pending.isEmpty()) {
+            while (node != null) {
+                pending.push(node);
+                node = node.left;
+            }
+            node = pending.pop();
+            action.accept(node);
+            node = node.right;
+        }
+    }
+
+    static <N extends PrimitiveNode<N>> void postOrder(N root, Consumer<? super N> action) {
+        Deque<N> pending = new ArrayDeque<>(height(root) + 2);
+        N node = root;
+        N lastVisited = null;
+        while (node != null || !pending.isEmpty()) {
+            if (node != null) {
+                pending.push(node);
+                node = node.left;
+            } else {
+                N top = pending.peek();
+                if (top.right != null && top.right != lastVisited) {
+                    node = top.right;
+                } else {
+                    action.accept(top);
+                    lastVisited = pending.pop();
+                }
+            }
+        }
+    }
+
+    static <N extends PrimitiveNode<N>> void levelOrder(N root, Consumer<? super N> action) {
+        if (root == null)
+            return;
+        // ArrayDeque is a ring buffer, so the queue only grows to the widest level
+        Deque<N> pending = new ArrayDeque<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            N node = pending.remove();
+            action.accept(node);
+            if (node.left != null)
+                pending.add(node.left);
+            if (node.right != null)
+                pending.add(node.right);
+        }
+    }
+
+    // Structural operations
+
+    /**
+     * Compares both subtrees in pre-order.
+     */
+    static <N extends PrimitiveNode<N>> boolean equals(N node1, N node2) {
+        Deque<N> pending = new ArrayDeque<>();
+        if (!pushPair(pending, node1, node2))
+            return false;
+        while (!pending.isEmpty()) {
+            N first = pending.pop();
+            N second = pending.pop();
+            if (first.size != second.size
+                    || !first.hasSameElement(second)
+                    || !pushPair(pending, first.right, second.right)
+                    || !pushPair(pending, first.left, second.left))
+                return false;
+        }
+        return true;
+    }
+
+    // Pushes both nodes unless they are the same; returns false if only one of them is null
+    private static <N> boolean pushPair(Deque<N> pending, N node1, N node2) {
+        if (node1 == node2)
+            return true;
+        if (node1 == null || node2 == null)
+            return false;
+        pending.push(node2);
+        pending.push(node1);
+        return true;
+    }
+
+    /**
+     * Returns the same hash code as {@code Objects.hash(left, element, right)} would compute
+     * recursively, with 0 for the empty subtree.
+     */
+    static <N extends PrimitiveNode<N>> int hashCode(N root) {
+        // The hashes of the subtrees whose parents are still pending in post-order
+        int[] hashes = new int[height(root) + 2];
+        int[] top = {-1};
+        postOrder(root, node -> {
+            int right = node.right == null ? 0 : hashes[top[0]--];
+            int left = node.left == null ? 0 : hashes[top[0]--];
+            hashes[++top[0]] = 31 * (31 * (31 + left) + node.elementHash()) + right;
+        });
+        return top[0] < 0 ? 0 : hashes[0];
+    }
+
+    /**
+     * Appends the call to the smart constructor with the given name that builds the subtree,
+     * e.g. {@code mkIntLBT(mkIntLBT(2), 1)}.
+     */
+    static <N extends PrimitiveNode<N>> void render(N root, String name, StringBuilder sb) {
+        // The pending nodes with how far their rendering has gone: 0 not started, 1 left
+        // subtree rendered, 2 right subtree rendered
+        @SuppressWarnings("unchecked")
+        N[] nodes = (N[]) new PrimitiveNode<?>[16];
+        byte[] states = new byte[16];
+        int top = 0;
+        nodes[0] = root;
+        while (top >= 0) {
+            N node = nodes[top];
+            N next = null;
+            switch (states[top]) {
+                case 0 -> {
+                    sb.append(name).append('(');
+                    if (node.left != null) {
+                        states[top] = 1;
+                        next = node.left;
+                        break;
+                    }
+                    node.appendElement(sb);
+                    if (node.right != null) {
+                        sb.append(", ");
+                        states[top] = 2;
+                        next = node.right;
+                    }
+                }
+                case 1 -> {
+                    sb.append(", ");
+                    node.appendElement(sb);
+                    if (node.right != null) {
+                        sb.append(", ");
+                        states[top] = 2;
+                        next = node.right;
+                    }
+                }
+                default -> {
+                }
+            }
+            if (next == null) {
+                sb.append(')');
+                nodes[top--] = null;
+            } else {
+                if (++top == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, 2 * nodes.length);
+                    states = Arrays.copyOf(states, 2 * states.length);
+                }
+                nodes[top] = next;
+                states[top] = 0;
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the subtree, which shares no nodes with it.
+     */
+    static <N extends PrimitiveNode<N>> N deepCopy(N root) {
+        if (root == null)
+            return null;
+        N copy = root.copy();
+        // The copies whose children are still the original nodes
+        Deque<N> pending = new ArrayDeque<>(root.height + 1);
+        pending.push(copy);
+        while (!pending.isEmpty()) {
+            N node = pending.pop();
+            if (node.right != null) {
+                node.right = node.right.copy();
+                pending.push(node.right);
+            }
+            if (node.left != null) {
+                node.left = node.left.copy();
+                pending.push(node.left);
+            }
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,62 @@
+package trees;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A TreeBatch records modifications of the nodes of a binary tree, addressed by their
+ * {@link TreePath paths} from its root, and applies all of them at once. The nodes on the paths
+ * are visited once for the whole batch, whatever the number of modifications, and their sizes,
+ * heights and hashes are recomputed once, after all the modifications below them have been made.
+ * <p>
+ * The modifications take effect as if made one after the other in the order they were recorded,
+ * so a modification below a subtree removed earlier in the same batch is rejected when it is
+ * recorded. Whether the other paths lead to nodes of the tree is checked when the batch is
+ * applied, before modifying anything.
+ *
+ * @param <E> the type of elements in the binary tree
+ * @author Juan Manuel Gimeno Illa
+ * @see LinkedBinaryTree#batch()
+ */
+public interface TreeBatch<E> {
+
+    /**
+     * Records the replacement of the element of the node at the given path.
+     *
+     * @param path       the path of the node
+     * @param newElement the new element of the node
+     * @return this batch
+     * @throws NoSuchElementException if the node is removed by an earlier modification of this
+     *                                batch
+     */
+    TreeBatch<E> replaceElement(TreePath path, E newElement);
+
+    /**
+     * Records the removal of the left subtree of the node at the given path. The modifications
+     * below it recorded earlier are discarded, as they would be removed with it.
+     *
+     * @param path the path of the node
+     * @return this batch
+     * @throws NoSuchElementException if the node is removed by an earlier modification of this
+     *                                batch
+     */
+    TreeBatch<E> removeLeft(TreePath path);
+
+    /**
+     * Records the removal of the right subtree of the node at the given path. The modifications
+     * below it recorded earlier are discarded, as they would be removed with it.
+     *
+     * @param path the path of the node
+     * @return this batch
+     * @throws NoSuchElementException if the node is removed by an earlier modification of this
+     *                                batch
+     */
+    TreeBatch<E> removeRight(TreePath path);
+
+    /**
+     * Applies the recorded modifications to the tree, which is left unchanged if some of them
+     * cannot be applied. Afterwards the batch is empty, and can be used to record new ones.
+     *
+     * @throws NoSuchElementException if there is no node at some of the paths
+     */
+    void apply();
+}
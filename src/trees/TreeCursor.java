@@ -0,0 +1,125 @@
+package trees;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A TreeCursor is a position in a binary tree that can be moved down to the children of the node
+ * it is at and back up to its parent. Unlike {@link BinaryTree#left()} and
+ * {@link BinaryTree#right()}, moving a cursor does not allocate, so it can be reused to walk many
+ * paths.
+ * <p>
+ * A cursor never leaves the nodes of the tree: moving to a missing child, or up from the root,
+ * leaves it where it is and returns {@code false}.
+ *
+ * @param <E> the type of elements in the binary tree
+ * @author Juan Manuel Gimeno Illa
+ * @see LinkedBinaryTree#cursor()
+ * @see PersistentBinaryTree#cursor()
+ */
+public interface TreeCursor<E> {
+
+    // Accessors
+
+    /**
+     * Returns {@code true} if the tree of this cursor is empty, so that it has no position.
+     *
+     * @return {@code true} if the tree of this cursor is empty.
+     */
+    boolean isEmpty();
+
+    /**
+     * Returns the element at the position of this cursor.
+     *
+     * @return the element at the position of this cursor.
+     * @throws NoSuchElementException if the tree is empty.
+     */
+    E element();
+
+    /**
+     * Returns the number of elements in the subtree at the position of this cursor.
+     *
+     * @return the number of elements in the subtree at the position of this cursor.
+     */
+    int size();
+
+    /**
+     * Returns the height of the subtree at the position of this cursor.
+     *
+     * @return the height of the subtree at the position of this cursor.
+     */
+    int height();
+
+    /**
+     * Returns the number of moves down from the root to the position of this cursor.
+     *
+     * @return the depth of the position of this cursor.
+     */
+    int depth();
+
+    /**
+     * Returns {@code true} if the node at the position of this cursor has a left child.
+     *
+     * @return {@code true} if the node at the position of this cursor has a left child.
+     */
+    boolean hasLeft();
+
+    /**
+     * Returns {@code true} if the node at the position of this cursor has a right child.
+     *
+     * @return {@code true} if the node at the position of this cursor has a right child.
+     */
+    boolean hasRight();
+
+    // Moves
+
+    /**
+     * Moves this cursor to the left child of its position, if there is one.
+     *
+     * @return {@code true} if the cursor has moved.
+     */
+    boolean moveLeft();
+
+    /**
+     * Moves this cursor to the right child of its position, if there is one.
+     *
+     * @return {@code true} if the cursor has moved.
+     */
+    boolean moveRight();
+
+    /**
+     * Moves this cursor to the parent of its position, if there is one.
+     *
+     * @return {@code true} if the cursor has moved.
+     */
+    boolean moveUp();
+
+    /**
+     * Moves this cursor to the root of the tree.
+     */
+    void moveToRoot();
+
+    // Modifiers
+
+    /**
+     * Replaces the element at the position of this cursor.
+     *
+     * @param newElement the new element
+     * @return the replaced element
+     * @throws NoSuchElementException if the tree is empty
+     */
+    E replaceElement(E newElement);
+
+    /**
+     * Removes the left subtree of the position of this cursor.
+     *
+     * @throws NoSuchElementException if the tree is empty
+     */
+    void removeLeft();
+
+    /**
+     * Removes the right subtree of the position of this cursor.
+     *
+     * @throws NoSuchElementException if the tree is empty
+     */
+    void removeRight();
+}
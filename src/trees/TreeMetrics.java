@@ -0,0 +1,71 @@
+package trees;
+
+/**
+ * A TreeMetrics receives a record of every instrumented operation made on a
+ * {@link LinkedBinaryTree}: its kind, how long it took and how many nodes it visited and
+ * allocated. It is opt-in: nothing is measured until one is installed with
+ * {@link #install(TreeMetrics)}, and then only one volatile read is added to each operation.
+ * <p>
+ * The same operations are also reported to JDK Flight Recorder as {@code trees.TreeOperation}
+ * events when those are enabled in a recording, even if no TreeMetrics is installed.
+ *
+ * @author Juan Manuel Gimeno Illa
+ */
+@FunctionalInterface
+public interface TreeMetrics {
+
+    /**
+     * The kinds of instrumented operations.
+     */
+    enum Operation {
+        /**
+         * A traversal into a list: {@code preOrder()}, {@code inOrder()}, {@code postOrder()} or
+         * {@code levelOrder()}.
+         */
+        TRAVERSAL,
+        /**
+         * A fold, sequential or parallel.
+         */
+        FOLD,
+        /**
+         * A comparison with {@code equals}.
+         */
+        EQUALS,
+        /**
+         * A {@code clone()}, which only shares the nodes.
+         */
+        CLONE,
+        /**
+         * The copy of the shared nodes above a node that is about to be modified.
+         */
+        COPY_ON_WRITE,
+        /**
+         * A bulk construction from a list of elements.
+         */
+        BUILD,
+        /**
+         * A rendering with {@code toString()} or {@code writeTo}.
+         */
+        RENDER
+    }
+
+    /**
+     * Records an operation. It is called in the thread that made the operation, so it should be
+     * fast and thread-safe.
+     *
+     * @param operation      the kind of operation
+     * @param nanos          the time the operation took, in nanoseconds
+     * @param nodesVisited   the number of nodes the operation visited
+     * @param nodesAllocated the number of nodes the operation allocated
+     */
+    void record(Operation operation, long nanos, long nodesVisited, long nodesAllocated);
+
+    /**
+     * Installs the given metrics, replacing the installed ones, if any.
+     *
+     * @param metrics the metrics to install, or {@code null} to stop recording
+     */
+    static void install(TreeMetrics metrics) {
+        TreeProbe.metrics = metrics;
+    }
+}
@@ -0,0 +1,36 @@
+package trees;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The JDK Flight Recorder event of an instrumented tree operation. It is disabled by default, and
+ * is enabled in a recording by its name, e.g. with {@code jfr configure} or a {@code .jfc} file
+ * that contains {@code <event name="trees.TreeOperation"><setting name="enabled">true</setting>}.
+ *
+ * @author Juan Manuel Gimeno Illa
+ * @see TreeMetrics
+ */
+@Name("trees.TreeOperation")
+@Label("Tree Operation")
+@Category("Trees")
+@Description("An operation on a LinkedBinaryTree that visits or allocates many nodes")
+@Enabled(false)
+final class TreeOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Tree Size")
+    int treeSize;
+
+    @Label("Nodes Visited")
+    long nodesVisited;
+
+    @Label("Nodes Allocated")
+    long nodesAllocated;
+}
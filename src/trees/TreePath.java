@@ -0,0 +1,126 @@
+package trees;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A TreePath is the position of a node in a binary tree, given by the steps, to the left or to the
+ * right child, that lead to it from the root. It is immutable and stores a step per bit.
+ *
+ * @author Juan Manuel Gimeno Illa
+ */
+public final class TreePath {
+
+    /**
+     * The path of the root, with no steps.
+     */
+    public static final TreePath ROOT = new TreePath(new long[0], 0);
+
+    // Bit i is set if step i goes to the right child
+    private final long[] bits;
+    private final int depth;
+
+    private TreePath(long[] bits, int depth) {
+        this.bits = bits;
+        this.depth = depth;
+    }
+
+    /**
+     * Returns the path given by a string of {@code 'L'} and {@code 'R'} steps, e.g. {@code "LR"}
+     * for the right child of the left child of the root.
+     *
+     * @param steps the steps of the path
+     * @return the path given by the steps
+     * @throws IllegalArgumentException if some step is neither {@code 'L'} nor {@code 'R'}
+     */
+    public static TreePath of(String steps) {
+        long[] bits = new long[(steps.length() + 63) >>> 6];
+        for (int i = 0; i < steps.length(); i++) {
+            switch (steps.charAt(i)) {
+                case 'L' -> {
+                }
+                case 'R' -> bits[i >>> 6] |= 1L << i;
+                default -> throw new IllegalArgumentException("invalid step: " + steps.charAt(i));
+            }
+        }
+        return new TreePath(bits, steps.length());
+    }
+
+    /**
+     * Returns the path of the left child of the node at this path.
+     *
+     * @return the path of the left child of the node at this path.
+     */
+    public TreePath left() {
+        return child(false);
+    }
+
+    /**
+     * Returns the path of the right child of the node at this path.
+     *
+     * @return the path of the right child of the node at this path.
+     */
+    public TreePath right() {
+        return child(true);
+    }
+
+    private TreePath child(boolean right) {
+        long[] childBits = Arrays.copyOf(bits, (depth >>> 6) + 1);
+        if (right)
+            childBits[depth >>> 6] |= 1L << depth;
+        return new TreePath(childBits, depth + 1);
+    }
+
+    /**
+     * Returns the number of steps of this path.
+     *
+     * @return the number of steps of this path.
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Returns {@code true} if the given step goes to the right child.
+     *
+     * @param step the index of the step, from 0 for the step from the root
+     * @return {@code true} if the given step goes to the right child.
+     * @throws IndexOutOfBoundsException if there is no such step
+     */
+    public boolean goesRight(int step) {
+        Objects.checkIndex(step, depth);
+        return (bits[step >>> 6] & (1L << step)) != 0;
+    }
+
+    // Methods overridden from Object
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof TreePath path))
+            return false;
+        if (depth != path.depth)
+            return false;
+        for (int i = 0; i < (depth + 63) >>> 6; i++)
+            if (bits[i] != path.bits[i])
+                return false;
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = depth;
+        for (int i = 0; i < (depth + 63) >>> 6; i++)
+            hash = 31 * hash + Long.hashCode(bits[i]);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(depth);
+        for (int i = 0; i < depth; i++)
+            sb.append(goesRight(i) ? 'R' : 'L');
+        return sb.toString();
+    }
+}
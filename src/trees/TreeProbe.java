@@ -0,0 +1,69 @@
+package trees;
+
+import jdk.jfr.EventType;
+
+/**
+ * A TreeProbe measures one instrumented operation. Operations call {@link #start} and, if it does
+ * not return {@code null}, count the nodes they visit and allocate in the probe and call
+ * {@link #end} when they finish. When neither a {@link TreeMetrics} is installed nor the JFR
+ * event is enabled, {@link #start} returns {@code null} and nothing is allocated or measured.
+ *
+ * @author Juan Manuel Gimeno Illa
+ */
+final class TreeProbe {
+
+    /**
+     * The installed metrics, or {@code null}.
+     */
+    static volatile TreeMetrics metrics;
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(TreeOperationEvent.class);
+
+    private final TreeMetrics.Operation operation;
+    private final TreeMetrics recipient;
+    private final TreeOperationEvent event;
+    private final long start;
+    long nodesVisited;
+    long nodesAllocated;
+
+    private TreeProbe(TreeMetrics.Operation operation, TreeMetrics recipient,
+                      TreeOperationEvent event) {
+        this.operation = operation;
+        this.recipient = recipient;
+        this.event = event;
+        if (event != null)
+            event.begin();
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Returns a probe for an operation that starts now, or {@code null} if it needs not be
+     * measured.
+     */
+    static TreeProbe start(TreeMetrics.Operation operation) {
+        TreeMetrics recipient = metrics;
+        boolean eventEnabled = EVENT_TYPE.isEnabled();
+        if (recipient == null && !eventEnabled)
+            return null;
+        return new TreeProbe(operation, recipient, eventEnabled ? new TreeOperationEvent() : null);
+    }
+
+    /**
+     * Reports the operation, which has just ended, on a tree of the given size.
+     */
+    void end(int treeSize) {
+        long nanos = System.nanoTime() - start;
+        if (recipient != null)
+            recipient.record(operation, nanos, nodesVisited, nodesAllocated);
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation.name();
+                event.treeSize = treeSize;
+                event.nodesVisited = nodesVisited;
+                event.nodesAllocated = nodesAllocated;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package trees;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A TreeReader reads back the binary trees written by a {@link TreeWriter} as
+ * {@link LinkedBinaryTree}s. Trees are rebuilt in one pass, without recursion and through a
+ * fixed-size buffer, and the size of every node is computed as its subtree is completed.
+ * <p>
+ * The reader may read ahead from the underlying stream or channel, so several trees written one
+ * after the other must be read with the same reader. It does not close the stream or channel.
+ *
+ * @param <E> the type of the elements of the trees
+ * @author Juan Manuel Gimeno Illa
+ * @see TreeWriter
+ */
+public class TreeReader<E> {
+
+    private final ReadableByteChannel channel;
+    private final ElementCodec<E> codec;
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a reader of trees from the given stream.
+     *
+     * @param in    the stream to read from
+     * @param codec the codec for the elements of the trees
+     */
+    public TreeReader(InputStream in, ElementCodec<E> codec) {
+        this(Channels.newChannel(in), codec);
+    }
+
+    /**
+     * Creates a reader of trees from the given channel.
+     *
+     * @param channel the channel to read from
+     * @param codec   the codec for the elements of the trees
+     */
+    public TreeReader(ReadableByteChannel channel, ElementCodec<E> codec) {
+        this.channel = channel;
+        this.codec = codec;
+        this.buffer = ByteBuffer.allocate(
+                Math.max(TreeWriter.BUFFER_SIZE, 1 + TreeWriter.GROUP * codec.width()));
+        this.buffer.flip();
+    }
+
+    /**
+     * Reads the next tree.
+     *
+     * @return the tree read
+     * @throws EOFException if the input ends before the tree is complete
+     * @throws IOException  if an I/O error occurs or the input does not hold a tree written
+     *                      with a codec of the same width
+     */
+    public LinkedBinaryTree<E> read() throws IOException {
+        require(TreeWriter.HEADER_SIZE);
+        if (buffer.getInt() != TreeWriter.MAGIC)
+            throw new IOException("not a tree");
+        if (buffer.getInt() != TreeWriter.VERSION)
+            throw new IOException("unsupported tree format version");
+        int width = buffer.getInt();
+        if (width != codec.width())
+            throw new IOException("elements of width %d, not %d".formatted(width, codec.width()));
+        boolean empty = buffer.getInt() == 0;
+        LinkedBinaryTree.PreOrderBuilder<E> builder = new LinkedBinaryTree.PreOrderBuilder<>();
+        int shapes = 0;
+        for (int i = 0; !empty && !builder.isComplete(); i++) {
+            if (i % TreeWriter.GROUP == 0) {
+                require(1);
+                shapes = buffer.get();
+            }
+            require(width);
+            E element = codec.read(buffer, buffer.position());
+            buffer.position(buffer.position() + width);
+            int shape = shapes >> 2 * (i % TreeWriter.GROUP);
+            builder.add(element, (shape & 2) != 0, (shape & 1) != 0);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Ensures that the buffer holds at least the given number of bytes still to be read.
+     */
+    private void require(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes)
+            return;
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0)
+                throw new EOFException();
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,105 @@
+package trees;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A TreeWriter writes binary trees to a stream or channel in a compact binary format, which a
+ * {@link TreeReader} reads back.
+ * <p>
+ * Every tree is written as a header (a magic number, the format version, the width of the
+ * elements and whether the tree is empty) followed by its nodes in pre-order, in groups of four: a
+ * byte with two shape bits per node (whether it has a left and a right child) followed by the
+ * elements of the nodes, encoded by an {@link ElementCodec}. The shape bits tell where the tree
+ * ends, so its size is not needed in advance. Trees are written in one pass, without
+ * recursion and through a fixed-size buffer.
+ * <p>
+ * The writer does not close the underlying stream or channel.
+ *
+ * @param <E> the type of the elements of the trees
+ * @author Juan Manuel Gimeno Illa
+ * @see TreeReader
+ */
+public class TreeWriter<E> {
+
+    static final int MAGIC = 0x54524553; // "TRES"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int GROUP = 4;
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final ElementCodec<E> codec;
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a writer of trees to the given stream.
+     *
+     * @param out   the stream to write to
+     * @param codec the codec for the elements of the trees
+     */
+    public TreeWriter(OutputStream out, ElementCodec<E> codec) {
+        this(Channels.newChannel(out), codec);
+    }
+
+    /**
+     * Creates a writer of trees to the given channel.
+     *
+     * @param channel the channel to write to
+     * @param codec   the codec for the elements of the trees
+     */
+    public TreeWriter(WritableByteChannel channel, ElementCodec<E> codec) {
+        this.channel = channel;
+        this.codec = codec;
+        this.buffer = ByteBuffer.allocate(Math.max(BUFFER_SIZE, 1 + GROUP * codec.width()));
+    }
+
+    /**
+     * Writes the given tree.
+     *
+     * @param tree the tree to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(BinaryTree<? extends E> tree) throws IOException {
+        int width = codec.width();
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(width).putInt(tree.isEmpty() ? 0 : 1);
+        int shapes = 0;
+        int count = 0;
+        Deque<BinaryTree<? extends E>> pending = new ArrayDeque<>();
+        if (!tree.isEmpty())
+            pending.push(tree);
+        while (!pending.isEmpty()) {
+            BinaryTree<? extends E> subtree = pending.pop();
+            if (count % GROUP == 0) {
+                if (buffer.remaining() < 1 + GROUP * width)
+                    flush();
+                shapes = buffer.position();
+                buffer.put((byte) 0);
+            }
+            BinaryTree<? extends E> left = subtree.left();
+            BinaryTree<? extends E> right = subtree.right();
+            int shape = (left.isEmpty() ? 0 : 2) | (right.isEmpty() ? 0 : 1);
+            buffer.put(shapes, (byte) (buffer.get(shapes) | shape << 2 * (count % GROUP)));
+            codec.write(buffer, buffer.position(), subtree.root());
+            buffer.position(buffer.position() + width);
+            count++;
+            if (!right.isEmpty())
+                pending.push(right);
+            if (!left.isEmpty())
+                pending.push(left);
+        }
+        flush();
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+}
@@ -0,0 +1,27 @@
+package trees;
+
+/**
+ * Represents a function that accepts three arguments and produces a result, as
+ * {@link java.util.function.BiFunction} does for two. It is used to fold a binary tree, combining
+ * the results of the left and right subtrees of every node with its element.
+ *
+ * @param <A> the type of the first argument
+ * @param <B> the type of the second argument
+ * @param <C> the type of the third argument
+ * @param <R> the type of the result
+ * @author Juan Manuel Gimeno Illa
+ * @see BinaryTree#fold(Object, TriFunction)
+ */
+@FunctionalInterface
+public interface TriFunction<A, B, C, R> {
+
+    /**
+     * Applies this function to the given arguments.
+     *
+     * @param a the first argument
+     * @param b the second argument
+     * @param c the third argument
+     * @return the result
+     */
+    R apply(A a, B b, C c);
+}
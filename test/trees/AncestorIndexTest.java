@@ -0,0 +1,162 @@
+package trees;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static trees.LinkedBinaryTree.mkLBT;
+
+@DisplayName("An ancestor index should")
+class AncestorIndexTest {
+
+    //        4
+    //       / \
+    //     1    5
+    //    / \
+    //   2  3
+    private final LinkedBinaryTree<Integer> complex =
+            mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5));
+
+    @Test
+    @DisplayName("identify the nodes by their positions in pre-order")
+    void test1() {
+        // Positions: 4 -> 0, 1 -> 1, 2 -> 2, 3 -> 3, 5 -> 4
+        AncestorIndex index = complex.ancestorIndex();
+        assertEquals(5, index.size());
+        assertEquals(0, index.depth(0));
+        assertEquals(2, index.depth(3));
+        assertEquals(-1, index.parent(0));
+        assertEquals(1, index.parent(2));
+        assertEquals(0, index.parent(4));
+        assertEquals(1, index.lca(2, 3));
+        assertEquals(0, index.lca(3, 4));
+        assertEquals(1, index.lca(1, 3));
+        assertEquals(2, index.lca(2, 2));
+        assertTrue(index.isAncestor(1, 3));
+        assertTrue(index.isAncestor(3, 3));
+        assertFalse(index.isAncestor(3, 1));
+        assertFalse(index.isAncestor(1, 4));
+        assertArrayEquals(new int[]{1, 0, 0}, index.lca(new int[]{2, 4, 0}, new int[]{3, 2, 0}));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.depth(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.lca(-1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> index.lca(new int[]{0}, new int[]{0, 1}));
+
+        AncestorIndex empty = new LinkedBinaryTree<Integer>().ancestorIndex();
+        assertEquals(0, empty.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> empty.lca(0, 0));
+    }
+
+    @Test
+    @DisplayName("answer as walking up from the nodes would")
+    void test2() {
+        Random random = new Random(42);
+        for (int n = 1; n <= 200; n++) {
+            AncestorIndex index = randomTree(n, random).ancestorIndex();
+            for (int i = 0; i < index.size(); i++)
+                for (int j = 0; j < index.size(); j++) {
+                    assertEquals(naiveLca(index, i, j), index.lca(i, j));
+                    assertEquals(naiveLca(index, i, j) == i, index.isAncestor(i, j));
+                }
+        }
+        AncestorIndex index = randomTree(200_000, random).ancestorIndex();
+        int[] nodes1 = random.ints(10_000, 0, index.size()).toArray();
+        int[] nodes2 = random.ints(10_000, 0, index.size()).toArray();
+        int[] lcas = index.lca(nodes1, nodes2);
+        for (int i = 0; i < lcas.length; i++)
+            assertEquals(naiveLca(index, nodes1[i], nodes2[i]), lcas[i]);
+    }
+
+    @Test
+    @DisplayName("handle degenerate trees")
+    void test3() {
+        // A zigzag of 100_000 nodes: the node at position i has depth i
+        List<Integer> levelOrder = new ArrayList<>();
+        levelOrder.add(0);
+        for (int i = 1; i < 100_000; i++) {
+            levelOrder.add(i % 2 == 0 ? i : null);
+            levelOrder.add(i % 2 == 0 ? null : i);
+        }
+        AncestorIndex index = LinkedBinaryTree.fromLevelOrder(levelOrder).ancestorIndex();
+        assertEquals(100_000, index.size());
+        assertEquals(99_999, index.depth(99_999));
+        assertEquals(12_345, index.lca(12_345, 99_999));
+        assertTrue(index.isAncestor(0, 99_999));
+        assertFalse(index.isAncestor(99_999, 0));
+    }
+
+    @Test
+    @DisplayName("be invalidated by structural modifications")
+    void test4() {
+        AncestorIndex index = complex.ancestorIndex();
+        complex.right().replaceRoot(6);
+        assertTrue(index.isValid());
+        assertEquals(0, index.lca(3, 4));
+
+        LinkedBinaryTree<Integer> copy = complex.clone();
+        copy.removeRight();
+        assertTrue(index.isValid());
+
+        complex.left().removeLeft();
+        assertFalse(index.isValid());
+        assertThrows(ConcurrentModificationException.class, () -> index.lca(3, 4));
+        assertThrows(ConcurrentModificationException.class, () -> index.depth(0));
+        assertThrows(ConcurrentModificationException.class,
+                () -> index.lca(new int[]{0}, new int[]{1}));
+
+        AncestorIndex rebuilt = complex.ancestorIndex();
+        assertEquals(4, rebuilt.size());
+        assertEquals(1, rebuilt.parent(2));
+    }
+
+    @Test
+    @DisplayName("stay valid when a tree the indexed one was built from is modified")
+    void test5() {
+        LinkedBinaryTree<Integer> leaf = mkLBT(mkLBT(7), 1);
+        LinkedBinaryTree<Integer> parent = mkLBT(leaf, 0);
+        AncestorIndex index = parent.ancestorIndex();
+        leaf.removeLeft();
+        assertTrue(index.isValid());
+        assertEquals(3, index.size());
+        assertEquals(2, index.depth(2));
+        assertEquals(1, index.lca(1, 2));
+
+        AncestorIndex rebuilt = parent.ancestorIndex();
+        assertEquals(3, rebuilt.size());
+        assertEquals(1, rebuilt.parent(2));
+        assertEquals(1, leaf.ancestorIndex().size());
+    }
+
+    private static LinkedBinaryTree<Integer> randomTree(int n, Random random) {
+        List<Integer> levelOrder = new ArrayList<>();
+        levelOrder.add(0);
+        // The children still to be decided, which must not all be empty until there are n nodes
+        int slots = 2;
+        for (int i = 1; i < n; slots--) {
+            if (slots > 1 && random.nextInt(3) == 0) {
+                levelOrder.add(null);
+            } else {
+                levelOrder.add(i++);
+                slots += 2;
+            }
+        }
+        return LinkedBinaryTree.fromLevelOrder(levelOrder);
+    }
+
+    private static int naiveLca(AncestorIndex index, int node1, int node2) {
+        while (index.depth(node1) > index.depth(node2))
+            node1 = index.parent(node1);
+        while (index.depth(node2) > index.depth(node1))
+            node2 = index.parent(node2);
+        while (node1 != node2) {
+            node1 = index.parent(node1);
+            node2 = index.parent(node2);
+        }
+        return node1;
+    }
+}
@@ -0,0 +1,152 @@
+package trees;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static trees.ArrayBinaryTree.mkABT;
+import static trees.LinkedBinaryTree.mkLBT;
+
+@DisplayName("An array-backed tree should")
+class ArrayBinaryTreeTest {
+
+    ArrayBinaryTree<Integer> empty, lefty, complex;
+
+    @BeforeEach
+    void setUp() {
+        empty = mkABT();
+        lefty = mkABT(mkABT(2), 1);
+        //        4
+        //       / \
+        //     1    5
+        //    / \
+        //   2  3
+        complex = mkABT(mkABT(mkABT(2), 1, mkABT(3)), 4, mkABT(5));
+    }
+
+    @Test
+    @DisplayName("have its size and height computed")
+    void test1() {
+        assertTrue(empty.isEmpty());
+        assertEquals(0, empty.size());
+        assertEquals(-1, empty.height());
+        assertEquals(5, complex.size());
+        assertEquals(2, complex.height());
+    }
+
+    @Test
+    @DisplayName("be equal to a copy of the equivalent linked tree")
+    void test2() {
+        LinkedBinaryTree<Integer> linked = mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5));
+        ArrayBinaryTree<Integer> copy = ArrayBinaryTree.copyOf(linked);
+        assertEquals(complex, copy);
+        assertEquals(complex.hashCode(), copy.hashCode());
+        assertEquals(complex, complex.clone());
+        assertNotEquals(complex, lefty);
+        assertEquals(new ArrayBinaryTree<Integer>(), empty);
+    }
+
+    @Test
+    @DisplayName("be able to return its root and children")
+    void test3() {
+        assertEquals(4, complex.root());
+        assertEquals(mkABT(mkABT(2), 1, mkABT(3)), complex.left());
+        assertEquals(mkABT(5), complex.right());
+        assertTrue(lefty.right().isEmpty());
+        assertThrows(NoSuchElementException.class, () -> empty.root());
+        assertThrows(NoSuchElementException.class, () -> empty.left());
+    }
+
+    @Test
+    @DisplayName("be modifiable through itself and through its subtrees")
+    void test4() {
+        complex.left().removeRight();
+        assertEquals(mkABT(mkABT(2), 1), complex.left());
+        complex = mkABT(mkABT(mkABT(2), 1, mkABT(3)), 4, mkABT(5));
+        assertEquals(4, complex.replaceRoot(6));
+        complex.removeLeft();
+        assertEquals(mkABT(6, mkABT(5)), complex);
+        assertEquals(2, complex.size());
+        assertEquals(1, complex.height());
+        complex.removeRight();
+        assertEquals(mkABT(6), complex);
+        assertThrows(NoSuchElementException.class, () -> empty.removeLeft());
+    }
+
+    @Test
+    @DisplayName("be able to return its traversals")
+    void test5() {
+        assertEquals(List.of(4, 1, 2, 3, 5), complex.preOrder());
+        assertEquals(List.of(2, 1, 3, 4, 5), complex.inOrder());
+        assertEquals(List.of(2, 3, 1, 5, 4), complex.postOrder());
+        assertEquals(List.of(4, 1, 5, 2, 3), complex.levelOrder());
+        assertEquals(List.of(1, 2, 3), complex.left().preOrder());
+        assertEquals(List.of(), empty.inOrder());
+        complex.left().removeLeft();
+        assertEquals(4, complex.size());
+        assertEquals(List.of(4, 1, 3, 5), complex.preOrder());
+        assertEquals(List.of(4, 1, 3, 5), complex.preOrderStream().collect(Collectors.toList()));
+        assertEquals(List.of(1, 3, 4, 5), complex.inOrderStream().toList());
+    }
+
+    @Test
+    @DisplayName("make its iterators fail if a subtree is removed while iterating")
+    void test6() {
+        Iterator<Integer> iterator = complex.levelOrderIterator();
+        iterator.next();
+        complex.right().removeLeft();
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    @DisplayName("return the corresponding mkABT call when calling toString()")
+    void test7() {
+        assertEquals("mkABT()", empty.toString());
+        assertEquals("mkABT(mkABT(2), 1)", lefty.toString());
+        assertEquals("mkABT(mkABT(mkABT(2), 1, mkABT(3)), 4, mkABT(5))", complex.toString());
+    }
+
+    @Test
+    @DisplayName("be copied and traversed without overflowing the stack when it is degenerate")
+    void test8() {
+        int n = 1_000_000;
+        LinkedBinaryTree<Integer> linked = mkLBT();
+        for (int i = 0; i < n; i++)
+            linked = mkLBT(i, linked);
+        ArrayBinaryTree<Integer> degenerate = ArrayBinaryTree.copyOf(linked);
+        assertEquals(n - 1, degenerate.height());
+        assertEquals(linked.inOrder(), degenerate.inOrder());
+        assertEquals(linked.postOrder(), degenerate.postOrder());
+        assertEquals(degenerate, degenerate.clone());
+    }
+
+    @Test
+    @DisplayName("update the trees its subtrees were taken from when removing through them")
+    void test9() {
+        ArrayBinaryTree<Integer> left = complex.left();
+        left.removeLeft();
+        assertEquals(4, complex.size());
+        assertEquals(2, complex.height());
+        assertEquals(mkABT(mkABT(1, mkABT(3)), 4, mkABT(5)), complex);
+        assertEquals(mkABT(mkABT(1, mkABT(3)), 4, mkABT(5)).hashCode(), complex.hashCode());
+        left.right().removeLeft();
+        left.removeRight();
+        assertEquals(3, complex.size());
+        assertEquals(1, complex.height());
+        assertEquals(List.of(4, 1, 5), complex.preOrderStream().toList());
+
+        // A subtree removed from its parent stays a tree of its own
+        ArrayBinaryTree<Integer> right = complex.right();
+        complex.removeRight();
+        right.removeLeft();
+        assertEquals(mkABT(mkABT(1), 4), complex);
+        assertEquals(2, complex.size());
+    }
+}
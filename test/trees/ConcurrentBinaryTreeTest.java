@@ -0,0 +1,134 @@
+package trees;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static trees.PersistentBinaryTree.mkPBT;
+
+@DisplayName("A concurrent tree should")
+class ConcurrentBinaryTreeTest {
+
+    ConcurrentBinaryTree<Integer> empty, complex;
+
+    @BeforeEach
+    void setUp() {
+        empty = new ConcurrentBinaryTree<>();
+        //        4
+        //       / \
+        //     1    5
+        //    / \
+        //   2  3
+        complex = new ConcurrentBinaryTree<>(mkPBT(mkPBT(mkPBT(2), 1, mkPBT(3)), 4, mkPBT(5)));
+    }
+
+    @Test
+    @DisplayName("have its properties and traversals computed")
+    void test1() {
+        assertTrue(empty.isEmpty());
+        assertEquals(-1, empty.height());
+        assertThrows(NoSuchElementException.class, () -> empty.root());
+        assertThrows(NoSuchElementException.class, () -> empty.left());
+        assertEquals(5, complex.size());
+        assertEquals(2, complex.height());
+        assertEquals(List.of(4, 1, 2, 3, 5), complex.preOrder());
+        assertEquals(List.of(2, 1, 3, 4, 5), complex.inOrderStream().toList());
+        assertEquals(List.of(2, 3, 1, 5, 4), complex.postOrder());
+        assertEquals(List.of(4, 1, 5, 2, 3), complex.levelOrder());
+        assertEquals(3, complex.left().right().root());
+        assertEquals(15, complex.fold(0, (l, e, r) -> l + e + r));
+        assertEquals(0, empty.fold(0, (l, e, r) -> l + e + r));
+    }
+
+    @Test
+    @DisplayName("be modified through its subtrees, updating the whole tree")
+    void test2() {
+        ConcurrentBinaryTree<Integer> left = complex.left();
+        assertEquals(1, left.replaceRoot(10));
+        left.removeRight();
+        assertEquals(mkPBT(mkPBT(mkPBT(2), 10), 4, mkPBT(5)), complex.snapshot());
+        assertEquals(4, complex.size());
+        complex.removeLeft();
+        // The position of the subtree is gone
+        assertTrue(left.isEmpty());
+        assertThrows(NoSuchElementException.class, () -> left.replaceRoot(0));
+        assertThrows(NoSuchElementException.class, () -> left.left().removeLeft());
+        assertEquals(mkPBT(4, mkPBT(5)), complex.snapshot());
+    }
+
+    @Test
+    @DisplayName("keep its snapshots and iterators unchanged by later modifications")
+    void test3() {
+        PersistentBinaryTree<Integer> snapshot = complex.snapshot();
+        Iterator<Integer> iterator = complex.preOrderIterator();
+        complex.removeLeft();
+        complex.replaceRoot(6);
+        List<Integer> elements = new ArrayList<>();
+        iterator.forEachRemaining(elements::add);
+        assertEquals(List.of(4, 1, 2, 3, 5), elements);
+        assertEquals(List.of(4, 1, 2, 3, 5), snapshot.preOrder());
+        assertEquals(List.of(6, 5), complex.preOrder());
+    }
+
+    @Test
+    @DisplayName("replace whole subtrees atomically")
+    void test4() {
+        PersistentBinaryTree<Integer> replaced = complex.right().update(tree -> mkPBT(7));
+        assertEquals(mkPBT(5), replaced);
+        complex.left().left().left().update(tree -> mkPBT(0));
+        assertEquals(List.of(0, 2, 1, 3, 4, 7), complex.inOrder());
+        empty.update(tree -> mkPBT(1));
+        assertEquals(1, empty.root());
+        assertEquals(ConcurrentBinaryTree.copyOf(LinkedBinaryTree.mkLBT(1)), empty);
+    }
+
+    @Test
+    @DisplayName("let readers see consistent versions while a writer modifies it")
+    void test5() throws InterruptedException {
+        ConcurrentBinaryTree<Integer> tree = new ConcurrentBinaryTree<>();
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    while (!done.get()) {
+                        PersistentBinaryTree<Integer> version = tree.snapshot();
+                        List<Integer> elements = version.preOrder();
+                        assertEquals(version.size(), elements.size());
+                        // The writer always builds a left spine n-1, ..., 1, 0
+                        for (int i = 0; i < elements.size(); i++)
+                            assertEquals(elements.size() - 1 - i, elements.get(i));
+                        // So a fold of one version finds n elements that add up to n(n-1)/2
+                        long[] folded = tree.fold(new long[2], (left, e, right) ->
+                                new long[]{left[0] + 1 + right[0], left[1] + e + right[1]});
+                        assertEquals(folded[0] * (folded[0] - 1) / 2, folded[1]);
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        for (int i = 0; i < 2_000; i++) {
+            int element = i % 200;
+            if (element == 0)
+                tree.update(t -> mkPBT(0));
+            else
+                tree.update(t -> mkPBT(t, element));
+        }
+        done.set(true);
+        for (Thread reader : readers)
+            reader.join();
+        assertNull(failure.get());
+    }
+}
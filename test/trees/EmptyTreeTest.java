@@ -1,6 +1,5 @@
 package trees;
 
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -103,30 +102,44 @@ class EmptyTreeTest {
         assertTrue(emptyTree.preOrder().isEmpty());
     }
 
-    @Disabled("This test is disabled because the inOrder() method is not implemented yet.")
     @Test
     @DisplayName("return the empty list when calling inOrder()")
     void test16() {
         assertTrue(emptyTree.inOrder().isEmpty());
     }
 
-    @Disabled("This test is disabled because the postOrder() method is not implemented yet.")
     @Test
     @DisplayName("return the empty list when calling postOrder()")
     void test17() {
         assertTrue(emptyTree.postOrder().isEmpty());
     }
 
-    @Disabled("This test is disabled because the levelOrder() method is not implemented yet.")
     @Test
     @DisplayName("return the empty list when calling levelOrder()")
     void test18() {
         assertTrue(emptyTree.levelOrder().isEmpty());
     }
 
+    @Test
+    @DisplayName("return exhausted iterators for all its traversals")
+    void test20() {
+        assertFalse(emptyTree.preOrderIterator().hasNext());
+        assertFalse(emptyTree.inOrderIterator().hasNext());
+        assertFalse(emptyTree.postOrderIterator().hasNext());
+        assertFalse(emptyTree.levelOrderIterator().hasNext());
+        assertThrows(NoSuchElementException.class, () -> emptyTree.preOrderIterator().next());
+        assertThrows(NoSuchElementException.class, () -> emptyTree.postOrderIterator().next());
+    }
+
     @Test
     @DisplayName("return the corresponding mkLBT call when calling toString()")
     void test19() {
         assertEquals("mkLBT()", emptyTree.toString());
     }
+
+    @Test
+    @DisplayName("fold into the value given for the empty tree")
+    void test21() {
+        assertEquals(42, emptyTree.<Integer>fold(42, (l, e, r) -> 0));
+    }
 }
@@ -0,0 +1,129 @@
+package trees;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static trees.LinkedBinaryTree.mkLBT;
+
+@DisplayName("A frozen tree should")
+class FrozenBinaryTreeTest {
+
+    //        4
+    //       / \
+    //     1    5
+    //    / \
+    //   2  3
+    private final LinkedBinaryTree<Integer> complex =
+            mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5));
+
+    @Test
+    @DisplayName("have the same elements and shape as the tree it was frozen from")
+    void test1() {
+        FrozenBinaryTree<Integer> frozen = FrozenBinaryTree.freeze(complex);
+        assertEquals(5, frozen.size());
+        assertEquals(2, frozen.height());
+        assertEquals(4, frozen.root());
+        assertEquals(1, frozen.left().root());
+        assertEquals(3, frozen.left().size());
+        assertEquals(3, frozen.left().right().root());
+        assertTrue(frozen.right().left().isEmpty());
+        assertEquals(complex.preOrder(), frozen.preOrder());
+        assertEquals(complex.inOrder(), frozen.inOrder());
+        assertEquals(complex.postOrder(), frozen.postOrder());
+        assertEquals(complex.levelOrder(), frozen.levelOrder());
+        assertEquals(complex.inOrder(), frozen.inOrderStream().toList());
+        assertEquals(15, (int) frozen.fold(0, (l, e, r) -> l + e + r));
+        assertSame(frozen, FrozenBinaryTree.freeze(frozen));
+    }
+
+    @Test
+    @DisplayName("tell apart left and right single children")
+    void test2() {
+        FrozenBinaryTree<Integer> onLeft = FrozenBinaryTree.freeze(mkLBT(mkLBT(2), 1));
+        FrozenBinaryTree<Integer> onRight = FrozenBinaryTree.freeze(mkLBT(1, mkLBT(2)));
+        assertEquals(2, onLeft.left().root());
+        assertTrue(onLeft.right().isEmpty());
+        assertTrue(onRight.left().isEmpty());
+        assertEquals(2, onRight.right().root());
+        assertEquals(List.of(2, 1), onLeft.inOrder());
+        assertEquals(List.of(1, 2), onRight.inOrder());
+        assertNotEquals(onLeft, onRight);
+        assertNotEquals(onLeft.hashCode(), onRight.hashCode());
+    }
+
+    @Test
+    @DisplayName("reject the modifiers of BinaryTree")
+    void test3() {
+        FrozenBinaryTree<Integer> frozen = FrozenBinaryTree.freeze(complex);
+        assertThrows(UnsupportedOperationException.class, () -> frozen.replaceRoot(0));
+        assertThrows(UnsupportedOperationException.class, frozen::removeLeft);
+        assertThrows(UnsupportedOperationException.class, frozen::removeRight);
+    }
+
+    @Test
+    @DisplayName("freeze the empty tree")
+    void test4() {
+        FrozenBinaryTree<Integer> empty = FrozenBinaryTree.freeze(mkLBT());
+        assertTrue(empty.isEmpty());
+        assertEquals(0, empty.size());
+        assertEquals(-1, empty.height());
+        assertEquals(List.of(), empty.inOrder());
+        assertFalse(empty.levelOrderIterator().hasNext());
+        assertThrows(NoSuchElementException.class, empty::root);
+        assertThrows(NoSuchElementException.class, empty::left);
+        assertEquals(empty, FrozenBinaryTree.freeze(complex).right().left());
+    }
+
+    @Test
+    @DisplayName("answer as the tree it was frozen from for big random trees")
+    void test5() {
+        Random random = new Random(42);
+        List<Integer> levelOrder = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++)
+            levelOrder.add(random.nextInt(4) == 0 ? null : i);
+        LinkedBinaryTree<Integer> linked = LinkedBinaryTree.fromLevelOrder(levelOrder);
+        FrozenBinaryTree<Integer> frozen = FrozenBinaryTree.freeze(linked);
+        assertEquals(linked.preOrder(), frozen.preOrder());
+        assertEquals(linked.inOrder(), frozen.inOrder());
+        assertEquals(linked.postOrder(), frozen.postOrder());
+        assertEquals(linked.levelOrder(), frozen.levelOrder());
+        for (int walk = 0; walk < 1_000; walk++) {
+            BinaryTree<Integer> l = linked;
+            BinaryTree<Integer> f = frozen;
+            while (!l.isEmpty()) {
+                assertEquals(l.root(), f.root());
+                assertEquals(l.size(), f.size());
+                assertEquals(l.height(), f.height());
+                boolean right = random.nextBoolean();
+                l = right ? l.right() : l.left();
+                f = right ? f.right() : f.left();
+            }
+            assertTrue(f.isEmpty());
+        }
+        assertEquals(frozen.left(), FrozenBinaryTree.freeze(linked.left()));
+        assertEquals(FrozenBinaryTree.freeze(linked.left()).hashCode(), frozen.left().hashCode());
+        assertEquals(ArrayBinaryTree.copyOf(linked).hashCode(), frozen.hashCode());
+    }
+
+    @Test
+    @DisplayName("handle degenerate trees without overflowing the stack")
+    void test6() {
+        int n = 1_000_000;
+        LinkedBinaryTree<Integer> linked = mkLBT();
+        for (int i = 0; i < n; i++)
+            linked = i % 2 == 0 ? mkLBT(linked, i) : mkLBT(i, linked);
+        FrozenBinaryTree<Integer> frozen = FrozenBinaryTree.freeze(linked);
+        assertEquals(n - 1, frozen.height());
+        assertEquals(n - 2, frozen.right().height());
+        assertEquals(n - 1, frozen.right().size());
+        assertEquals(linked.inOrder(), frozen.inOrder());
+        assertEquals(linked.postOrder(), frozen.postOrder());
+        assertEquals(n, (int) frozen.fold(0, (l, e, r) -> l + 1 + r));
+    }
+}
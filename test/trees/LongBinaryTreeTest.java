@@ -0,0 +1,140 @@
+package trees;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static trees.LinkedLongBinaryTree.mkLongLBT;
+
+@DisplayName("A primitive long tree should")
+class LongBinaryTreeTest {
+
+    LinkedLongBinaryTree empty, complex;
+
+    @BeforeEach
+    void setUp() {
+        empty = mkLongLBT();
+        //        4
+        //       / \
+        //     1    5
+        //    / \
+        //   2  3
+        complex = mkLongLBT(mkLongLBT(mkLongLBT(2), 1, mkLongLBT(3)), 4, mkLongLBT(5));
+    }
+
+    @Test
+    @DisplayName("have its size and height computed")
+    void test1() {
+        assertEquals(0, empty.size());
+        assertEquals(-1, empty.height());
+        assertEquals(5, complex.size());
+        assertEquals(2, complex.height());
+    }
+
+    @Test
+    @DisplayName("be equal to another version of itself and to its clone")
+    void test2() {
+        LongBinaryTree another =
+                mkLongLBT(mkLongLBT(mkLongLBT(2), 1, mkLongLBT(3)), 4, mkLongLBT(5));
+        assertEquals(complex, another);
+        assertEquals(complex.hashCode(), another.hashCode());
+        assertEquals(complex, complex.clone());
+        assertNotEquals(complex, complex.left());
+        assertEquals(new LinkedLongBinaryTree(), empty);
+    }
+
+    @Test
+    @DisplayName("be able to return its root and children")
+    void test3() {
+        assertEquals(4, complex.root());
+        assertEquals(mkLongLBT(mkLongLBT(2), 1, mkLongLBT(3)), complex.left());
+        assertEquals(mkLongLBT(5), complex.right());
+        assertThrows(NoSuchElementException.class, () -> empty.root());
+    }
+
+    @Test
+    @DisplayName("be modifiable")
+    void test4() {
+        assertEquals(4, complex.replaceRoot(6));
+        complex.removeLeft();
+        assertEquals(mkLongLBT(6, mkLongLBT(5)), complex);
+        assertEquals(1, complex.height());
+        complex.removeRight();
+        assertEquals(mkLongLBT(6), complex);
+    }
+
+    @Test
+    @DisplayName("return its traversals as arrays")
+    void test5() {
+        assertArrayEquals(new long[]{4, 1, 2, 3, 5}, complex.preOrder());
+        assertArrayEquals(new long[]{2, 1, 3, 4, 5}, complex.inOrder());
+        assertArrayEquals(new long[]{2, 3, 1, 5, 4}, complex.postOrder());
+        assertArrayEquals(new long[]{4, 1, 5, 2, 3}, complex.levelOrder());
+        assertEquals(0, empty.preOrder().length);
+    }
+
+    @Test
+    @DisplayName("copy its traversals into a given array")
+    void test6() {
+        long[] destination = new long[7];
+        complex.inOrder(destination, 1);
+        assertArrayEquals(new long[]{0, 2, 1, 3, 4, 5, 0}, destination);
+        assertThrows(IndexOutOfBoundsException.class, () -> complex.preOrder(destination, 3));
+    }
+
+    @Test
+    @DisplayName("return the corresponding mkLongLBT call when calling toString()")
+    void test7() {
+        assertEquals("mkLongLBT()", empty.toString());
+        assertEquals("mkLongLBT(mkLongLBT(mkLongLBT(2), 1, mkLongLBT(3)), 4, mkLongLBT(5))",
+                complex.toString());
+    }
+
+    @Test
+    @DisplayName("compare, hash, print and clone a degenerate tree")
+    void test8() {
+        int n = 200_000;
+        LinkedLongBinaryTree degenerate = mkLongLBT();
+        LinkedLongBinaryTree another = mkLongLBT();
+        for (int i = 0; i < n; i++) {
+            degenerate = mkLongLBT(degenerate, i);
+            another = mkLongLBT(another, i);
+        }
+        assertEquals(degenerate, another);
+        assertEquals(degenerate.hashCode(), another.hashCode());
+        LinkedLongBinaryTree clone = degenerate.clone();
+        assertEquals(degenerate, clone);
+        clone.left().removeLeft();
+        assertEquals(2, clone.size());
+        assertEquals(1, clone.height());
+        assertNotEquals(degenerate, clone);
+        assertEquals(n, degenerate.size());
+        String string = degenerate.toString();
+        assertTrue(string.startsWith("mkLongLBT(".repeat(n) + "0), 1), 2)"));
+        assertTrue(string.endsWith(", " + (n - 1) + ")"));
+    }
+
+    @Test
+    @DisplayName("update the sizes and heights of the trees its subtrees were taken from")
+    void test9() {
+        LinkedLongBinaryTree left = complex.left();
+        left.removeLeft();
+        assertEquals(4, complex.size());
+        assertEquals(2, complex.height());
+        left.removeRight();
+        assertEquals(3, complex.size());
+        assertEquals(1, complex.height());
+        assertEquals(mkLongLBT(mkLongLBT(1), 4, mkLongLBT(5)), complex);
+        assertEquals(mkLongLBT(mkLongLBT(1), 4, mkLongLBT(5)).hashCode(), complex.hashCode());
+
+        // A subtree removed from its parent stays a tree of its own
+        LinkedLongBinaryTree right = complex.right();
+        complex.removeRight();
+        right.replaceRoot(6);
+        assertEquals(mkLongLBT(mkLongLBT(1), 4), complex);
+        assertEquals(2, complex.size());
+    }
+}
@@ -0,0 +1,163 @@
+package trees;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static trees.LinkedBinaryTree.mkLBT;
+
+@DisplayName("A memory-mapped tree should")
+class MappedBinaryTreeTest {
+
+    @TempDir
+    Path directory;
+
+    //        4
+    //       / \
+    //     1    5
+    //    / \
+    //   2  3
+    private final LinkedBinaryTree<Integer> complex =
+            mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5));
+
+    @Test
+    @DisplayName("have the same elements and shape as the tree it was written from")
+    void test1() throws IOException {
+        MappedBinaryTree<Integer> mapped =
+                MappedBinaryTree.write(complex, directory.resolve("tree"), ElementCodec.INTEGER);
+        assertEquals(5, mapped.size());
+        assertEquals(2, mapped.height());
+        assertEquals(4, mapped.root());
+        assertEquals(1, mapped.left().root());
+        assertTrue(mapped.right().left().isEmpty());
+        assertEquals(complex.preOrder(), mapped.preOrder());
+        assertEquals(complex.inOrder(), mapped.inOrder());
+        assertEquals(complex.postOrder(), mapped.postOrder());
+        assertEquals(complex.levelOrder(), mapped.levelOrder());
+    }
+
+    @Test
+    @DisplayName("be opened again with the modifications made to it")
+    void test2() throws IOException {
+        Path file = directory.resolve("tree");
+        MappedBinaryTree<Integer> mapped =
+                MappedBinaryTree.write(complex, file, ElementCodec.INTEGER);
+        assertEquals(4, mapped.replaceRoot(6));
+        mapped.removeRight();
+        mapped.force();
+
+        MappedBinaryTree<Integer> reopened = MappedBinaryTree.open(file, ElementCodec.INTEGER);
+        assertEquals(List.of(6, 1, 2, 3), reopened.preOrder());
+        assertEquals(4, reopened.size());
+        assertEquals(mapped, reopened);
+        assertEquals(mapped.hashCode(), reopened.hashCode());
+    }
+
+    @Test
+    @DisplayName("span several mapped chunks")
+    void test3() throws IOException {
+        LinkedBinaryTree<Long> tree = mkLBT();
+        for (long i = 0; i < 1_000; i++)
+            tree = i % 2 == 0 ? mkLBT(tree, i) : mkLBT(i, tree);
+        Path file = directory.resolve("tree");
+        MappedBinaryTree.write(tree, file, ElementCodec.LONG, 100);
+        MappedBinaryTree<Long> mapped = MappedBinaryTree.open(file, ElementCodec.LONG, 100);
+        assertEquals(tree.preOrder(), mapped.preOrder());
+        assertEquals(tree.inOrder(), mapped.inOrder());
+        assertEquals(999, mapped.height());
+    }
+
+    @Test
+    @DisplayName("save and open the empty tree")
+    void test4() throws IOException {
+        Path file = directory.resolve("tree");
+        MappedBinaryTree.write(mkLBT(), file, ElementCodec.INTEGER);
+        MappedBinaryTree<Integer> mapped = MappedBinaryTree.open(file, ElementCodec.INTEGER);
+        assertTrue(mapped.isEmpty());
+        assertEquals(-1, mapped.height());
+        assertTrue(mapped.preOrder().isEmpty());
+        assertThrows(NoSuchElementException.class, mapped::root);
+    }
+
+    @Test
+    @DisplayName("refuse to open a file not written as a tree or with another codec")
+    void test5() throws IOException {
+        Path file = directory.resolve("tree");
+        MappedBinaryTree.write(complex, file, ElementCodec.INTEGER);
+        assertThrows(IOException.class, () -> MappedBinaryTree.open(file, ElementCodec.LONG));
+        Path other = Files.writeString(directory.resolve("other"), "not a tree");
+        assertThrows(IOException.class, () -> MappedBinaryTree.open(other, ElementCodec.INTEGER));
+    }
+
+    @Test
+    @DisplayName("refuse to open a truncated file without growing it")
+    void test6() throws IOException {
+        Path file = directory.resolve("tree");
+        MappedBinaryTree.write(complex, file, ElementCodec.INTEGER);
+        long size = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 1);
+        }
+        assertThrows(IOException.class, () -> MappedBinaryTree.open(file, ElementCodec.INTEGER));
+        assertEquals(size - 1, Files.size(file));
+
+        // A negative count of nodes in the header
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, -1), 12);
+        }
+        assertThrows(IOException.class, () -> MappedBinaryTree.open(file, ElementCodec.INTEGER));
+    }
+
+    @Test
+    @DisplayName("update the trees its subtrees were taken from when removing through them")
+    void test7() throws IOException {
+        Path file = directory.resolve("tree");
+        MappedBinaryTree<Integer> mapped =
+                MappedBinaryTree.write(complex, file, ElementCodec.INTEGER);
+        MappedBinaryTree<Integer> left = mapped.left();
+        left.removeLeft();
+        assertEquals(4, mapped.size());
+        assertEquals(2, mapped.height());
+        assertEquals(List.of(4, 1, 3, 5), mapped.preOrderStream().toList());
+        left.removeRight();
+        assertEquals(3, mapped.size());
+        assertEquals(1, mapped.height());
+        assertEquals(List.of(1, 4, 5), mapped.inOrderStream().toList());
+
+        // A subtree removed from its parent stays a tree of its own
+        MappedBinaryTree<Integer> right = mapped.right();
+        mapped.removeRight();
+        right.replaceRoot(6);
+        assertEquals(2, mapped.size());
+        assertEquals(List.of(4, 1), mapped.preOrder());
+
+        mapped.force();
+        MappedBinaryTree<Integer> reopened = MappedBinaryTree.open(file, ElementCodec.INTEGER);
+        assertEquals(2, reopened.size());
+        assertEquals(1, reopened.height());
+    }
+
+    @Test
+    @DisplayName("traverse in level-order a tree with wide levels")
+    void test8() throws IOException {
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++)
+            elements.add(i);
+        LinkedBinaryTree<Integer> balanced = LinkedBinaryTree.fromSorted(elements);
+        MappedBinaryTree<Integer> mapped = MappedBinaryTree.write(balanced,
+                directory.resolve("tree"), ElementCodec.INTEGER);
+        assertEquals(balanced.levelOrder(), mapped.levelOrder());
+        assertEquals(balanced.right().levelOrder(), mapped.right().levelOrder());
+    }
+}
@@ -0,0 +1,103 @@
+package trees;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static trees.LinkedBinaryTree.mkLBT;
+
+@DisplayName("A measured tree should")
+class MeasuredBinaryTreeTest {
+
+    private static final Monoid<Integer> SUM = Monoid.of(0, Integer::sum);
+    private static final Monoid<Integer> MAX = Monoid.of(Integer.MIN_VALUE, Math::max);
+
+    //        4
+    //       / \
+    //     1    5
+    //    / \
+    //   2  3
+    private final LinkedBinaryTree<Integer> complex =
+            mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5));
+
+    @Test
+    @DisplayName("summarize its subtrees when built")
+    void test1() {
+        MeasuredBinaryTree<Integer, Integer> sums = MeasuredBinaryTree.copyOf(complex, SUM, e -> e);
+        assertEquals(15, sums.summary());
+        assertEquals(6, sums.left().summary());
+        assertEquals(0, sums.right().left().summary());
+        assertEquals(complex.inOrder(), sums.inOrder());
+        assertEquals(complex.levelOrder(), sums.levelOrder());
+        assertEquals(2, sums.height());
+
+        MeasuredBinaryTree<Integer, Integer> empty = new MeasuredBinaryTree<>(SUM, e -> e);
+        MeasuredBinaryTree<Integer, Integer> built = new MeasuredBinaryTree<>(
+                new MeasuredBinaryTree<>(empty, 2, empty), 1, empty);
+        assertEquals(3, built.summary());
+        assertEquals(List.of(1, 2), built.preOrder());
+        MeasuredBinaryTree<Integer, Integer> other = new MeasuredBinaryTree<>(MAX, e -> e);
+        assertThrows(IllegalArgumentException.class,
+                () -> new MeasuredBinaryTree<>(empty, 0, other));
+    }
+
+    @Test
+    @DisplayName("keep the summaries above the modified subtrees")
+    void test2() {
+        MeasuredBinaryTree<Integer, Integer> sums = MeasuredBinaryTree.copyOf(complex, SUM, e -> e);
+        MeasuredBinaryTree<Integer, Integer> left = sums.left();
+        assertEquals(3, left.right().replaceRoot(10));
+        assertEquals(13, left.summary());
+        assertEquals(22, sums.summary());
+        left.removeLeft();
+        assertEquals(11, left.summary());
+        assertEquals(20, sums.summary());
+        assertEquals(4, sums.size());
+        assertEquals(2, sums.height());
+        sums.removeRight();
+        assertEquals(15, sums.summary());
+        assertEquals(List.of(1, 10, 4), sums.inOrder());
+    }
+
+    @Test
+    @DisplayName("not update the former ancestors of a removed subtree")
+    void test3() {
+        MeasuredBinaryTree<Integer, Integer> sums = MeasuredBinaryTree.copyOf(complex, SUM, e -> e);
+        MeasuredBinaryTree<Integer, Integer> left = sums.left();
+        sums.removeLeft();
+        left.replaceRoot(100);
+        assertEquals(105, left.summary());
+        assertEquals(9, sums.summary());
+    }
+
+    @Test
+    @DisplayName("search skipping the subtrees whose summaries do not match")
+    void test4() {
+        MeasuredBinaryTree<Integer, Integer> max = MeasuredBinaryTree.copyOf(complex, MAX, e -> e);
+        assertEquals(Optional.of(4), max.search(s -> s >= 4));
+        assertEquals(Optional.of(2), max.search(s -> s >= 2));
+        assertEquals(Optional.empty(), max.search(s -> s > 5));
+
+        int n = 1 << 16;
+        List<Integer> priorities = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++)
+            priorities.add(random.nextInt(1_000_000));
+        priorities.set(n / 3, 2_000_000);
+        MeasuredBinaryTree<Integer, Integer> big = MeasuredBinaryTree.copyOf(
+                LinkedBinaryTree.fromSorted(priorities), MAX, e -> e);
+        AtomicInteger tests = new AtomicInteger();
+        assertEquals(Optional.of(2_000_000), big.search(s -> {
+            tests.incrementAndGet();
+            return s > 1_000_000;
+        }));
+        // A summary and a measure per level, and the summary of the sibling
+        assertTrue(tests.get() <= 3 * (big.height() + 1), "tests: " + tests.get());
+    }
+}
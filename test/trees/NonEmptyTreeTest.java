@@ -1,11 +1,21 @@
 package trees;
 
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static trees.LinkedBinaryTree.mkLBT;
@@ -116,6 +126,24 @@ public class NonEmptyTreeTest {
         assertEquals(mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4), complex);
     }
 
+    @Test
+    @DisplayName("update its height after calling removeLeft()")
+    void test14() {
+        complex.removeLeft();
+        assertEquals(1, complex.height());
+        lefty.removeLeft();
+        assertEquals(0, lefty.height());
+    }
+
+    @Test
+    @DisplayName("update its height after calling removeRight()")
+    void test15() {
+        complex.removeRight();
+        assertEquals(2, complex.height());
+        righty.removeRight();
+        assertEquals(0, righty.height());
+    }
+
     @Test
     @DisplayName("be able to have its root replaced and the old root returned")
     void test13() {
@@ -130,25 +158,22 @@ public class NonEmptyTreeTest {
         assertEquals(List.of(4, 1, 2, 3, 5), complex.preOrder());
     }
 
-    @Disabled("This test is disabled because the inOrder() method is not implemented yet.")
     @Test
     @DisplayName("be able to return its traversal in inOrder")
     void test17() {
-        fail("not implemented yet");
+        assertEquals(List.of(2, 1, 3, 4, 5), complex.inOrder());
     }
 
-    @Disabled("This test is disabled because the postOrder() method is not implemented yet.")
     @Test
     @DisplayName("be able to return its traversal in postOrder")
     void test18() {
-        fail("not implemented yet");
+        assertEquals(List.of(2, 3, 1, 5, 4), complex.postOrder());
     }
 
-    @Disabled("This test is disabled because the levelOrder() method is not implemented yet.")
     @Test
     @DisplayName("be able to return its traversal in levelOrder")
     void test19() {
-        fail("not implemented yet");
+        assertEquals(List.of(4, 1, 5, 2, 3), complex.levelOrder());
     }
 
     @Test
@@ -160,4 +185,443 @@ public class NonEmptyTreeTest {
         assertEquals("mkLBT(mkLBT(2), 1, mkLBT(3))", triad.toString());
         assertEquals("mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5))", complex.toString());
     }
+
+    @Test
+    @DisplayName("be traversed without overflowing the stack when it is degenerate")
+    void test21() {
+        int n = 1_000_000;
+        LinkedBinaryTree<Integer> leftList = mkLBT();
+        LinkedBinaryTree<Integer> rightList = mkLBT();
+        for (int i = 0; i < n; i++) {
+            leftList = mkLBT(leftList, i);
+            rightList = mkLBT(i, rightList);
+        }
+        assertEquals(n - 1, leftList.height());
+        assertEquals(n, leftList.preOrder().size());
+        assertEquals(n, leftList.inOrder().size());
+        assertEquals(n, leftList.postOrder().size());
+        assertEquals(n, leftList.levelOrder().size());
+        assertEquals(0, leftList.inOrder().get(0));
+        assertEquals(n - 1, rightList.inOrder().get(0));
+        assertEquals(0, rightList.postOrder().get(0));
+        assertEquals(n - 1, rightList.levelOrder().get(0));
+    }
+
+    @Test
+    @DisplayName("be able to lazily iterate its traversals")
+    void test22() {
+        assertEquals(complex.preOrder(), toList(complex.preOrderIterator()));
+        assertEquals(complex.inOrder(), toList(complex.inOrderIterator()));
+        assertEquals(complex.postOrder(), toList(complex.postOrderIterator()));
+        assertEquals(complex.levelOrder(), toList(complex.levelOrderIterator()));
+        assertEquals(lefty.postOrder(), toList(lefty.postOrderIterator()));
+        assertEquals(righty.postOrder(), toList(righty.postOrderIterator()));
+    }
+
+    @Test
+    @DisplayName("be able to stream its traversals")
+    void test23() {
+        assertEquals(complex.preOrder(), complex.preOrderStream().collect(Collectors.toList()));
+        assertEquals(complex.inOrder(), complex.inOrderStream().collect(Collectors.toList()));
+        assertEquals(complex.postOrder(), complex.postOrderStream().collect(Collectors.toList()));
+        assertEquals(complex.levelOrder(), complex.levelOrderStream().collect(Collectors.toList()));
+        assertEquals(3, complex.inOrderStream().filter(e -> e > 2).findFirst().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("make its iterators fail if a subtree is removed while iterating")
+    void test24() {
+        Iterator<Integer> iterator = complex.preOrderIterator();
+        iterator.next();
+        complex.removeRight();
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        Iterator<Integer> another = complex.inOrderIterator();
+        complex.left().removeLeft();
+        assertThrows(ConcurrentModificationException.class, another::next);
+    }
+
+    @Test
+    @DisplayName("be able to stream its traversals in parallel")
+    void test25() {
+        LinkedBinaryTree<Integer> big = balanced(0, 100_000);
+        assertEquals(big.preOrder(), big.parallelStream().collect(Collectors.toList()));
+        assertEquals(big.inOrder(), big.inOrderStream().parallel().collect(Collectors.toList()));
+        assertEquals(big.preOrder(), big.preOrderStream().parallel().collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("split its spliterator into parts of exact size")
+    void test26() {
+        Spliterator<Integer> suffix = complex.spliterator();
+        assertTrue(suffix.hasCharacteristics(Spliterator.SUBSIZED));
+        Spliterator<Integer> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        assertEquals(5, prefix.estimateSize() + suffix.estimateSize());
+        List<Integer> elements = new ArrayList<>();
+        prefix.forEachRemaining(elements::add);
+        assertEquals(0, prefix.estimateSize());
+        suffix.forEachRemaining(elements::add);
+        assertEquals(complex.preOrder(), elements);
+    }
+
+    @Test
+    @DisplayName("have the same hashCode as an equal tree, also after being modified")
+    void test27() {
+        BinaryTree<Integer> anotherComplex = mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5));
+        assertEquals(anotherComplex.hashCode(), complex.hashCode());
+        complex.replaceRoot(6);
+        assertEquals(mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 6, mkLBT(5)).hashCode(),
+                complex.hashCode());
+        complex.removeLeft();
+        assertEquals(mkLBT(6, mkLBT(5)).hashCode(), complex.hashCode());
+        complex.removeRight();
+        assertEquals(mkLBT(6).hashCode(), complex.hashCode());
+        assertEquals(mkLBT(6), complex);
+    }
+
+    @Test
+    @DisplayName("be different from a tree with the same shape and size but other elements")
+    void test28() {
+        assertNotEquals(mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(6)), complex);
+        assertNotEquals(mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, null), complex);
+    }
+
+    @Test
+    @DisplayName("not be affected by the modifications of its clone, nor affect it")
+    void test29() {
+        LinkedBinaryTree<Integer> clone = complex.clone();
+        clone.left().replaceRoot(10);
+        clone.removeRight();
+        assertEquals(mkLBT(mkLBT(mkLBT(2), 10, mkLBT(3)), 4, null), clone);
+        assertEquals(mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5)), complex);
+        LinkedBinaryTree<Integer> leftOfComplex = complex.left();
+        LinkedBinaryTree<Integer> anotherClone = complex.clone();
+        leftOfComplex.left().replaceRoot(20);
+        leftOfComplex.removeRight();
+        assertEquals(mkLBT(mkLBT(mkLBT(20), 1), 4, mkLBT(5)), complex);
+        assertEquals(mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5)), anotherClone);
+        assertEquals(mkLBT(mkLBT(mkLBT(2), 10, mkLBT(3)), 4, null), clone);
+    }
+
+    @Test
+    @DisplayName("keep its clones apart when they are used to build other trees")
+    void test30() {
+        LinkedBinaryTree<Integer> clone = complex.clone();
+        LinkedBinaryTree<Integer> built = mkLBT(clone.left(), 0, null);
+        built.left().replaceRoot(10);
+        assertEquals(List.of(0, 10, 2, 3), built.preOrder());
+        assertEquals(mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5)), complex);
+        assertEquals(complex, clone);
+        LinkedBinaryTree<Integer> leaf = mkLBT(1);
+        LinkedBinaryTree<Integer> parent = mkLBT(leaf, 0);
+        leaf.replaceRoot(2);
+        // A tree is not affected by the modifications of the trees it was built from
+        assertEquals(List.of(0, 1), parent.preOrder());
+        assertEquals(mkLBT(2), leaf);
+    }
+
+    @Test
+    @DisplayName("clone a degenerate tree without copying it")
+    void test31() {
+        int n = 100_000;
+        LinkedBinaryTree<Integer> degenerate = mkLBT();
+        for (int i = 0; i < n; i++)
+            degenerate = mkLBT(degenerate, i);
+        LinkedBinaryTree<Integer> clone = degenerate.clone();
+        LinkedBinaryTree<Integer> deepest = clone;
+        for (int i = 1; i < n; i++)
+            deepest = deepest.left();
+        deepest.replaceRoot(-1);
+        assertEquals(0, degenerate.postOrder().get(0));
+        assertEquals(-1, clone.postOrder().get(0));
+        assertEquals(degenerate.preOrder().subList(0, n - 1), clone.preOrder().subList(0, n - 1));
+    }
+
+    @Test
+    @DisplayName("be rebuilt from its pre-order and in-order traversals")
+    void test32() {
+        assertEquals(complex,
+                LinkedBinaryTree.fromPreOrderAndInOrder(complex.preOrder(), complex.inOrder()));
+        assertEquals(mkLBT(),
+                LinkedBinaryTree.fromPreOrderAndInOrder(List.of(), List.of()));
+        LinkedBinaryTree<Integer> big = balanced(0, 100_000);
+        assertEquals(big, LinkedBinaryTree.fromPreOrderAndInOrder(big.preOrder(), big.inOrder()));
+        assertThrows(IllegalArgumentException.class,
+                () -> LinkedBinaryTree.fromPreOrderAndInOrder(List.of(1, 2), List.of(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> LinkedBinaryTree.fromPreOrderAndInOrder(List.of(1, 2, 3), List.of(3, 1, 4)));
+        // The tree mkLBT(mkLBT(mkLBT(0, mkLBT(2)), 1), 0) has these traversals, but the elements
+        // must be distinct
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> LinkedBinaryTree.fromPreOrderAndInOrder(
+                        List.of(0, 1, 0, 2), List.of(0, 2, 1, 0)));
+        assertEquals("repeated element: 0", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("be rebuilt from its level-order traversal with null markers")
+    void test33() {
+        assertEquals(complex, LinkedBinaryTree.fromLevelOrder(List.of(4, 1, 5, 2, 3)));
+        assertEquals(complex.hashCode(),
+                LinkedBinaryTree.fromLevelOrder(List.of(4, 1, 5, 2, 3)).hashCode());
+        assertEquals(mkLBT(4, mkLBT(mkLBT(6), 5)),
+                LinkedBinaryTree.fromLevelOrder(Arrays.asList(4, null, 5, 6, null, null)));
+        assertEquals(mkLBT(), LinkedBinaryTree.fromLevelOrder(Arrays.asList((Integer) null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> LinkedBinaryTree.fromLevelOrder(Arrays.asList(1, null, null, 2)));
+    }
+
+    @Test
+    @DisplayName("be built balanced from a sorted list, also in parallel")
+    void test34() {
+        assertEquals(mkLBT(), LinkedBinaryTree.fromSorted(List.of()));
+        assertEquals(mkLBT(mkLBT(mkLBT(0), 1), 2, mkLBT(3)),
+                LinkedBinaryTree.fromSorted(List.of(0, 1, 2, 3)));
+        for (int n : new int[]{1_000, 1_000_000}) {
+            List<Integer> sorted = IntStream.range(0, n).boxed().toList();
+            LinkedBinaryTree<Integer> tree = LinkedBinaryTree.fromSorted(sorted);
+            assertEquals(balanced(0, n), tree);
+            assertEquals(n, tree.size());
+            assertEquals(31 - Integer.numberOfLeadingZeros(n), tree.height());
+            assertEquals(sorted, tree.inOrder());
+        }
+    }
+
+    @Test
+    @DisplayName("select its elements by their in-order position")
+    void test35() {
+        for (int k = 0; k < 5; k++)
+            assertEquals(complex.inOrder().get(k), complex.select(k));
+        assertThrows(IndexOutOfBoundsException.class, () -> complex.select(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> complex.select(-1));
+        LinkedBinaryTree<Integer> big = balanced(0, 100_000);
+        assertEquals(12_345, big.select(12_345));
+    }
+
+    @Test
+    @DisplayName("give the in-order position of the node at a path")
+    void test36() {
+        assertEquals(3, complex.rankOf(TreePath.ROOT));
+        assertEquals(0, complex.rankOf(TreePath.of("LL")));
+        assertEquals(2, complex.rankOf(TreePath.ROOT.left().right()));
+        assertEquals(4, complex.rankOf(TreePath.of("R")));
+        assertThrows(NoSuchElementException.class, () -> complex.rankOf(TreePath.of("RL")));
+        LinkedBinaryTree<Integer> big = balanced(0, 100_000);
+        assertEquals(25_000, big.rankOf(TreePath.of("L")));
+        assertEquals(37_500, big.rankOf(TreePath.of("LR")));
+    }
+
+    @Test
+    @DisplayName("slice its in-order traversal")
+    void test37() {
+        assertEquals(List.of(1, 3, 4), complex.inOrderRange(1, 4));
+        assertEquals(complex.inOrder(), complex.inOrderRange(0, 5));
+        assertEquals(List.of(), complex.inOrderRange(2, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> complex.inOrderRange(3, 6));
+        LinkedBinaryTree<Integer> big = balanced(0, 100_000);
+        assertEquals(IntStream.range(777, 1_777).boxed().toList(), big.inOrderRange(777, 1_777));
+    }
+
+    @Test
+    @DisplayName("be folded into its size, height, sum and string")
+    void test38() {
+        assertEquals(5, complex.<Integer>fold(0, (l, e, r) -> l + 1 + r));
+        assertEquals(2, complex.<Integer>fold(-1, (l, e, r) -> 1 + Math.max(l, r)));
+        assertEquals(15, complex.<Integer>fold(0, (l, e, r) -> l + e + r));
+        assertEquals("((2)1(3))4(5)",
+                complex.<String>fold("", (l, e, r) -> (l.isEmpty() ? "" : "(" + l + ")")
+                        + e + (r.isEmpty() ? "" : "(" + r + ")")));
+        // The default implementation gives the same results
+        BinaryTree<Integer> persistent = PersistentBinaryTree.copyOf(complex);
+        assertEquals(15, persistent.<Integer>fold(0, (l, e, r) -> l + e + r));
+        assertEquals(2, persistent.<Integer>fold(-1, (l, e, r) -> 1 + Math.max(l, r)));
+    }
+
+    @Test
+    @DisplayName("be folded sequentially and in parallel, also when degenerate")
+    void test39() {
+        int n = 1_000_000;
+        LinkedBinaryTree<Integer> degenerate = mkLBT();
+        for (int i = 0; i < n; i++)
+            degenerate = mkLBT(degenerate, i);
+        LinkedBinaryTree<Integer> big = balanced(0, n);
+        long sum = (long) n * (n - 1) / 2;
+        for (LinkedBinaryTree<Integer> tree : List.of(degenerate, big)) {
+            assertEquals(sum, tree.<Long>fold(0L, (l, e, r) -> l + e + r));
+            assertEquals(sum, tree.<Long>parallelFold(0L, (l, e, r) -> l + e + r));
+            assertEquals(tree.height(),
+                    tree.<Integer>parallelFold(-1, (l, e, r) -> 1 + Math.max(l, r)));
+        }
+        // The order of the elements is kept
+        LinkedBinaryTree<Integer> small = balanced(0, 20_000);
+        assertEquals(small.inOrder(), small.<List<Integer>>parallelFold(List.of(), (l, e, r) -> {
+            List<Integer> list = new ArrayList<>(l);
+            list.add(e);
+            list.addAll(r);
+            return list;
+        }));
+    }
+
+    @Test
+    @DisplayName("write its text, whole or truncated, to an Appendable")
+    void test40() throws IOException {
+        String text = "mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5))";
+        assertEquals(text, complex.toString());
+        StringBuilder whole = new StringBuilder();
+        complex.writeTo(whole);
+        assertEquals(text, whole.toString());
+        for (int limit : new int[]{0, 6, 13, text.length() - 1, text.length()}) {
+            StringBuilder truncated = new StringBuilder();
+            assertEquals(limit == text.length(), complex.writeTo(truncated, limit));
+            assertEquals(text.substring(0, limit), truncated.toString());
+        }
+        assertEquals("mkLBT(1, mkLBT(mkLBT(2), 3))", mkLBT(1, mkLBT(mkLBT(2), 3)).toString());
+        assertThrows(IllegalArgumentException.class, () -> complex.writeTo(whole, -1));
+    }
+
+    @Test
+    @DisplayName("have its text computed in linear time for degenerate trees")
+    void test41() {
+        int n = 1_000_000;
+        LinkedBinaryTree<Integer> degenerate = mkLBT();
+        for (int i = 0; i < n; i++)
+            degenerate = mkLBT(0, degenerate);
+        // mkLBT(0, ...) for all but the last node, which is mkLBT(0)
+        assertEquals(10L * n - 2, degenerate.toString().length());
+    }
+
+    @Test
+    @DisplayName("be the same whether its nodes have had children or not")
+    void test42() {
+        LinkedBinaryTree<Integer> pruned = mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5));
+        pruned.left().removeLeft();
+        pruned.left().removeRight();
+        pruned.removeRight();
+        LinkedBinaryTree<Integer> leaves = mkLBT(mkLBT(1), 4);
+        assertEquals(leaves.preOrder(), pruned.preOrder());
+        assertEquals(mkLBT(1), pruned.left());
+        assertEquals(mkLBT(1).hashCode(), pruned.left().hashCode());
+        assertEquals(complex, LinkedBinaryTree.fromLevelOrder(List.of(4, 1, 5, 2, 3)));
+        assertEquals(complex, LinkedBinaryTree.fromPreOrderAndInOrder(
+                List.of(4, 1, 2, 3, 5), List.of(2, 1, 3, 4, 5)));
+        assertThrows(IllegalArgumentException.class,
+                () -> LinkedBinaryTree.fromPreOrderAndInOrder(
+                        List.of(1, 2, 3), List.of(3, 1, 2)));
+    }
+
+    @Test
+    @DisplayName("be compared in parallel, also when the hashes do not tell them apart")
+    void test43() {
+        // "Aa" and "BB" have the same hashCode, so the trees below have the same hashes
+        int n = 1 << 20;
+        List<String> elements = new ArrayList<>(Collections.nCopies(n, "Aa"));
+        LinkedBinaryTree<String> big = LinkedBinaryTree.fromSorted(elements);
+        assertTrue(big.parallelEquals(LinkedBinaryTree.fromSorted(elements)));
+        assertTrue(big.parallelEquals(big.clone()));
+        elements.set(n / 3, "BB");
+        LinkedBinaryTree<String> other = LinkedBinaryTree.fromSorted(elements);
+        assertEquals(big.hashCode(), other.hashCode());
+        assertFalse(big.parallelEquals(other));
+        assertFalse(big.parallelEquals(big.left()));
+        assertFalse(big.parallelEquals("Aa"));
+        assertTrue(complex.parallelEquals(mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5))));
+
+        LinkedBinaryTree<String> degenerate = mkLBT();
+        LinkedBinaryTree<String> almost = mkLBT();
+        for (int i = 0; i < n; i++) {
+            degenerate = mkLBT(degenerate, "Aa");
+            almost = mkLBT(almost, i == 0 ? "BB" : "Aa");
+        }
+        assertTrue(degenerate.parallelEquals(degenerate.clone()));
+        assertFalse(degenerate.parallelEquals(almost));
+    }
+
+    @Test
+    @DisplayName("be equal to the tree it becomes when modified through a subtree")
+    void test44() {
+        LinkedBinaryTree<Integer> expected = mkLBT(mkLBT(mkLBT(2), 9, mkLBT(3)), 4, mkLBT(5));
+        complex.left().replaceRoot(9);
+        assertEquals(expected, complex);
+        assertEquals(expected.hashCode(), complex.hashCode());
+        complex.left().left().replaceRoot(7);
+        complex.right().removeLeft();
+        expected = mkLBT(mkLBT(mkLBT(7), 9, mkLBT(3)), 4, mkLBT(5));
+        assertEquals(expected, complex);
+        assertEquals(expected.hashCode(), complex.hashCode());
+        assertTrue(new HashSet<>(List.of(expected)).contains(complex));
+    }
+
+    @Test
+    @DisplayName("update its size and height when modified through a subtree")
+    void test45() {
+        complex.left().removeLeft();
+        complex.left().removeRight();
+        assertEquals(1, complex.height());
+        assertEquals(3, complex.size());
+        assertEquals(3, complex.spliterator().estimateSize());
+        assertEquals(List.of(1, 4, 5), complex.inOrder());
+        assertEquals(5, complex.select(2));
+        complex.right().removeLeft();
+        assertEquals(1, complex.height());
+    }
+
+    private static LinkedBinaryTree<Integer> balanced(int from, int to) {
+        if (from >= to)
+            return mkLBT();
+        int mid = (from + to) >>> 1;
+        return mkLBT(balanced(from, mid), mid, balanced(mid + 1, to));
+    }
+
+    private static <E> List<E> toList(Iterator<E> iterator) {
+        List<E> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        return result;
+    }
+
+    @Test
+    @DisplayName("be a snapshot when cloned, also of the trees it was built from")
+    void test46() {
+        LinkedBinaryTree<Integer> leaf = mkLBT(mkLBT(7), 1);
+        LinkedBinaryTree<Integer> parent = mkLBT(leaf, 0);
+        LinkedBinaryTree<Integer> snapshot = parent.clone();
+        leaf.replaceRoot(2);
+        leaf.removeLeft();
+        assertEquals(mkLBT(2), leaf);
+        assertEquals(mkLBT(mkLBT(mkLBT(7), 1), 0), snapshot);
+        assertEquals(3, snapshot.size());
+        assertEquals(List.of(0, 1, 7), snapshot.preOrder());
+        assertEquals(mkLBT(mkLBT(mkLBT(7), 1), 0), parent);
+
+        // Nor do the modifications through the tree built on top reach the subtree
+        parent.left().replaceRoot(3);
+        assertEquals(mkLBT(2), leaf);
+        assertEquals(mkLBT(mkLBT(mkLBT(7), 3), 0), parent);
+    }
+
+    @Test
+    @DisplayName("keep its hash consistent after a tree it was built from is modified")
+    void test47() {
+        LinkedBinaryTree<Integer> leaf = mkLBT(1);
+        LinkedBinaryTree<Integer> parent = mkLBT(leaf, 0);
+        leaf.replaceRoot(2);
+        assertEquals(List.of(0, 1), parent.preOrder());
+        assertEquals(mkLBT(mkLBT(1), 0), parent);
+        assertEquals(mkLBT(mkLBT(1), 0).hashCode(), parent.hashCode());
+        assertNotEquals(mkLBT(mkLBT(2), 0), parent);
+        assertEquals(mkLBT(2), leaf);
+        assertEquals(mkLBT(2).hashCode(), leaf.hashCode());
+        assertTrue(parent.parallelEquals(mkLBT(mkLBT(1), 0)));
+    }
+
+    @Test
+    @DisplayName("stream its elements after a tree it was built from is modified")
+    void test48() {
+        LinkedBinaryTree<Integer> leaf = mkLBT(mkLBT(7), 1);
+        LinkedBinaryTree<Integer> parent = mkLBT(leaf, 0);
+        leaf.removeLeft();
+        assertEquals(List.of(7, 1, 0), parent.inOrderStream().toList());
+        assertEquals(List.of(0, 1, 7), parent.preOrderStream().toList());
+        assertEquals(List.of(0, 1, 7), parent.parallelStream().toList());
+        assertEquals(List.of(1), leaf.inOrderStream().toList());
+    }
 }
@@ -0,0 +1,113 @@
+package trees;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static trees.LinkedBinaryTree.mkLBT;
+import static trees.PersistentBinaryTree.mkPBT;
+
+@DisplayName("A persistent tree should")
+class PersistentBinaryTreeTest {
+
+    PersistentBinaryTree<Integer> empty, complex;
+
+    @BeforeEach
+    void setUp() {
+        empty = mkPBT();
+        //        4
+        //       / \
+        //     1    5
+        //    / \
+        //   2  3
+        complex = mkPBT(mkPBT(mkPBT(2), 1, mkPBT(3)), 4, mkPBT(5));
+    }
+
+    @Test
+    @DisplayName("have its properties and traversals computed")
+    void test1() {
+        assertTrue(empty.isEmpty());
+        assertEquals(-1, empty.height());
+        assertEquals(5, complex.size());
+        assertEquals(2, complex.height());
+        assertEquals(List.of(4, 1, 2, 3, 5), complex.preOrder());
+        assertEquals(List.of(2, 1, 3, 4, 5), complex.inOrder());
+        assertEquals(List.of(2, 3, 1, 5, 4), complex.postOrder());
+        assertEquals(List.of(4, 1, 5, 2, 3), complex.levelOrder());
+        assertEquals(List.of(4, 1, 2, 3, 5), complex.preOrderStream().toList());
+    }
+
+    @Test
+    @DisplayName("reject the modifiers of BinaryTree")
+    void test2() {
+        assertThrows(UnsupportedOperationException.class, () -> complex.replaceRoot(0));
+        assertThrows(UnsupportedOperationException.class, () -> complex.removeLeft());
+        assertThrows(UnsupportedOperationException.class, () -> complex.removeRight());
+    }
+
+    @Test
+    @DisplayName("return new versions leaving the old ones unchanged")
+    void test3() {
+        PersistentBinaryTree<Integer> snapshot = complex;
+        PersistentBinaryTree<Integer> changed =
+                complex.withLeft(complex.left().withRoot(10).withoutRight());
+        assertEquals(mkPBT(mkPBT(mkPBT(2), 10), 4, mkPBT(5)), changed);
+        assertEquals(List.of(4, 1, 2, 3, 5), snapshot.preOrder());
+        assertEquals(mkPBT(4), complex.withoutLeft().withoutRight());
+        assertEquals(mkPBT(mkPBT(7), 4, mkPBT(5)), complex.withLeft(mkPBT(7)));
+        assertEquals(mkPBT(mkPBT(mkPBT(2), 1, mkPBT(3)), 4), complex.withRight(null));
+        assertThrows(NoSuchElementException.class, () -> empty.withRoot(1));
+        assertThrows(NoSuchElementException.class, () -> empty.withoutLeft());
+    }
+
+    @Test
+    @DisplayName("be equal to a copy of the equivalent linked tree")
+    void test4() {
+        LinkedBinaryTree<Integer> linked = mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5));
+        PersistentBinaryTree<Integer> copy = PersistentBinaryTree.copyOf(linked);
+        assertEquals(complex, copy);
+        assertEquals(linked.hashCode(), copy.hashCode());
+        assertSame(complex, PersistentBinaryTree.copyOf(complex));
+        assertSame(empty, PersistentBinaryTree.copyOf(mkLBT()));
+        assertNotEquals(complex, complex.withRoot(0));
+        assertNotEquals(complex, complex.withoutRight());
+        assertNotEquals(empty, complex);
+        assertEquals(new PersistentBinaryTree<Integer>(), empty);
+    }
+
+    @Test
+    @DisplayName("print as its smart constructors")
+    void test5() {
+        assertEquals("mkPBT()", empty.toString());
+        assertEquals("mkPBT(mkPBT(mkPBT(2), 1, mkPBT(3)), 4, mkPBT(5))", complex.toString());
+        assertEquals("mkPBT(1, mkPBT(2))", mkPBT(1, mkPBT(2)).toString());
+    }
+
+    @Test
+    @DisplayName("handle degenerate trees without overflowing the stack")
+    void test6() {
+        int n = 1_000_000;
+        LinkedBinaryTree<Integer> linked = mkLBT();
+        PersistentBinaryTree<Integer> persistent = mkPBT();
+        for (int i = 0; i < n; i++) {
+            linked = mkLBT(linked, i);
+            persistent = mkPBT(persistent, i);
+        }
+        assertEquals(n - 1, persistent.height());
+        assertEquals(persistent, PersistentBinaryTree.copyOf(linked));
+        assertEquals(persistent, persistent.withRoot(n - 1));
+        assertEquals(n, persistent.postOrder().size());
+        assertEquals(n * 9L - 2, persistent.toString().length() - digits(n));
+    }
+
+    private static long digits(int n) {
+        long total = 0;
+        for (int i = 0; i < n; i++)
+            total += Integer.toString(i).length();
+        return total;
+    }
+}
@@ -0,0 +1,156 @@
+package trees;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static trees.LinkedBinaryTree.mkLBT;
+
+@DisplayName("A tree batch should")
+class TreeBatchTest {
+
+    LinkedBinaryTree<Integer> linked;
+
+    @BeforeEach
+    void setUp() {
+        //        4
+        //       / \
+        //     1    5
+        //    / \
+        //   2  3
+        linked = mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5));
+    }
+
+    @Test
+    @DisplayName("apply its modifications keeping the nodes above up to date")
+    void test1() {
+        linked.batch()
+                .replaceElement(TreePath.of("LR"), 30)
+                .replaceElement(TreePath.ROOT, 40)
+                .removeRight(TreePath.of("R"))
+                .removeLeft(TreePath.of("L"))
+                .apply();
+        LinkedBinaryTree<Integer> expected = mkLBT(mkLBT(1, mkLBT(30)), 40, mkLBT(5));
+        assertEquals(expected, linked);
+        assertEquals(expected.hashCode(), linked.hashCode());
+        assertEquals(4, linked.size());
+        assertEquals(2, linked.height());
+        assertEquals(2, linked.left().size());
+
+        TreeBatch<Integer> batch = linked.batch();
+        batch.apply();
+        assertEquals(expected, linked);
+        batch.removeRight(TreePath.of("L")).apply();
+        assertEquals(mkLBT(mkLBT(1), 40, mkLBT(5)), linked);
+        assertEquals(0, linked.left().height());
+    }
+
+    @Test
+    @DisplayName("leave the tree unchanged if some path has no node")
+    void test2() {
+        TreeBatch<Integer> batch = linked.batch()
+                .replaceElement(TreePath.ROOT, 40)
+                .removeLeft(TreePath.of("L"))
+                .replaceElement(TreePath.of("RL"), 6);
+        NoSuchElementException e = assertThrows(NoSuchElementException.class, batch::apply);
+        assertEquals("no node at path RL", e.getMessage());
+        assertEquals(mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5)), linked);
+
+        TreeBatch<Integer> removing = linked.batch().removeLeft(TreePath.of("L"));
+        assertThrows(NoSuchElementException.class,
+                () -> removing.replaceElement(TreePath.of("LL"), 20));
+        removing.replaceElement(TreePath.of("LR"), 30).apply();
+        assertEquals(mkLBT(mkLBT(1, mkLBT(30)), 4, mkLBT(5)), linked);
+
+        LinkedBinaryTree<Integer> empty = mkLBT();
+        TreeBatch<Integer> onEmpty = empty.batch().removeLeft(TreePath.ROOT);
+        assertThrows(NoSuchElementException.class, onEmpty::apply);
+    }
+
+    @Test
+    @DisplayName("discard the modifications below a subtree removed afterwards")
+    void test3() {
+        linked.batch()
+                .replaceElement(TreePath.of("LL"), 20)
+                .removeLeft(TreePath.ROOT)
+                .replaceElement(TreePath.of("R"), 50)
+                .apply();
+        assertEquals(mkLBT(4, mkLBT(50)), linked);
+        assertEquals(2, linked.size());
+    }
+
+    @Test
+    @DisplayName("update the trees its subtree was taken from")
+    void test4() {
+        LinkedBinaryTree<Integer> left = linked.left();
+        left.batch().removeLeft(TreePath.ROOT).replaceElement(TreePath.of("R"), 30).apply();
+        assertEquals(mkLBT(1, mkLBT(30)), left);
+        assertEquals(mkLBT(mkLBT(1, mkLBT(30)), 4, mkLBT(5)), linked);
+        assertEquals(4, linked.size());
+        assertEquals(mkLBT(mkLBT(1, mkLBT(30)), 4, mkLBT(5)).hashCode(), linked.hashCode());
+
+        // A subtree removed from its parent stays a tree of its own
+        LinkedBinaryTree<Integer> right = linked.right();
+        linked.removeRight();
+        right.batch().replaceElement(TreePath.ROOT, 50).apply();
+        assertEquals(mkLBT(50), right);
+        assertEquals(mkLBT(mkLBT(1, mkLBT(30)), 4), linked);
+    }
+
+    @Test
+    @DisplayName("copy the nodes it shares with a clone")
+    void test5() {
+        LinkedBinaryTree<Integer> clone = linked.clone();
+        linked.batch().replaceElement(TreePath.of("LL"), 20).removeRight(TreePath.ROOT).apply();
+        assertEquals(mkLBT(mkLBT(mkLBT(20), 1, mkLBT(3)), 4), linked);
+        assertEquals(mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5)), clone);
+        clone.batch().replaceElement(TreePath.of("LR"), 30).apply();
+        assertEquals(mkLBT(mkLBT(mkLBT(2), 1, mkLBT(30)), 4, mkLBT(5)), clone);
+        assertEquals(mkLBT(mkLBT(mkLBT(20), 1, mkLBT(3)), 4), linked);
+    }
+
+    @Test
+    @DisplayName("make the iterators fail only if it removes subtrees")
+    void test6() {
+        // Built in one go, so that no node is shared with the trees it was built from
+        linked = LinkedBinaryTree.fromPreOrderAndInOrder(linked.preOrder(), linked.inOrder());
+        Iterator<Integer> iterator = linked.preOrderIterator();
+        iterator.next();
+        linked.batch().replaceElement(TreePath.of("L"), 10).apply();
+        assertEquals(10, iterator.next());
+        linked.batch().removeLeft(TreePath.of("L")).apply();
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    @DisplayName("modify many nodes of a big tree")
+    void test7() {
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < 1 << 16; i++)
+            elements.add(i);
+        LinkedBinaryTree<Integer> big = LinkedBinaryTree.fromSorted(elements);
+        LinkedBinaryTree<Integer> expected = LinkedBinaryTree.fromSorted(elements);
+        TreeBatch<Integer> batch = big.batch();
+        TreePath path = TreePath.ROOT;
+        for (int depth = 0; depth < 10; depth++) {
+            batch.replaceElement(path, -depth).removeLeft(path);
+            TreeCursor<Integer> cursor = expected.cursor();
+            for (int i = 0; i < depth; i++)
+                cursor.moveRight();
+            cursor.replaceElement(-depth);
+            cursor.removeLeft();
+            path = path.right();
+        }
+        batch.apply();
+        assertEquals(expected, big);
+        assertEquals(expected.size(), big.size());
+        assertEquals(expected.inOrder(), big.inOrder());
+    }
+}
@@ -0,0 +1,139 @@
+package trees;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static trees.LinkedBinaryTree.mkLBT;
+import static trees.PersistentBinaryTree.mkPBT;
+
+@DisplayName("A tree cursor should")
+class TreeCursorTest {
+
+    LinkedBinaryTree<Integer> linked;
+    PersistentBinaryTree<Integer> persistent;
+
+    @BeforeEach
+    void setUp() {
+        //        4
+        //       / \
+        //     1    5
+        //    / \
+        //   2  3
+        linked = mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5));
+        persistent = mkPBT(mkPBT(mkPBT(2), 1, mkPBT(3)), 4, mkPBT(5));
+    }
+
+    @Test
+    @DisplayName("move around the tree reading its nodes")
+    void test1() {
+        for (TreeCursor<Integer> cursor : List.of(linked.cursor(), persistent.cursor())) {
+            assertFalse(cursor.isEmpty());
+            assertEquals(4, cursor.element());
+            assertEquals(5, cursor.size());
+            assertFalse(cursor.moveUp());
+            assertTrue(cursor.moveLeft());
+            assertTrue(cursor.moveRight());
+            assertEquals(3, cursor.element());
+            assertEquals(2, cursor.depth());
+            assertEquals(0, cursor.height());
+            assertFalse(cursor.hasLeft());
+            assertFalse(cursor.moveLeft());
+            assertEquals(3, cursor.element());
+            assertTrue(cursor.moveUp());
+            assertEquals(1, cursor.element());
+            assertEquals(3, cursor.size());
+            cursor.moveToRoot();
+            assertEquals(0, cursor.depth());
+            assertTrue(cursor.moveRight());
+            assertEquals(5, cursor.element());
+        }
+    }
+
+    @Test
+    @DisplayName("have no position in an empty tree")
+    void test2() {
+        for (TreeCursor<Integer> cursor : List.of(LinkedBinaryTree.<Integer>mkLBT().cursor(),
+                PersistentBinaryTree.<Integer>mkPBT().cursor())) {
+            assertTrue(cursor.isEmpty());
+            assertEquals(0, cursor.size());
+            assertEquals(-1, cursor.height());
+            assertFalse(cursor.hasLeft());
+            assertFalse(cursor.moveRight());
+            assertThrows(NoSuchElementException.class, cursor::element);
+            assertThrows(NoSuchElementException.class, () -> cursor.replaceElement(1));
+            assertThrows(NoSuchElementException.class, cursor::removeLeft);
+        }
+    }
+
+    @Test
+    @DisplayName("modify a linked tree keeping the nodes above up to date")
+    void test3() {
+        TreeCursor<Integer> cursor = linked.cursor();
+        cursor.moveLeft();
+        assertEquals(1, cursor.replaceElement(10));
+        cursor.removeRight();
+        cursor.moveLeft();
+        cursor.replaceElement(20);
+        assertEquals(mkLBT(mkLBT(mkLBT(20), 10), 4, mkLBT(5)), linked);
+        assertEquals(mkLBT(mkLBT(mkLBT(20), 10), 4, mkLBT(5)).hashCode(), linked.hashCode());
+        assertEquals(4, linked.size());
+    }
+
+    @Test
+    @DisplayName("copy the nodes a linked tree shares with its clones before modifying them")
+    void test4() {
+        LinkedBinaryTree<Integer> clone = linked.clone();
+        TreeCursor<Integer> cursor = linked.cursor();
+        cursor.moveLeft();
+        cursor.moveLeft();
+        cursor.replaceElement(20);
+        assertEquals(List.of(4, 1, 20, 3, 5), linked.preOrder());
+        assertEquals(mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5)), clone);
+        TreeCursor<Integer> another = linked.cursor();
+        another.moveLeft();
+        LinkedBinaryTree<Integer> anotherClone = linked.clone();
+        linked.replaceRoot(40);
+        // The cursor follows the copy of the root
+        assertEquals(1, another.element());
+        another.removeLeft();
+        assertEquals(List.of(40, 1, 3, 5), linked.preOrder());
+        assertEquals(List.of(4, 1, 20, 3, 5), anotherClone.preOrder());
+    }
+
+    @Test
+    @DisplayName("fail if the linked tree is structurally modified other than through it")
+    void test5() {
+        TreeCursor<Integer> cursor = linked.cursor();
+        cursor.moveLeft();
+        linked.removeRight();
+        assertThrows(ConcurrentModificationException.class, cursor::element);
+        TreeCursor<Integer> another = linked.cursor();
+        another.removeLeft();
+        assertEquals(4, another.element());
+    }
+
+    @Test
+    @DisplayName("build new versions of a persistent tree")
+    void test6() {
+        PersistentBinaryTree.Zipper<Integer> zipper = persistent.cursor();
+        assertSame(persistent, zipper.toTree());
+        zipper.moveLeft();
+        zipper.moveLeft();
+        assertSame(persistent, zipper.toTree());
+        zipper.replaceElement(20);
+        zipper.moveUp();
+        zipper.removeRight();
+        zipper.moveToRoot();
+        zipper.moveRight();
+        zipper.replaceElement(50);
+        assertEquals(mkPBT(mkPBT(mkPBT(20), 1), 4, mkPBT(50)), zipper.toTree());
+        assertEquals(50, zipper.element());
+        assertEquals(mkPBT(mkPBT(mkPBT(2), 1, mkPBT(3)), 4, mkPBT(5)), persistent);
+    }
+}
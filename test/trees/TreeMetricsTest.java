@@ -0,0 +1,107 @@
+package trees;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static trees.LinkedBinaryTree.mkLBT;
+
+@DisplayName("The instrumentation of trees should")
+class TreeMetricsTest {
+
+    record Record(TreeMetrics.Operation operation, long nodesVisited, long nodesAllocated) {
+    }
+
+    final List<Record> records = Collections.synchronizedList(new ArrayList<>());
+
+    @AfterEach
+    void tearDown() {
+        TreeMetrics.install(null);
+    }
+
+    @Test
+    @DisplayName("report nothing until metrics are installed")
+    void test1() {
+        LinkedBinaryTree<Integer> tree = mkLBT(mkLBT(1), 2, mkLBT(3));
+        tree.preOrder();
+        TreeMetrics.install((operation, nanos, visited, allocated) ->
+                records.add(new Record(operation, visited, allocated)));
+        tree.inOrder();
+        TreeMetrics.install(null);
+        tree.postOrder();
+        assertEquals(List.of(new Record(TreeMetrics.Operation.TRAVERSAL, 3, 0)), records);
+    }
+
+    @Test
+    @DisplayName("report the nodes visited and allocated by each operation")
+    void test2() {
+        TreeMetrics.install((operation, nanos, visited, allocated) -> {
+            assertTrue(nanos >= 0);
+            records.add(new Record(operation, visited, allocated));
+        });
+        LinkedBinaryTree<Integer> tree =
+                LinkedBinaryTree.fromSorted(IntStream.range(0, 7).boxed().toList());
+        LinkedBinaryTree<Integer> clone = tree.clone();
+        tree.equals(clone);
+        tree.equals(LinkedBinaryTree.fromLevelOrder(List.of(3, 1, 5, 0, 2, 4, 6)));
+        clone.left().left().replaceRoot(10);
+        tree.<Integer>fold(0, (l, e, r) -> l + e + r);
+        tree.toString();
+        assertEquals(List.of(
+                new Record(TreeMetrics.Operation.BUILD, 7, 7),
+                new Record(TreeMetrics.Operation.CLONE, 0, 0),
+                // The clone shares the root
+                new Record(TreeMetrics.Operation.EQUALS, 0, 0),
+                new Record(TreeMetrics.Operation.BUILD, 7, 7),
+                new Record(TreeMetrics.Operation.EQUALS, 7, 0),
+                // The path from the root of the clone is copied
+                new Record(TreeMetrics.Operation.COPY_ON_WRITE, 3, 3),
+                new Record(TreeMetrics.Operation.FOLD, 7, 0),
+                new Record(TreeMetrics.Operation.RENDER, 7, 0)), records);
+    }
+
+    @Test
+    @DisplayName("report the nodes compared by all the tasks of a parallel comparison")
+    void test4() {
+        int n = 1 << 15;
+        List<Integer> elements = IntStream.range(0, n).boxed().toList();
+        LinkedBinaryTree<Integer> tree = LinkedBinaryTree.fromSorted(elements);
+        LinkedBinaryTree<Integer> other = LinkedBinaryTree.fromSorted(elements);
+        TreeMetrics.install((operation, nanos, visited, allocated) ->
+                records.add(new Record(operation, visited, allocated)));
+        assertTrue(tree.parallelEquals(other));
+        assertEquals(List.of(new Record(TreeMetrics.Operation.EQUALS, n, 0)), records);
+    }
+
+    @Test
+    @DisplayName("commit JFR events when they are enabled in a recording")
+    void test3(@TempDir Path dir) throws IOException {
+        LinkedBinaryTree<Integer> tree = mkLBT(mkLBT(1), 2, mkLBT(3));
+        Path file = dir.resolve("trees.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("trees.TreeOperation");
+            recording.start();
+            tree.levelOrder();
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("TRAVERSAL", event.getString("operation"));
+        assertEquals(3, event.getInt("treeSize"));
+        assertEquals(3, event.getLong("nodesVisited"));
+    }
+}
@@ -0,0 +1,112 @@
+package trees;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static trees.LinkedBinaryTree.mkLBT;
+
+@DisplayName("A tree written with a TreeWriter should")
+class TreeSerializationTest {
+
+    //        4
+    //       / \
+    //     1    5
+    //    / \
+    //   2  3
+    private final LinkedBinaryTree<Integer> complex =
+            mkLBT(mkLBT(mkLBT(2), 1, mkLBT(3)), 4, mkLBT(5));
+
+    private static byte[] write(BinaryTree<Integer> tree) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TreeWriter<>(out, ElementCodec.INTEGER).write(tree);
+        return out.toByteArray();
+    }
+
+    private static LinkedBinaryTree<Integer> read(byte[] bytes) throws IOException {
+        return new TreeReader<>(new ByteArrayInputStream(bytes), ElementCodec.INTEGER).read();
+    }
+
+    @Test
+    @DisplayName("be read back equal to the original")
+    void test1() throws IOException {
+        LinkedBinaryTree<Integer> copy = read(write(complex));
+        assertEquals(complex, copy);
+        assertEquals(5, copy.size());
+        assertEquals(3, copy.left().size());
+        assertEquals(2, copy.height());
+        assertEquals(mkLBT(), read(write(mkLBT())));
+        assertEquals(mkLBT(7), read(write(mkLBT(7))));
+    }
+
+    @Test
+    @DisplayName("take two bits of shape and the encoded element per node")
+    void test2() throws IOException {
+        // 16 bytes of header, 2 bytes of shapes and 5 elements of 4 bytes
+        assertEquals(16 + 2 + 5 * 4, write(complex).length);
+    }
+
+    @Test
+    @DisplayName("be read back with the trees written after it")
+    void test3() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TreeWriter<Integer> writer = new TreeWriter<>(out, ElementCodec.INTEGER);
+        writer.write(complex);
+        writer.write(mkLBT());
+        writer.write(complex.left());
+        TreeReader<Integer> reader =
+                new TreeReader<>(new ByteArrayInputStream(out.toByteArray()), ElementCodec.INTEGER);
+        assertEquals(complex, reader.read());
+        assertEquals(mkLBT(), reader.read());
+        assertEquals(complex.left(), reader.read());
+        assertThrows(EOFException.class, reader::read);
+    }
+
+    @Test
+    @DisplayName("be written and read back through channels")
+    void test4(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("tree");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+            new TreeWriter<>(channel, ElementCodec.INTEGER).write(complex);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertEquals(complex, new TreeReader<>(channel, ElementCodec.INTEGER).read());
+        }
+    }
+
+    @Test
+    @DisplayName("be rebuilt without overflowing the stack when it is degenerate")
+    void test5() throws IOException {
+        int n = 1_000_000;
+        LinkedBinaryTree<Integer> degenerate = mkLBT();
+        for (int i = 0; i < n; i++)
+            degenerate = i % 2 == 0 ? mkLBT(degenerate, i) : mkLBT(i, degenerate);
+        LinkedBinaryTree<Integer> copy = read(write(degenerate));
+        assertEquals(n, copy.size());
+        assertEquals(n - 1, copy.height());
+        assertEquals(degenerate.inOrder(), copy.inOrder());
+    }
+
+    @Test
+    @DisplayName("fail to be read if it is truncated or corrupted")
+    void test6() throws IOException {
+        byte[] bytes = write(complex);
+        assertThrows(EOFException.class, () -> read(Arrays.copyOf(bytes, bytes.length - 1)));
+        bytes[0]++;
+        assertThrows(IOException.class, () -> read(bytes));
+        assertThrows(IOException.class,
+                () -> new TreeReader<>(new ByteArrayInputStream(write(complex)), ElementCodec.LONG)
+                        .read());
+    }
+}